@@ -4,6 +4,7 @@ package com.spatialid.app.common.benchmark.aop;
 
 import java.text.DecimalFormat;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -21,7 +22,7 @@ import lombok.extern.log4j.Log4j2;
  * {@link MeasureLatency}が付与されているメソッドに対して、処理時間計測を行うクラス．
  * 
  * @author matsumoto kentaro
- * @version 1.1 2024/10/03
+ * @version 1.2 2026/10/18
  */
 @Aspect
 @Component
@@ -43,6 +44,7 @@ public class MeasureLatencyAspect {
      * {@link MeasureLatency}が付与されたメソッドに対して、処理時間の計測を行う．
      * <p>
      * 対象メソッドの処理時間・メソッド名を取得してロギングを行う．<br>
+     * 返却値が{@link CompletableFuture}の場合は、非同期処理が完了するまでを処理時間とする．<br>
      * ログはINFOとして出力される．<br>
      * 計測値はミリ秒 かつ 小数点1桁までで切り捨てを行う．
      * </p>
@@ -58,6 +60,29 @@ public class MeasureLatencyAspect {
         
         final Object result = joinPoint.proceed();
         
+        final String targetName = joinPoint.getSignature().getName();
+        
+        if (result instanceof CompletableFuture<?> future) {
+            
+            // 非同期処理の完了時に計測する(例外完了の場合も計測する)
+            return future.whenComplete((value, throwable) -> logLatency(targetName, starTime));
+            
+        }
+        
+        logLatency(targetName, starTime);
+        
+        return result;
+        
+    }
+    
+    /**
+     * 計測開始からの処理時間をロギングする．
+     * 
+     * @param targetName 対象メソッド名
+     * @param starTime 計測開始時刻(ナノ秒)
+     */
+    private void logLatency(String targetName, long starTime) {
+        
         final long endTime = System.nanoTime();
         
         final double duration = (endTime - starTime) / 1000000.0;
@@ -67,12 +92,8 @@ public class MeasureLatencyAspect {
         
         final String latency = fm.format(duration);
         
-        final String targetName = joinPoint.getSignature().getName();
-        
         log.info(messageSource.getMessage(BatchCommonConstant.KEY_LOGGING_MSG_MEASURE, new String[] {targetName, latency}, Locale.JAPAN));
         
-        return result;
-        
     }
     
 }
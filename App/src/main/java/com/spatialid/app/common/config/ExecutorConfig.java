@@ -0,0 +1,93 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.spatialid.app.common.properties.BatchProperty;
+
+/**
+ * 非同期処理で使用するスレッドの設定を行うクラス．
+ *
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * 共通APIの呼び出しで使用するスレッド名の接頭辞．
+     */
+    private static final String COMMON_API_THREAD_PREFIX = "common-api-";
+
+    /**
+     * 出力ファイルの圧縮で使用するスレッド名の接頭辞．
+     */
+    private static final String EXPORT_COMPRESS_THREAD_PREFIX = "export-compress-";
+
+    /**
+     * 出力ファイルの送信と並行した書き込みで使用するスレッド名の接頭辞．
+     */
+    private static final String EXPORT_STREAMING_THREAD_PREFIX = "export-streaming-";
+
+    /**
+     * 共通APIの呼び出しを非同期に行う{@link ExecutorService}をBeanに登録する．
+     * <p>
+     * 共通APIの呼び出しは応答待ちが大半を占めるため、呼び出しごとに仮想スレッドを割り当てる．<br>
+     * 同時に呼び出す数の制御は、呼び出し元で行う．<br>
+     * アプリケーションの終了時に、実行中の呼び出しの完了を待ってから停止する．
+     * </p>
+     *
+     * @return 仮想スレッドを使用する{@link ExecutorService}
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService commonApiExecutor() {
+
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+                .name(COMMON_API_THREAD_PREFIX, 0)
+                .factory());
+
+    }
+
+    /**
+     * 出力ファイルの圧縮を並列に行う{@link ExecutorService}をBeanに登録する．
+     * <p>
+     * 圧縮はCPUを占有する処理のため、batch.propertiesのスレッド数に従うプラットフォームスレッドを使用する．
+     * </p>
+     *
+     * @param batchProperty バッチのプロパティクラス
+     * @return 固定数のスレッドを使用する{@link ExecutorService}
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService exportCompressExecutor(BatchProperty batchProperty) {
+
+        return Executors.newFixedThreadPool(Math.max(1, batchProperty.getCompressThreads()), Thread.ofPlatform()
+                .name(EXPORT_COMPRESS_THREAD_PREFIX, 0)
+                .daemon(true)
+                .factory());
+
+    }
+
+    /**
+     * 出力ファイルの送信と並行して、出力ファイルの書き込みを行う{@link ExecutorService}をBeanに登録する．
+     * <p>
+     * 書き込みは送信側の読み出しを待機する時間が大半を占め、圧縮自体は{@link #exportCompressExecutor(BatchProperty)}に委譲するため、仮想スレッドを割り当てる．<br>
+     * 圧縮用のスレッドを使用しないことで、圧縮スレッド数が1の場合も書き込みと圧縮が互いを待機し続けることはない．
+     * </p>
+     *
+     * @return 仮想スレッドを使用する{@link ExecutorService}
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService exportStreamingExecutor() {
+
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+                .name(EXPORT_STREAMING_THREAD_PREFIX, 0)
+                .factory());
+
+    }
+
+}
@@ -6,7 +6,7 @@ package com.spatialid.app.common.constants;
  * バッチに関する汎用的な値を定義したクラス．
  * 
  * @author matsumoto kentaro
- * @version 1.1 2024/09/19
+ * @version 1.2 2026/10/18
  */
 public class BatchCommonConstant {
     
@@ -45,16 +45,6 @@ public class BatchCommonConstant {
      */
     public static final String EXPORT_FILE_SURFIX = "_location";
     
-    /**
-     * 出力ファイルの拡張子．
-     */
-    public static final String EXPORT_FILE_EXTENTION = ".json";
-    
-    /**
-     * 出力ファイルの圧縮形式．
-     */
-    public static final String FILE_COMPRESSION_FORMAT = ".zip";
-    
     /**
      * リトライの最大試行回数．
      */
@@ -115,11 +105,26 @@ public class BatchCommonConstant {
      */
     public static final String MSG_DATA_RANGE_ERROR = "データ整備範囲外";
     
+    /**
+     * 空間IDの形式不正の例外メッセージ．
+     */
+    public static final String MSG_INVALID_SID_ERROR = "空間IDの形式不正";
+    
     /**
      * JobExecutionのエラー内容に対応するキー名．
      */
     public static final String CONTEXT_KEY_ERROR_MSG = "errorMsg";
     
+    /**
+     * JobExecutionの出力ファイルの圧縮前のダイジェストに対応するキー名．
+     */
+    public static final String CONTEXT_KEY_CONTENT_DIGEST = "contentDigest";
+    
+    /**
+     * JobExecutionの出力ファイルの圧縮後のダイジェストに対応するキー名．
+     */
+    public static final String CONTEXT_KEY_ARCHIVE_DIGEST = "archiveDigest";
+    
     /**
      * エラー時のログメッセージに対応するキー名．
      */
@@ -150,5 +155,10 @@ public class BatchCommonConstant {
      */
     public static final String KEY_LOGGING_MSG_MEASURE = "BATCH_LOG_INFO0004";
     
+    /**
+     * 文字列のプールのヒット率出力のログメッセージに対応するキー名．
+     */
+    public static final String KEY_LOGGING_MSG_STRING_POOL = "BATCH_LOG_INFO0005";
+    
     
 }
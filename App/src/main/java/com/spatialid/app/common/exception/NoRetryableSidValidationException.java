@@ -0,0 +1,25 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.exception;
+
+import com.spatialid.app.common.constants.BatchCommonConstant;
+import com.spatialid.app.common.spatialid.SpatialIdValidationReport;
+
+/**
+ * 空間IDの検証における、リトライを行わない例外クラス．<br>
+ * タスクに指定された空間IDに形式不正・範囲外のものが含まれる場合に送出される．
+ * 
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public class NoRetryableSidValidationException extends NoRetryableException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public NoRetryableSidValidationException(SpatialIdValidationReport report) {
+        
+        super(report.toMessage(), BatchCommonConstant.MSG_INVALID_SID_ERROR);
+        
+    }
+    
+}
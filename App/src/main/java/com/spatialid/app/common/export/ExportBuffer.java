@@ -0,0 +1,217 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * 出力ファイルをメモリ上に保持し、サイズが閾値を超えた場合にファイルへ退避する{@link OutputStream}．
+ * <p>
+ * 閾値以下の出力はファイルを作成せず、メモリ上のデータをそのまま送信に使用する．<br>
+ * 閾値を超えた時点で、それまでのデータを指定したパスのファイルへ書き出し、以降はファイルへ書き込む．<br>
+ * 閾値が0以下の場合は、常にファイルへ書き込む．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public class ExportBuffer extends OutputStream {
+
+    /**
+     * 退避先のファイルのパス．
+     */
+    private final Path spillPath;
+
+    /**
+     * メモリ上に保持するサイズの上限(バイト)．
+     */
+    private final long threshold;
+
+    /**
+     * メモリ上のデータ(ファイルへ退避した後はnull)．
+     */
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+
+    /**
+     * 退避先のファイル(退避する前はnull)．
+     */
+    private OutputStream file;
+
+    /**
+     * 閉じられているか．
+     */
+    private boolean closed;
+
+    /**
+     * @param spillPath 退避先のファイルのパス
+     * @param threshold メモリ上に保持するサイズの上限(バイト)
+     * @throws IOException 閾値が0以下で、ファイルの作成に失敗した場合
+     */
+    public ExportBuffer(Path spillPath, long threshold) throws IOException {
+
+        this.spillPath = spillPath;
+        this.threshold = threshold;
+
+        if (threshold <= 0) {
+
+            spill();
+
+        }
+
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+
+        ensureCapacity(1);
+
+        target().write(b);
+
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+
+        ensureCapacity(len);
+
+        target().write(b, off, len);
+
+    }
+
+    @Override
+    public void flush() throws IOException {
+
+        if (file != null) {
+
+            file.flush();
+
+        }
+
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        if (closed) {
+
+            return;
+
+        }
+
+        closed = true;
+
+        if (file != null) {
+
+            file.close();
+
+        }
+
+    }
+
+    /**
+     * ファイルへ退避したかを返却する．
+     *
+     * @return 退避した場合はtrue
+     */
+    public boolean isSpilled() {
+
+        return file != null;
+
+    }
+
+    /**
+     * 書き込んだデータを{@link Resource}として返却する．
+     * <p>
+     * ファイルへ退避した場合はファイルを、退避していない場合はメモリ上のデータを参照する．<br>
+     * メモリ上のデータの場合も、multipart/form-dataでファイルとして送信できるようファイル名を持たせる．
+     * </p>
+     *
+     * @param filename ファイル名
+     * @return 書き込んだデータ
+     * @throws IOException 閉じられていない場合
+     */
+    public Resource toResource(String filename) throws IOException {
+
+        if (!closed) {
+
+            throw new IOException("出力ファイルの書き込みが完了していません。");
+
+        }
+
+        if (isSpilled()) {
+
+            return new FileSystemResource(spillPath);
+
+        }
+
+        return new ByteArrayResource(memory.toByteArray()) {
+
+            @Override
+            public String getFilename() {
+
+                return filename;
+
+            }
+
+        };
+
+    }
+
+    /**
+     * 書き込みによって閾値を超える場合に、ファイルへ退避する．
+     *
+     * @param len 書き込むサイズ
+     * @throws IOException 閉じられている場合、またはファイルへの退避に失敗した場合
+     */
+    private void ensureCapacity(int len) throws IOException {
+
+        if (closed) {
+
+            throw new IOException("出力ファイルは既に閉じられています。");
+
+        }
+
+        if (file == null && threshold < (long) memory.size() + len) {
+
+            spill();
+
+        }
+
+    }
+
+    /**
+     * メモリ上のデータをファイルへ書き出し、以降の書き込み先をファイルとする．
+     *
+     * @throws IOException ファイルへの書き出しに失敗した場合
+     */
+    private void spill() throws IOException {
+
+        file = new BufferedOutputStream(Files.newOutputStream(spillPath));
+
+        memory.writeTo(file);
+
+        memory = null;
+
+    }
+
+    /**
+     * 現在の書き込み先を返却する．
+     *
+     * @return 書き込み先
+     */
+    private OutputStream target() {
+
+        return file != null ? file : memory;
+
+    }
+
+}
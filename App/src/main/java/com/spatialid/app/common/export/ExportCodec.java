@@ -0,0 +1,74 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * 出力ファイルの圧縮形式を定義するインターフェース．
+ *
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+public interface ExportCodec {
+
+    /**
+     * 圧縮形式の名称を返却する．
+     * <p>
+     * S3格納APIの送信データに、圧縮形式として設定する．
+     * </p>
+     *
+     * @return 圧縮形式の名称
+     */
+    public String getName();
+
+    /**
+     * 出力ファイルの拡張子を返却する．
+     *
+     * @return 出力ファイルの拡張子(ドットを含む)
+     */
+    public String getExtension();
+
+    /**
+     * JSONの書き込み先を開く．
+     * <p>
+     * 返却したストリームを閉じた時点で圧縮を完了し、出力先も閉じる．
+     * </p>
+     *
+     * @param out 圧縮したデータの出力先
+     * @param entryName 圧縮ファイル内のjsonファイル名(エントリを持たない形式では使用しない)
+     * @return JSONの書き込み先
+     * @throws IOException 開く際に失敗した場合
+     */
+    public OutputStream open(OutputStream out, String entryName) throws IOException;
+
+    /**
+     * 複数のエントリを格納できる形式かを返却する．
+     *
+     * @return 格納できる場合はtrue
+     */
+    public default boolean isMultiEntrySupported() {
+
+        return false;
+
+    }
+
+    /**
+     * 複数のエントリを書き込み、出力先を閉じる．
+     * <p>
+     * エントリは指定した順に格納する．
+     * </p>
+     *
+     * @param out 圧縮したデータの出力先
+     * @param entries 圧縮ファイル内のファイル名と、その内容
+     * @throws IOException 書き込みに失敗した場合、または複数のエントリを格納できない形式の場合
+     */
+    public default void writeEntries(OutputStream out, Map<String, ExportEntryContent> entries) throws IOException {
+
+        throw new IOException(getName() + "形式は複数のエントリに対応していません。");
+
+    }
+
+}
@@ -0,0 +1,28 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+/**
+ * batch.propertiesで選択可能な出力ファイルの圧縮形式を定義する列挙型．
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public enum ExportCodecType {
+
+    /**
+     * ZIP形式(DEFLATE圧縮)．
+     */
+    ZIP,
+
+    /**
+     * ZIP形式(無圧縮)．
+     */
+    STORED,
+
+    /**
+     * Zstandard形式．
+     */
+    ZSTD
+
+}
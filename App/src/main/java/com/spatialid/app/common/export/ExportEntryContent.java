@@ -0,0 +1,28 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 圧縮ファイルの1エントリ分の内容を書き込む処理を定義するインターフェース．
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+@FunctionalInterface
+public interface ExportEntryContent {
+
+    /**
+     * エントリの内容を書き込む．
+     * <p>
+     * 出力先は閉じない．
+     * </p>
+     *
+     * @param out 書き込み先
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void writeTo(OutputStream out) throws IOException;
+
+}
@@ -0,0 +1,80 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * 作成した出力ファイルと、書き込み時に算出したダイジェストを保持するクラス．
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public class ExportFile {
+
+    /**
+     * 作成した圧縮ファイル．
+     */
+    private final Resource resource;
+
+    /**
+     * 圧縮前のJSONのダイジェスト(16進数)．
+     */
+    private final String contentDigest;
+
+    /**
+     * 圧縮ファイルのダイジェスト(16進数)．
+     */
+    private final String archiveDigest;
+
+    /**
+     * @param resource 作成した圧縮ファイル
+     * @param contentDigest 圧縮前のJSONのダイジェスト(16進数)
+     * @param archiveDigest 圧縮ファイルのダイジェスト(16進数)
+     */
+    public ExportFile(Resource resource, String contentDigest, String archiveDigest) {
+
+        this.resource = resource;
+        this.contentDigest = contentDigest;
+        this.archiveDigest = archiveDigest;
+
+    }
+
+    /**
+     * 作成した圧縮ファイルを返却する．
+     *
+     * @return 作成した圧縮ファイル
+     */
+    public Resource getResource() {
+
+        return resource;
+
+    }
+
+    /**
+     * 圧縮前のJSONのダイジェストを返却する．
+     * <p>
+     * エントリを分けて出力した場合は、エントリ名とエントリごとのダイジェストを出力順に連結したもののダイジェストとする．<br>
+     * 圧縮ファイルには更新日時が含まれるため、出力内容の同一性の判定にはこちらを使用する．
+     * </p>
+     *
+     * @return 圧縮前のJSONのダイジェスト(16進数)
+     */
+    public String getContentDigest() {
+
+        return contentDigest;
+
+    }
+
+    /**
+     * 圧縮ファイルのダイジェストを返却する．
+     *
+     * @return 圧縮ファイルのダイジェスト(16進数)
+     */
+    public String getArchiveDigest() {
+
+        return archiveDigest;
+
+    }
+
+}
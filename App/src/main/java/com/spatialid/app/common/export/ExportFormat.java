@@ -0,0 +1,62 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+/**
+ * batch.propertiesで選択可能な出力ファイルの形式を定義する列挙型．
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public enum ExportFormat {
+
+    /**
+     * 埋設物有無と埋設物リストを持つ、単一のJSONオブジェクト．
+     */
+    JSON("json", ".json"),
+
+    /**
+     * 先頭行を埋設物有無のヘッダ、以降を1行1設備とする改行区切りのJSON．
+     */
+    NDJSON("ndjson", ".ndjson");
+
+    /**
+     * 形式の名称．
+     */
+    private final String formatName;
+
+    /**
+     * ファイルの拡張子．
+     */
+    private final String extension;
+
+    ExportFormat(String formatName, String extension) {
+
+        this.formatName = formatName;
+        this.extension = extension;
+
+    }
+
+    /**
+     * 形式の名称を返却する．
+     *
+     * @return 形式の名称
+     */
+    public String getFormatName() {
+
+        return formatName;
+
+    }
+
+    /**
+     * ファイルの拡張子を返却する．
+     *
+     * @return ファイルの拡張子(ドットを含む)
+     */
+    public String getExtension() {
+
+        return extension;
+
+    }
+
+}
@@ -0,0 +1,50 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+/**
+ * batch.propertiesで選択可能な、圧縮ファイル内のエントリの構成を定義する列挙型．
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public enum ExportLayout {
+
+    /**
+     * 全ての設備を単一のエントリに出力する．
+     */
+    SINGLE("single"),
+
+    /**
+     * インフラ事業者ごとにエントリを分けて出力する．
+     */
+    COMPANY("company"),
+
+    /**
+     * 設備の件数ごとにエントリを分けて出力する．
+     */
+    SHARD("shard");
+
+    /**
+     * 構成の名称．
+     */
+    private final String layoutName;
+
+    ExportLayout(String layoutName) {
+
+        this.layoutName = layoutName;
+
+    }
+
+    /**
+     * 構成の名称を返却する．
+     *
+     * @return 構成の名称
+     */
+    public String getLayoutName() {
+
+        return layoutName;
+
+    }
+
+}
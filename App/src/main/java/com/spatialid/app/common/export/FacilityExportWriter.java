@@ -0,0 +1,268 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.spatialid.app.dto.sidattribute.SidAttributeDto;
+
+/**
+ * 埋設物情報のファイル出力を、{@link JsonGenerator}でストリーミングに行うクラス．
+ * <p>
+ * 出力形式は{@link ExportFormat}に従い、以下の通り．<br>
+ * JSON: <pre>{@code {"isFacilityExist": true, "facilitySidList": [ {設備}, ... ]} }</pre>
+ * NDJSON: <pre>{@code {"isFacilityExist":true}
+ * {設備}
+ * ...}</pre>
+ * 設備は受け取った順に1件ずつ書き込み、出力全体をメモリ上に保持しない．<br>
+ * 埋設物有無は、設備の件数から書き込み開始時に判明しているものとして先頭に出力する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+public class FacilityExportWriter implements Closeable {
+
+    /**
+     * 埋設物有無のフィールド名．
+     */
+    private static final String FIELD_IS_FACILITY_EXIST = "isFacilityExist";
+
+    /**
+     * 埋設物リストのフィールド名．
+     */
+    private static final String FIELD_FACILITY_SID_LIST = "facilitySidList";
+
+    /**
+     * インフラ事業者IDのフィールド名．
+     */
+    private static final String FIELD_INFRA_COMPANY_ID = "infraCompanyId";
+
+    /**
+     * データ種別のフィールド名．
+     */
+    private static final String FIELD_DATA_TYPE = "dataType";
+
+    /**
+     * オブジェクトIDのフィールド名．
+     */
+    private static final String FIELD_OBJECT_ID = "objectId";
+
+    /**
+     * 設備種別名のフィールド名．
+     */
+    private static final String FIELD_OBJECT_NAME = "objectName";
+
+    /**
+     * 設備属性のフィールド名．
+     */
+    private static final String FIELD_FACILITY_ATTRIBUTE = "facilityAttribute";
+
+    /**
+     * 空間IDのリストのフィールド名．
+     */
+    private static final String FIELD_SID_LIST = "sidList";
+
+    /**
+     * NDJSONの行の区切り文字．
+     */
+    private static final String LINE_SEPARATOR = "\n";
+
+    /**
+     * 出力先の{@link JsonGenerator}．
+     */
+    private final JsonGenerator gen;
+
+    /**
+     * 出力形式．
+     */
+    private final ExportFormat format;
+
+    /**
+     * @param gen 出力先の{@link JsonGenerator}
+     * @param format 出力形式
+     */
+    public FacilityExportWriter(JsonGenerator gen, ExportFormat format) {
+
+        this.gen = gen;
+        this.format = format;
+
+        if (format == ExportFormat.NDJSON) {
+
+            // 各設備をルート要素として出力し、要素の間を改行で区切る
+            gen.setPrettyPrinter(new MinimalPrettyPrinter(LINE_SEPARATOR));
+
+        }
+
+    }
+
+    /**
+     * 出力の先頭部分を書き込む．
+     *
+     * @param isFacilityExist 埋設物有無
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void writeHeader(boolean isFacilityExist) throws IOException {
+
+        if (format == ExportFormat.NDJSON) {
+
+            writeFacilityExistRecord(isFacilityExist);
+
+            return;
+
+        }
+
+        gen.writeStartObject();
+
+        gen.writeBooleanField(FIELD_IS_FACILITY_EXIST, isFacilityExist);
+
+        gen.writeArrayFieldStart(FIELD_FACILITY_SID_LIST);
+
+    }
+
+    /**
+     * 設備を1件書き込む．
+     * <p>
+     * 設備属性がnullの場合は、空文字を出力する．
+     * </p>
+     *
+     * @param sidAttribute 空間・属性情報
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void writeFacility(SidAttributeDto sidAttribute) throws IOException {
+
+        gen.writeStartObject();
+
+        gen.writeStringField(FIELD_INFRA_COMPANY_ID, sidAttribute.getInfraCompanyId());
+        gen.writeStringField(FIELD_DATA_TYPE, sidAttribute.getDataType());
+        gen.writeStringField(FIELD_OBJECT_ID, sidAttribute.getObjectId());
+        gen.writeStringField(FIELD_OBJECT_NAME, sidAttribute.getFacilityClassificationName());
+
+        gen.writeFieldName(FIELD_FACILITY_ATTRIBUTE);
+
+        writeFacilityAttribute(sidAttribute.getFacilityAttribute());
+
+        gen.writeFieldName(FIELD_SID_LIST);
+
+        writeSidList(sidAttribute.getSidList());
+
+        gen.writeEndObject();
+
+    }
+
+    /**
+     * 出力の末尾部分を書き込む．
+     *
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void writeFooter() throws IOException {
+
+        if (format == ExportFormat.NDJSON) {
+
+            // 最終行も改行で終端する
+            gen.writeRaw(LINE_SEPARATOR);
+
+            gen.flush();
+
+            return;
+
+        }
+
+        gen.writeEndArray();
+
+        gen.writeEndObject();
+
+        gen.flush();
+
+    }
+
+    /**
+     * {@link JsonGenerator}を閉じる．
+     *
+     * @throws IOException 閉じる際に失敗した場合
+     */
+    @Override
+    public void close() throws IOException {
+
+        gen.close();
+
+    }
+
+    /**
+     * 埋設物有無のみを持つNDJSONのレコードを書き込む．
+     *
+     * @param isFacilityExist 埋設物有無
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void writeFacilityExistRecord(boolean isFacilityExist) throws IOException {
+
+        gen.writeStartObject();
+
+        gen.writeBooleanField(FIELD_IS_FACILITY_EXIST, isFacilityExist);
+
+        gen.writeEndObject();
+
+    }
+
+    /**
+     * 設備属性を書き込む．
+     *
+     * @param facilityAttribute 設備属性
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void writeFacilityAttribute(Map<String, String> facilityAttribute) throws IOException {
+
+        if (facilityAttribute == null) {
+
+            gen.writeString("");
+
+            return;
+
+        }
+
+        gen.writeStartObject();
+
+        for (Map.Entry<String, String> entry : facilityAttribute.entrySet()) {
+
+            gen.writeStringField(entry.getKey(), entry.getValue());
+
+        }
+
+        gen.writeEndObject();
+
+    }
+
+    /**
+     * 空間IDのリストを書き込む．
+     *
+     * @param sidList 空間IDのリスト
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void writeSidList(List<String> sidList) throws IOException {
+
+        if (sidList == null) {
+
+            gen.writeNull();
+
+            return;
+
+        }
+
+        gen.writeStartArray(sidList, sidList.size());
+
+        for (String sid : sidList) {
+
+            gen.writeString(sid);
+
+        }
+
+        gen.writeEndArray();
+
+    }
+
+}
@@ -0,0 +1,488 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 入力をブロックに分割し、複数のスレッドで並列にDEFLATE圧縮する{@link OutputStream}．
+ * <p>
+ * 各ブロックは独立した{@link Deflater}で圧縮し、最終ブロック以外は同期フラッシュでバイト境界に揃えて終端する．<br>
+ * 圧縮結果を入力順に連結することで、単一のDEFLATEストリーム(ヘッダなし)として展開できる出力となる．<br>
+ * 圧縮率の低下を抑えるため、直前のブロックの末尾32KBを辞書として使用する．<br>
+ * CRC-32と圧縮前後のサイズは、ZIPエントリの作成に使用できるよう保持する．<br>
+ * 本ストリームを閉じても、出力先は閉じない．<br>
+ * 圧縮に失敗した場合、投入済みのブロックの一部が失われるため、以降の書き込み・完了の要求は例外とする．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+public class ParallelDeflateOutputStream extends OutputStream {
+
+    /**
+     * DEFLATEの辞書(スライド窓)のサイズ．
+     */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    /**
+     * 圧縮時の出力バッファのサイズ．
+     */
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 圧縮済みのブロックの出力先．
+     */
+    private final OutputStream out;
+
+    /**
+     * 圧縮を行う{@link ExecutorService}．
+     */
+    private final ExecutorService executor;
+
+    /**
+     * 圧縮レベル．
+     */
+    private final int level;
+
+    /**
+     * 1ブロックあたりのサイズ．
+     */
+    private final int blockSize;
+
+    /**
+     * 圧縮中のブロック数の上限．
+     */
+    private final int maxPending;
+
+    /**
+     * 圧縮中のブロック(入力順)．
+     */
+    private final ArrayDeque<Future<byte[]>> pending = new ArrayDeque<Future<byte[]>>();
+
+    /**
+     * 圧縮前のデータのCRC-32．
+     */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * 書き込み中のブロック．
+     */
+    private byte[] block;
+
+    /**
+     * 書き込み中のブロックの格納サイズ．
+     */
+    private int count;
+
+    /**
+     * 次のブロックで使用する辞書．
+     */
+    private byte[] dictionary;
+
+    /**
+     * 圧縮前のサイズ．
+     */
+    private long size;
+
+    /**
+     * 圧縮後のサイズ．
+     */
+    private long compressedSize;
+
+    /**
+     * 圧縮を完了したか．
+     */
+    private boolean finished;
+
+    /**
+     * 圧縮に失敗したか．
+     */
+    private boolean failed;
+
+    /**
+     * @param out 圧縮済みのブロックの出力先
+     * @param executor 圧縮を行う{@link ExecutorService}
+     * @param level 圧縮レベル
+     * @param blockSize 1ブロックあたりのサイズ
+     * @param threads 圧縮を行うスレッド数
+     */
+    public ParallelDeflateOutputStream(OutputStream out, ExecutorService executor, int level, int blockSize, int threads) {
+
+        this.out = out;
+        this.executor = executor;
+        this.level = level;
+        this.blockSize = blockSize;
+        this.maxPending = Math.max(1, threads) * 2;
+        this.block = new byte[blockSize];
+
+    }
+
+    /**
+     * 1バイトを書き込む．
+     *
+     * @param b 書き込むバイト
+     * @throws IOException 圧縮に失敗した場合
+     */
+    @Override
+    public void write(int b) throws IOException {
+
+        ensureOpen();
+
+        block[count++] = (byte) b;
+
+        if (count == blockSize) {
+
+            submitBlock(false);
+
+        }
+
+    }
+
+    /**
+     * バイト配列を書き込む．
+     *
+     * @param b 書き込むバイト配列
+     * @param off 開始位置
+     * @param len 書き込むサイズ
+     * @throws IOException 圧縮に失敗した場合
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+
+        ensureOpen();
+
+        int offset = off;
+        int remaining = len;
+
+        while (0 < remaining) {
+
+            final int length = Math.min(remaining, blockSize - count);
+
+            System.arraycopy(b, offset, block, count, length);
+
+            count += length;
+            offset += length;
+            remaining -= length;
+
+            if (count == blockSize) {
+
+                submitBlock(false);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 残りのデータを最終ブロックとして圧縮し、全てのブロックを出力先へ書き込む．
+     *
+     * @throws IOException 圧縮に失敗した場合、または既に圧縮に失敗している場合
+     */
+    public void finish() throws IOException {
+
+        if (finished) {
+
+            return;
+
+        }
+
+        ensureNotFailed();
+
+        submitBlock(true);
+
+        while (!pending.isEmpty()) {
+
+            writeNextBlock();
+
+        }
+
+        finished = true;
+
+        out.flush();
+
+    }
+
+    /**
+     * 圧縮を完了する．出力先は閉じない．
+     *
+     * @throws IOException 圧縮に失敗した場合
+     */
+    @Override
+    public void close() throws IOException {
+
+        try {
+
+            finish();
+
+        } finally {
+
+            pending.forEach(future -> future.cancel(true));
+
+            pending.clear();
+
+        }
+
+    }
+
+    /**
+     * 圧縮前のデータのCRC-32を返却する．
+     *
+     * @return CRC-32
+     */
+    public long getCrc() {
+
+        return crc.getValue();
+
+    }
+
+    /**
+     * 圧縮前のサイズを返却する．
+     *
+     * @return 圧縮前のサイズ
+     */
+    public long getSize() {
+
+        return size;
+
+    }
+
+    /**
+     * 圧縮後のサイズを返却する．
+     *
+     * @return 圧縮後のサイズ
+     */
+    public long getCompressedSize() {
+
+        return compressedSize;
+
+    }
+
+    /**
+     * 書き込み中のブロックを圧縮タスクとして投入する．
+     * <p>
+     * 圧縮中のブロック数が上限を超えた場合は、先頭のブロックの完了を待って出力先へ書き込む．
+     * </p>
+     *
+     * @param last 最終ブロックか
+     * @throws IOException 圧縮に失敗した場合
+     */
+    private void submitBlock(boolean last) throws IOException {
+
+        final byte[] input = block;
+        final int length = count;
+        final byte[] blockDictionary = dictionary;
+
+        try {
+
+            pending.add(executor.submit(() -> deflate(input, length, blockDictionary, last)));
+
+        } catch (RuntimeException e) {
+
+            failed = true;
+
+            throw new IOException(e);
+
+        }
+
+        crc.update(input, 0, length);
+
+        size += length;
+
+        dictionary = nextDictionary(blockDictionary, input, length);
+
+        // 投入したブロックは圧縮タスクが参照するため、新しい配列に書き込む
+        block = last ? null : new byte[blockSize];
+        count = 0;
+
+        while (maxPending < pending.size()) {
+
+            writeNextBlock();
+
+        }
+
+    }
+
+    /**
+     * 先頭のブロックの圧縮完了を待ち、出力先へ書き込む．
+     *
+     * @throws IOException 圧縮に失敗した場合
+     */
+    private void writeNextBlock() throws IOException {
+
+        final Future<byte[]> future = pending.poll();
+
+        try {
+
+            final byte[] compressed = future.get();
+
+            out.write(compressed);
+
+            compressedSize += compressed.length;
+
+        } catch (InterruptedException e) {
+
+            failed = true;
+
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException(e.getMessage());
+
+        } catch (ExecutionException e) {
+
+            failed = true;
+
+            throw new IOException(e.getCause());
+
+        } catch (IOException e) {
+
+            failed = true;
+
+            throw e;
+
+        }
+
+    }
+
+    /**
+     * 1ブロックをDEFLATE圧縮する．
+     *
+     * @param input 圧縮対象のデータ
+     * @param length 圧縮対象のサイズ
+     * @param blockDictionary 辞書(先頭ブロックの場合はnull)
+     * @param last 最終ブロックか
+     * @return 圧縮したデータ
+     */
+    private byte[] deflate(byte[] input, int length, byte[] blockDictionary, boolean last) {
+
+        final Deflater deflater = new Deflater(level, true);
+
+        try {
+
+            if (blockDictionary != null) {
+
+                deflater.setDictionary(blockDictionary);
+
+            }
+
+            deflater.setInput(input, 0, length);
+
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2 + 64);
+
+            final byte[] buffer = new byte[OUTPUT_BUFFER_SIZE];
+
+            if (last) {
+
+                deflater.finish();
+
+                while (!deflater.finished()) {
+
+                    compressed.write(buffer, 0, deflater.deflate(buffer));
+
+                }
+
+            } else {
+
+                // 同期フラッシュで終端し、後続のブロックと連結できるようにする
+                int written;
+
+                do {
+
+                    written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+
+                    compressed.write(buffer, 0, written);
+
+                } while (written == buffer.length);
+
+            }
+
+            return compressed.toByteArray();
+
+        } finally {
+
+            deflater.end();
+
+        }
+
+    }
+
+    /**
+     * 次のブロックで使用する辞書を求める．
+     *
+     * @param previous 現在のブロックで使用した辞書
+     * @param input 現在のブロックのデータ
+     * @param length 現在のブロックのサイズ
+     * @return 直前までのデータの末尾32KB
+     */
+    private static byte[] nextDictionary(byte[] previous, byte[] input, int length) {
+
+        if (DICTIONARY_SIZE <= length) {
+
+            return Arrays.copyOfRange(input, length - DICTIONARY_SIZE, length);
+
+        }
+
+        final int carry = previous == null ? 0 : Math.min(previous.length, DICTIONARY_SIZE - length);
+
+        final byte[] next = new byte[carry + length];
+
+        if (0 < carry) {
+
+            System.arraycopy(previous, previous.length - carry, next, 0, carry);
+
+        }
+
+        System.arraycopy(input, 0, next, carry, length);
+
+        return next;
+
+    }
+
+    /**
+     * 圧縮を完了しておらず、失敗もしていないことを確認する．
+     *
+     * @throws IOException 圧縮を完了している場合、または圧縮に失敗している場合
+     */
+    private void ensureOpen() throws IOException {
+
+        if (finished) {
+
+            throw new IOException("圧縮は完了しています。");
+
+        }
+
+        ensureNotFailed();
+
+    }
+
+    /**
+     * 圧縮に失敗していないことを確認する．
+     * <p>
+     * 失敗したブロックは出力先へ書き込まれていないため、続けて書き込むと不正なデータとなる．<br>
+     * 最終ブロックの投入後に失敗した場合、書き込み中のブロックは存在しないため、再度投入することもできない．
+     * </p>
+     *
+     * @throws IOException 圧縮に失敗している場合
+     */
+    private void ensureNotFailed() throws IOException {
+
+        if (failed) {
+
+            throw new IOException("圧縮に失敗しています。");
+
+        }
+
+    }
+
+}
@@ -0,0 +1,538 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * 出力ファイルの書き込みと読み出しを並行して行うクラス．
+ * <p>
+ * 書き込みは{@link ExecutorService}のスレッドで行い、書き込んだデータは上限のあるキューを介して{@link #getResource()}から読み出す．<br>
+ * 読み出しが追いつかない場合はキューが空くまで書き込みを待機するため、メモリ上に保持するデータは上限までとなる．<br>
+ * 書き込みに失敗した場合は読み出し側で、読み出し側が閉じられた場合は書き込み側で例外とし、一方のみが待機し続けることはない．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+public class StreamingExport implements Closeable {
+
+    /**
+     * 書き込みの終了を示すチャンク．
+     */
+    private static final byte[] END_OF_STREAM = new byte[0];
+
+    /**
+     * 相手側の状態を確認する間隔(ミリ秒)．
+     */
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    /**
+     * 書き込んだデータのチャンク．
+     */
+    private final BlockingQueue<byte[]> chunks;
+
+    /**
+     * 1チャンクあたりのサイズ．
+     */
+    private final int chunkSize;
+
+    /**
+     * 読み出し用の{@link Resource}．
+     */
+    private final Resource resource;
+
+    /**
+     * 書き込み処理．
+     */
+    private Future<ExportFile> producer;
+
+    /**
+     * 書き込み時に発生した例外．
+     */
+    private volatile Throwable producerFailure;
+
+    /**
+     * 読み出し側が閉じられたか．
+     */
+    private volatile boolean consumerClosed;
+
+    /**
+     * @param filename 読み出し用の{@link Resource}のファイル名
+     * @param chunkSize 1チャンクあたりのサイズ
+     * @param capacity キューに保持するチャンク数の上限
+     */
+    public StreamingExport(String filename, int chunkSize, int capacity) {
+
+        this.chunks = new ArrayBlockingQueue<byte[]>(Math.max(1, capacity));
+        this.chunkSize = Math.max(1, chunkSize);
+        this.resource = new StreamingResource(new Source(), filename);
+
+    }
+
+    /**
+     * 書き込みを開始する．
+     * <p>
+     * 書き込みの終了は、書き込み処理が正常に終了した場合のみ読み出し側へ通知する．<br>
+     * 書き込み処理が失敗時に出力先を閉じても、読み出し側で出力が完了したとは扱わない．
+     * </p>
+     *
+     * @param executor 書き込みを行う{@link ExecutorService}
+     * @param writer 書き込み処理
+     */
+    public void start(ExecutorService executor, Producer writer) {
+
+        producer = executor.submit(() -> {
+
+            final Sink sink = new Sink();
+
+            try {
+
+                final ExportFile result = writer.write(sink);
+
+                sink.complete();
+
+                return result;
+
+            } catch (Throwable e) {
+
+                producerFailure = e;
+
+                throw e;
+
+            }
+
+        });
+
+    }
+
+    /**
+     * 読み出し用の{@link Resource}を返却する．
+     * <p>
+     * 1回のみ読み出すことができる．
+     * </p>
+     *
+     * @return 読み出し用の{@link Resource}
+     */
+    public Resource getResource() {
+
+        return resource;
+
+    }
+
+    /**
+     * 書き込みの完了を待機し、書き込み処理の結果を返却する．
+     *
+     * @return 書き込み処理の結果
+     * @throws IOException 書き込みに失敗した場合、または待機中に割り込まれた場合
+     */
+    public ExportFile finish() throws IOException {
+
+        try {
+
+            return producer.get();
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("出力ファイルの書き込みの待機中に割り込まれました。");
+
+        } catch (ExecutionException e) {
+
+            if (e.getCause() instanceof IOException ioException) {
+
+                throw ioException;
+
+            }
+
+            throw new IOException(e.getCause());
+
+        } catch (CancellationException e) {
+
+            throw new IOException("出力ファイルの書き込みが中断されました。", e);
+
+        }
+
+    }
+
+    /**
+     * 読み出し側を閉じ、書き込みの終了を待機する．
+     * <p>
+     * 書き込み中の場合は、書き込みを中断させる．<br>
+     * 書き込みの失敗は{@link #finish()}で扱うため、ここでは送出しない．
+     * </p>
+     */
+    @Override
+    public void close() {
+
+        consumerClosed = true;
+
+        chunks.clear();
+
+        if (producer == null) {
+
+            return;
+
+        }
+
+        try {
+
+            producer.get();
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+        } catch (ExecutionException | CancellationException e) {
+
+            // 書き込みの失敗は呼び出し元で扱う
+
+        }
+
+    }
+
+    /**
+     * チャンクをキューに追加する．
+     *
+     * @param chunk 追加するチャンク
+     * @throws IOException 読み出し側が閉じられた場合、または待機中に割り込まれた場合
+     */
+    private void put(byte[] chunk) throws IOException {
+
+        try {
+
+            do {
+
+                if (consumerClosed) {
+
+                    throw new IOException("出力ファイルの読み出しが終了しています。");
+
+                }
+
+            } while (!chunks.offer(chunk, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS));
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("出力ファイルの書き込み中に割り込まれました。");
+
+        }
+
+    }
+
+    /**
+     * キューからチャンクを取り出す．
+     *
+     * @return 取り出したチャンク
+     * @throws IOException 書き込みに失敗した場合、または待機中に割り込まれた場合
+     */
+    private byte[] take() throws IOException {
+
+        try {
+
+            while (true) {
+
+                if (producerFailure != null) {
+
+                    throw new IOException("出力ファイルの書き込みに失敗しました。" + producerFailure.getMessage(), producerFailure);
+
+                }
+
+                final byte[] chunk = chunks.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (chunk != null) {
+
+                    return chunk;
+
+                }
+
+            }
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("出力ファイルの読み出し中に割り込まれました。");
+
+        }
+
+    }
+
+    /**
+     * 出力先を受け取り、書き込みを行う処理を定義するインターフェース．
+     */
+    @FunctionalInterface
+    public interface Producer {
+
+        /**
+         * 出力先へ書き込む．
+         *
+         * @param out 出力先
+         * @return 書き込み処理の結果
+         * @throws Exception 書き込みに失敗した場合
+         */
+        public ExportFile write(OutputStream out) throws Exception;
+
+    }
+
+    /**
+     * 書き込み中のデータを読み出す{@link Resource}．
+     * <p>
+     * サイズは読み出し終えるまで判明しないため、{@link #contentLength()}は不明(-1)を返却する．<br>
+     * {@link InputStreamResource}のサブクラスは、サイズの取得時に既定ではストリームを読み切ってしまう．<br>
+     * その場合は送信時に再度読み出せず、また書き込みと送信が並行しないため、読み出さずに不明を返却する．
+     * </p>
+     */
+    private static final class StreamingResource extends InputStreamResource {
+
+        /**
+         * ファイル名．
+         */
+        private final String filename;
+
+        StreamingResource(InputStream inputStream, String filename) {
+
+            super(inputStream);
+
+            this.filename = filename;
+
+        }
+
+        @Override
+        public String getFilename() {
+
+            return filename;
+
+        }
+
+        /**
+         * サイズを返却する．
+         *
+         * @return 常に-1(不明)
+         */
+        @Override
+        public long contentLength() {
+
+            return -1;
+
+        }
+
+    }
+
+    /**
+     * 書き込んだデータをチャンク単位でキューに追加する{@link OutputStream}．
+     */
+    private final class Sink extends OutputStream {
+
+        /**
+         * 書き込み中のチャンク．
+         */
+        private byte[] buffer = new byte[chunkSize];
+
+        /**
+         * 書き込み中のチャンクに書き込んだサイズ．
+         */
+        private int count;
+
+        /**
+         * 閉じられているか．
+         */
+        private boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+
+            ensureOpen();
+
+            if (count == buffer.length) {
+
+                sendChunk();
+
+            }
+
+            buffer[count++] = (byte) b;
+
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+
+            ensureOpen();
+
+            while (0 < len) {
+
+                if (count == buffer.length) {
+
+                    sendChunk();
+
+                }
+
+                final int copied = Math.min(len, buffer.length - count);
+
+                System.arraycopy(b, off, buffer, count, copied);
+
+                count += copied;
+                off += copied;
+                len -= copied;
+
+            }
+
+        }
+
+        /**
+         * 以降の書き込みを受け付けないようにする．
+         * <p>
+         * 書き込みの終了は{@link #complete()}で通知するため、キューには追加しない．
+         * </p>
+         */
+        @Override
+        public void close() {
+
+            closed = true;
+
+        }
+
+        /**
+         * 書き込み中のチャンクと、書き込みの終了をキューに追加する．
+         *
+         * @throws IOException 読み出し側が閉じられた場合
+         */
+        private void complete() throws IOException {
+
+            closed = true;
+
+            if (0 < count) {
+
+                put(Arrays.copyOf(buffer, count));
+
+            }
+
+            put(END_OF_STREAM);
+
+        }
+
+        /**
+         * 閉じられていないことを確認する．
+         *
+         * @throws IOException 閉じられている場合
+         */
+        private void ensureOpen() throws IOException {
+
+            if (closed) {
+
+                throw new IOException("出力ファイルは既に閉じられています。");
+
+            }
+
+        }
+
+        /**
+         * 書き込み中のチャンクをキューに追加し、新しいチャンクを用意する．
+         *
+         * @throws IOException 読み出し側が閉じられた場合
+         */
+        private void sendChunk() throws IOException {
+
+            put(buffer);
+
+            buffer = new byte[chunkSize];
+
+            count = 0;
+
+        }
+
+    }
+
+    /**
+     * キューからチャンクを取り出して読み出す{@link InputStream}．
+     */
+    private final class Source extends InputStream {
+
+        /**
+         * 読み出し中のチャンク．
+         */
+        private byte[] current;
+
+        /**
+         * 読み出し中のチャンクの読み出し位置．
+         */
+        private int position;
+
+        /**
+         * 書き込みの終了まで読み出したか．
+         */
+        private boolean endOfStream;
+
+        @Override
+        public int read() throws IOException {
+
+            final byte[] b = new byte[1];
+
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+
+            if (len == 0) {
+
+                return 0;
+
+            }
+
+            while (!endOfStream && (current == null || position == current.length)) {
+
+                current = take();
+
+                position = 0;
+
+                endOfStream = current == END_OF_STREAM;
+
+            }
+
+            if (endOfStream) {
+
+                return -1;
+
+            }
+
+            final int copied = Math.min(len, current.length - position);
+
+            System.arraycopy(current, position, b, off, copied);
+
+            position += copied;
+
+            return copied;
+
+        }
+
+        @Override
+        public void close() {
+
+            consumerClosed = true;
+
+            chunks.clear();
+
+        }
+
+    }
+
+}
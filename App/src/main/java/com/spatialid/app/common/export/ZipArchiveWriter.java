@@ -0,0 +1,400 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 圧縮済みのデータからZIP形式のファイルを組み立てるクラス．
+ * <p>
+ * {@link java.util.zip.ZipOutputStream}は圧縮を自身で行うため、別途圧縮したデータをエントリとして書き込めない．<br>
+ * 本クラスはローカルファイルヘッダ・データ記述子・セントラルディレクトリを出力し、エントリの本体は呼び出し元が書き込む．<br>
+ * CRC-32とサイズはエントリの書き込み後に判明するため、データ記述子に出力する．<br>
+ * ZIP64には対応しないため、エントリ・ファイル全体のサイズが4GBを超える場合は例外とする．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public class ZipArchiveWriter implements Closeable {
+
+    /**
+     * ローカルファイルヘッダのシグネチャ．
+     */
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+    /**
+     * データ記述子のシグネチャ．
+     */
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+
+    /**
+     * セントラルディレクトリヘッダのシグネチャ．
+     */
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+
+    /**
+     * セントラルディレクトリ終端レコードのシグネチャ．
+     */
+    private static final int END_SIGNATURE = 0x06054b50;
+
+    /**
+     * 展開に必要なバージョン(2.0)．
+     */
+    private static final int VERSION = 20;
+
+    /**
+     * 汎用フラグ(データ記述子を使用・ファイル名がUTF-8)．
+     */
+    private static final int FLAGS = 0x0008 | 0x0800;
+
+    /**
+     * ZIP64を使用せずに表現できるサイズの上限．
+     */
+    private static final long MAX_SIZE = 0xFFFFFFFFL;
+
+    /**
+     * ZIP64を使用せずに格納できるエントリ数の上限．
+     */
+    private static final int MAX_ENTRIES = 0xFFFF;
+
+    /**
+     * 出力先．
+     */
+    private final CountingOutputStream out;
+
+    /**
+     * 書き込み済みのエントリ．
+     */
+    private final List<Entry> entries = new ArrayList<Entry>();
+
+    /**
+     * 書き込み中のエントリ．
+     */
+    private Entry current;
+
+    public ZipArchiveWriter(OutputStream out) {
+
+        this.out = new CountingOutputStream(out);
+
+    }
+
+    /**
+     * エントリの書き込みを開始する．
+     * <p>
+     * ローカルファイルヘッダを出力し、エントリの本体の書き込み先を返却する．<br>
+     * 返却したストリームを閉じても、ファイルは閉じない．
+     * </p>
+     *
+     * @param name エントリ名
+     * @param method 圧縮方式({@link java.util.zip.ZipEntry#DEFLATED}等)
+     * @return エントリの本体の書き込み先
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public OutputStream beginEntry(String name, int method) throws IOException {
+
+        if (current != null) {
+
+            throw new IOException("書き込み中のエントリが存在します。");
+
+        }
+
+        if (MAX_ENTRIES <= entries.size()) {
+
+            throw new IOException("エントリ数が上限を超えています。");
+
+        }
+
+        final Entry entry = new Entry(name.getBytes(StandardCharsets.UTF_8), method, dosTime(LocalDateTime.now()), checkSize(out.count));
+
+        final ByteBuffer header = buffer(30 + entry.name.length);
+
+        header.putInt(LOCAL_HEADER_SIGNATURE)
+                .putShort((short) VERSION)
+                .putShort((short) FLAGS)
+                .putShort((short) entry.method)
+                .putInt(entry.time)
+                .putInt(0)
+                .putInt(0)
+                .putInt(0)
+                .putShort((short) entry.name.length)
+                .putShort((short) 0)
+                .put(entry.name);
+
+        out.write(header.array());
+
+        entry.dataOffset = out.count;
+
+        current = entry;
+
+        return new FilterOutputStream(out) {
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+
+                out.write(b, off, len);
+
+            }
+
+            @Override
+            public void close() throws IOException {
+
+                flush();
+
+            }
+
+        };
+
+    }
+
+    /**
+     * エントリの書き込みを終了し、データ記述子を出力する．
+     *
+     * @param crc 圧縮前のデータのCRC-32
+     * @param size 圧縮前のサイズ
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void endEntry(long crc, long size) throws IOException {
+
+        if (current == null) {
+
+            throw new IOException("書き込み中のエントリが存在しません。");
+
+        }
+
+        current.crc = crc;
+        current.size = checkSize(size);
+        current.compressedSize = checkSize(out.count - current.dataOffset);
+
+        final ByteBuffer descriptor = buffer(16);
+
+        descriptor.putInt(DATA_DESCRIPTOR_SIGNATURE)
+                .putInt((int) current.crc)
+                .putInt((int) current.compressedSize)
+                .putInt((int) current.size);
+
+        out.write(descriptor.array());
+
+        entries.add(current);
+
+        current = null;
+
+    }
+
+    /**
+     * セントラルディレクトリを出力し、ファイルを閉じる．
+     *
+     * @throws IOException 書き込みに失敗した場合
+     */
+    @Override
+    public void close() throws IOException {
+
+        try {
+
+            if (current != null) {
+
+                throw new IOException("書き込み中のエントリが終了していません。");
+
+            }
+
+            final long centralOffset = checkSize(out.count);
+
+            for (Entry entry : entries) {
+
+                final ByteBuffer header = buffer(46 + entry.name.length);
+
+                header.putInt(CENTRAL_HEADER_SIGNATURE)
+                        .putShort((short) VERSION)
+                        .putShort((short) VERSION)
+                        .putShort((short) FLAGS)
+                        .putShort((short) entry.method)
+                        .putInt(entry.time)
+                        .putInt((int) entry.crc)
+                        .putInt((int) entry.compressedSize)
+                        .putInt((int) entry.size)
+                        .putShort((short) entry.name.length)
+                        .putShort((short) 0)
+                        .putShort((short) 0)
+                        .putShort((short) 0)
+                        .putShort((short) 0)
+                        .putInt(0)
+                        .putInt((int) entry.headerOffset)
+                        .put(entry.name);
+
+                out.write(header.array());
+
+            }
+
+            final long centralSize = checkSize(out.count - centralOffset);
+
+            final ByteBuffer end = buffer(22);
+
+            end.putInt(END_SIGNATURE)
+                    .putShort((short) 0)
+                    .putShort((short) 0)
+                    .putShort((short) entries.size())
+                    .putShort((short) entries.size())
+                    .putInt((int) centralSize)
+                    .putInt((int) centralOffset)
+                    .putShort((short) 0);
+
+            out.write(end.array());
+
+        } finally {
+
+            out.close();
+
+        }
+
+    }
+
+    /**
+     * リトルエンディアンのバッファを生成する．
+     *
+     * @param capacity 容量
+     * @return 生成したバッファ
+     */
+    private static ByteBuffer buffer(int capacity) {
+
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+
+    }
+
+    /**
+     * サイズがZIP64を使用せずに表現できることを確認する．
+     *
+     * @param size サイズ
+     * @return サイズ
+     * @throws IOException 上限を超えている場合
+     */
+    private static long checkSize(long size) throws IOException {
+
+        if (MAX_SIZE <= size) {
+
+            throw new IOException("ZIPファイルのサイズが上限を超えています。");
+
+        }
+
+        return size;
+
+    }
+
+    /**
+     * 日時をMS-DOS形式に変換する．
+     *
+     * @param dateTime 日時
+     * @return MS-DOS形式の日時
+     */
+    private static int dosTime(LocalDateTime dateTime) {
+
+        return (Math.max(dateTime.getYear() - 1980, 0) << 25)
+                | (dateTime.getMonthValue() << 21)
+                | (dateTime.getDayOfMonth() << 16)
+                | (dateTime.getHour() << 11)
+                | (dateTime.getMinute() << 5)
+                | (dateTime.getSecond() >> 1);
+
+    }
+
+    /**
+     * エントリの情報を保持するクラス．
+     */
+    private static final class Entry {
+
+        /**
+         * エントリ名(UTF-8)．
+         */
+        private final byte[] name;
+
+        /**
+         * 圧縮方式．
+         */
+        private final int method;
+
+        /**
+         * 更新日時(MS-DOS形式)．
+         */
+        private final int time;
+
+        /**
+         * ローカルファイルヘッダの位置．
+         */
+        private final long headerOffset;
+
+        /**
+         * エントリの本体の開始位置．
+         */
+        private long dataOffset;
+
+        /**
+         * 圧縮前のデータのCRC-32．
+         */
+        private long crc;
+
+        /**
+         * 圧縮前のサイズ．
+         */
+        private long size;
+
+        /**
+         * 圧縮後のサイズ．
+         */
+        private long compressedSize;
+
+        Entry(byte[] name, int method, int time, long headerOffset) {
+
+            this.name = name;
+            this.method = method;
+            this.time = time;
+            this.headerOffset = headerOffset;
+
+        }
+
+    }
+
+    /**
+     * 書き込んだバイト数を数える{@link OutputStream}．
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        /**
+         * 書き込んだバイト数．
+         */
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+
+            super(out);
+
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+
+            out.write(b);
+
+            count++;
+
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+
+            out.write(b, off, len);
+
+            count += len;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,372 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ZIP形式で出力を行う{@link ExportCodec}の実装クラス．
+ * <p>
+ * 圧縮スレッド数が2以上の場合は、{@link ParallelDeflateOutputStream}でブロック単位に並列に圧縮する．<br>
+ * 無圧縮の場合も、展開側の互換性のため圧縮方式はDEFLATE(無圧縮ブロック)とする．<br>
+ * 複数のエントリを書き込む場合は、エントリごとに並列に圧縮する．<br>
+ * いずれの場合も、並列数は{@link ExecutorService}のスレッド数(batch.propertiesの圧縮スレッド数)に従い、1の場合は逐次に圧縮する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.2 2026/10/18
+ */
+public class ZipExportCodec implements ExportCodec {
+
+    /**
+     * 出力ファイルの拡張子．
+     */
+    private static final String EXTENSION = ".zip";
+
+    /**
+     * エントリごとに圧縮する際の、圧縮処理のバッファサイズ．
+     */
+    private static final int DEFLATE_BUFFER_SIZE = 8192;
+
+    /**
+     * 圧縮形式の名称．
+     */
+    private final String name;
+
+    /**
+     * 圧縮レベル．
+     */
+    private final int level;
+
+    /**
+     * 並列に圧縮する際に使用する{@link ExecutorService}．
+     */
+    private final ExecutorService executor;
+
+    /**
+     * 圧縮を行うスレッド数．
+     */
+    private final int threads;
+
+    /**
+     * 並列に圧縮する際の、1ブロックあたりのサイズ．
+     */
+    private final int blockSize;
+
+    /**
+     * @param name 圧縮形式の名称
+     * @param level 圧縮レベル({@link Deflater#NO_COMPRESSION}の場合は無圧縮)
+     * @param executor 並列に圧縮する際に使用する{@link ExecutorService}
+     * @param threads 圧縮を行うスレッド数
+     * @param blockSize 並列に圧縮する際の、1ブロックあたりのサイズ
+     */
+    public ZipExportCodec(String name, int level, ExecutorService executor, int threads, int blockSize) {
+
+        this.name = name;
+        this.level = level;
+        this.executor = executor;
+        this.threads = threads;
+        this.blockSize = blockSize;
+
+    }
+
+    /**
+     * 圧縮形式の名称を返却する．
+     *
+     * @return 圧縮形式の名称
+     */
+    @Override
+    public String getName() {
+
+        return name;
+
+    }
+
+    /**
+     * 出力ファイルの拡張子を返却する．
+     *
+     * @return 出力ファイルの拡張子
+     */
+    @Override
+    public String getExtension() {
+
+        return EXTENSION;
+
+    }
+
+    /**
+     * JSONの書き込み先として、ZIPファイルのエントリを開く．
+     * <p>
+     * 無圧縮の場合は並列化の効果がないため、圧縮スレッド数によらず逐次に出力する．
+     * </p>
+     *
+     * @param out 圧縮したデータの出力先
+     * @param entryName 圧縮ファイル内のjsonファイル名
+     * @return JSONの書き込み先
+     * @throws IOException 開く際に失敗した場合
+     */
+    @Override
+    public OutputStream open(OutputStream out, String entryName) throws IOException {
+
+        if (1 < threads && level != Deflater.NO_COMPRESSION) {
+
+            return new ParallelZipEntryOutputStream(new ZipArchiveWriter(out), entryName);
+
+        }
+
+        final ZipOutputStream zos = new ZipOutputStream(out);
+
+        zos.setLevel(level);
+
+        zos.putNextEntry(new ZipEntry(entryName));
+
+        return zos;
+
+    }
+
+    /**
+     * 複数のエントリを格納できる形式かを返却する．
+     *
+     * @return 常にtrue
+     */
+    @Override
+    public boolean isMultiEntrySupported() {
+
+        return true;
+
+    }
+
+    /**
+     * 複数のエントリを並列に圧縮し、1つのZIPファイルとして書き込む．
+     * <p>
+     * エントリごとのJSONの出力と圧縮は、エントリ単位に{@link ExecutorService}で並列に行う．<br>
+     * 圧縮後のデータはメモリ上に保持し、指定した順に出力先へ書き込む．<br>
+     * メモリ上に保持するエントリ数を抑えるため、圧縮中・書き込み待ちのエントリは圧縮スレッド数の2倍までとし、
+     * 上限に達した場合は先頭のエントリを書き込んでから次のエントリを投入する．
+     * </p>
+     *
+     * @param out 圧縮したデータの出力先
+     * @param entries 圧縮ファイル内のファイル名と、その内容
+     * @throws IOException 書き込みに失敗した場合
+     */
+    @Override
+    public void writeEntries(OutputStream out, Map<String, ExportEntryContent> entries) throws IOException {
+
+        final int maxPending = Math.max(1, threads) * 2;
+
+        final ArrayDeque<Map.Entry<String, Future<CompressedEntry>>> pending = new ArrayDeque<Map.Entry<String, Future<CompressedEntry>>>();
+
+        try (ZipArchiveWriter archive = new ZipArchiveWriter(out)) {
+
+            for (Map.Entry<String, ExportEntryContent> entry : entries.entrySet()) {
+
+                final ExportEntryContent content = entry.getValue();
+
+                pending.add(Map.entry(entry.getKey(), executor.submit(() -> compress(content))));
+
+                if (maxPending <= pending.size()) {
+
+                    writeEntry(archive, pending.poll());
+
+                }
+
+            }
+
+            while (!pending.isEmpty()) {
+
+                writeEntry(archive, pending.poll());
+
+            }
+
+        } finally {
+
+            // 失敗時に、未完了のエントリの圧縮を中断する
+            pending.forEach(entry -> entry.getValue().cancel(true));
+
+        }
+
+    }
+
+    /**
+     * エントリの圧縮の完了を待機し、ZIPファイルへ書き込む．
+     *
+     * @param archive ZIPファイルの出力先
+     * @param entry エントリ名と、その圧縮処理
+     * @throws IOException 圧縮・書き込みに失敗した場合
+     */
+    private static void writeEntry(ZipArchiveWriter archive, Map.Entry<String, Future<CompressedEntry>> entry) throws IOException {
+
+        final CompressedEntry compressed = await(entry.getValue());
+
+        try (OutputStream entryOut = archive.beginEntry(entry.getKey(), ZipEntry.DEFLATED)) {
+
+            compressed.data.writeTo(entryOut);
+
+        }
+
+        archive.endEntry(compressed.crc, compressed.size);
+
+    }
+
+    /**
+     * エントリの内容を書き込み、DEFLATE形式で圧縮する．
+     *
+     * @param content エントリの内容
+     * @return 圧縮したエントリ
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private CompressedEntry compress(ExportEntryContent content) throws IOException {
+
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        final CRC32 crc = new CRC32();
+
+        final Deflater deflater = new Deflater(level, true);
+
+        try {
+
+            final DeflaterOutputStream deflaterOut = new DeflaterOutputStream(data, deflater, DEFLATE_BUFFER_SIZE);
+
+            content.writeTo(new CheckedOutputStream(deflaterOut, crc));
+
+            deflaterOut.finish();
+
+            return new CompressedEntry(data, crc.getValue(), deflater.getBytesRead());
+
+        } finally {
+
+            deflater.end();
+
+        }
+
+    }
+
+    /**
+     * エントリの圧縮の完了を待機する．
+     *
+     * @param future 圧縮処理
+     * @return 圧縮したエントリ
+     * @throws IOException 圧縮に失敗した場合、または待機中に割り込まれた場合
+     */
+    private static CompressedEntry await(Future<CompressedEntry> future) throws IOException {
+
+        try {
+
+            return future.get();
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+            throw new IOException("エントリの圧縮中に割り込まれました。", e);
+
+        } catch (ExecutionException e) {
+
+            if (e.getCause() instanceof IOException ioException) {
+
+                throw ioException;
+
+            }
+
+            throw new IOException(e.getCause());
+
+        }
+
+    }
+
+    /**
+     * 圧縮したエントリを保持するクラス．
+     */
+    private static final class CompressedEntry {
+
+        /**
+         * 圧縮後のデータ．
+         */
+        private final ByteArrayOutputStream data;
+
+        /**
+         * 圧縮前のデータのCRC-32．
+         */
+        private final long crc;
+
+        /**
+         * 圧縮前のサイズ．
+         */
+        private final long size;
+
+        CompressedEntry(ByteArrayOutputStream data, long crc, long size) {
+
+            this.data = data;
+            this.crc = crc;
+            this.size = size;
+
+        }
+
+    }
+
+    /**
+     * 並列に圧縮したデータを、ZIPファイルの単一のエントリとして出力する{@link OutputStream}．
+     */
+    private final class ParallelZipEntryOutputStream extends FilterOutputStream {
+
+        /**
+         * ZIPファイルの出力先．
+         */
+        private final ZipArchiveWriter archive;
+
+        ParallelZipEntryOutputStream(ZipArchiveWriter archive, String entryName) throws IOException {
+
+            super(new ParallelDeflateOutputStream(archive.beginEntry(entryName, ZipEntry.DEFLATED),
+                    executor,
+                    level,
+                    blockSize,
+                    threads));
+
+            this.archive = archive;
+
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+
+            out.write(b, off, len);
+
+        }
+
+        /**
+         * 圧縮を完了し、エントリとZIPファイルを閉じる．
+         *
+         * @throws IOException 書き込みに失敗した場合
+         */
+        @Override
+        public void close() throws IOException {
+
+            final ParallelDeflateOutputStream deflater = (ParallelDeflateOutputStream) out;
+
+            try (archive; deflater) {
+
+                deflater.finish();
+
+                archive.endEntry(deflater.getCrc(), deflater.getSize());
+
+            }
+
+        }
+
+    }
+
+}
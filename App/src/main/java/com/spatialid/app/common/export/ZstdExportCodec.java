@@ -0,0 +1,91 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+/**
+ * Zstandard形式で出力を行う{@link ExportCodec}の実装クラス．
+ * <p>
+ * ZIP形式と異なりエントリを持たないため、JSONをそのまま圧縮した単一のファイルを出力する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public class ZstdExportCodec implements ExportCodec {
+
+    /**
+     * 圧縮形式の名称．
+     */
+    private static final String NAME = "zstd";
+
+    /**
+     * Zstandard形式の拡張子．
+     */
+    private static final String EXTENSION = ".zst";
+
+    /**
+     * 圧縮レベル．
+     */
+    private final int level;
+
+    /**
+     * 圧縮前のファイルの拡張子．
+     */
+    private final String sourceExtension;
+
+    /**
+     * @param level 圧縮レベル
+     * @param sourceExtension 圧縮前のファイルの拡張子(出力ファイルの拡張子の前に付与する)
+     */
+    public ZstdExportCodec(int level, String sourceExtension) {
+
+        this.level = level;
+        this.sourceExtension = sourceExtension;
+
+    }
+
+    /**
+     * 圧縮形式の名称を返却する．
+     *
+     * @return 圧縮形式の名称
+     */
+    @Override
+    public String getName() {
+
+        return NAME;
+
+    }
+
+    /**
+     * 出力ファイルの拡張子を返却する．
+     *
+     * @return 出力ファイルの拡張子(.json.zst等)
+     */
+    @Override
+    public String getExtension() {
+
+        return sourceExtension + EXTENSION;
+
+    }
+
+    /**
+     * JSONの書き込み先を開く．
+     *
+     * @param out 圧縮したデータの出力先
+     * @param entryName 使用しない
+     * @return JSONの書き込み先
+     * @throws IOException 開く際に失敗した場合
+     */
+    @Override
+    public OutputStream open(OutputStream out, String entryName) throws IOException {
+
+        return new ZstdOutputStream(out, level);
+
+    }
+
+}
@@ -0,0 +1,74 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.mapper;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+/**
+ * 文字列のデシリアライズを、{@link CanonicalStringPool}を経由して行うクラス．
+ * <p>
+ * 同一内容の文字列が繰り返し出現する項目に付与し、インスタンスを共有させる．<br>
+ * プールはSpringのBeanとして注入されるため、Spring管理の{@link com.fasterxml.jackson.databind.ObjectMapper}で使用する．<br>
+ * Spring管理外の{@link com.fasterxml.jackson.databind.ObjectMapper}で生成された場合はプールを持たず、標準の変換結果をそのまま返却する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+public class CanonicalStringDeserializer extends JsonDeserializer<String> {
+
+    /**
+     * 文字列のプール(Spring管理外で生成された場合はnull)．
+     */
+    private final CanonicalStringPool canonicalStringPool;
+
+    public CanonicalStringDeserializer() {
+
+        this(null);
+
+    }
+
+    @Autowired
+    public CanonicalStringDeserializer(CanonicalStringPool canonicalStringPool) {
+
+        this.canonicalStringPool = canonicalStringPool;
+
+    }
+
+    /**
+     * 文字列を読み込み、正規化された文字列を返却する．
+     *
+     * @param jp {@link JsonParser}
+     * @param context {@link DeserializationContext}
+     * @return 正規化された文字列
+     */
+    @Override
+    public String deserialize(JsonParser jp,
+            DeserializationContext context) throws IOException {
+
+        if (canonicalStringPool == null) {
+
+            return StringDeserializer.instance.deserialize(jp, context);
+
+        }
+
+        if (jp.hasToken(JsonToken.VALUE_STRING)) {
+
+            return canonicalStringPool.canonicalize(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength());
+
+        }
+
+        // 文字列以外のトークンは、標準の変換結果を正規化する
+        return canonicalStringPool.canonicalize(StringDeserializer.instance.deserialize(jp, context));
+
+    }
+
+}
@@ -0,0 +1,222 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.mapper;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.spatialid.app.common.properties.BatchProperty;
+
+/**
+ * デシリアライズ時に、同一内容の文字列を1つのインスタンスへ正規化する上限付きのプール．
+ * <p>
+ * 文字列のハッシュ値で格納位置を決定する固定長の配列で保持し、衝突時は後から格納した文字列で上書きする．<br>
+ * そのため、保持する文字列の件数は設定された上限を超えない．<br>
+ * パーサーの文字配列から直接照合するため、プールに存在する場合は文字列を生成しない．
+ * </p>
+ * 
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+@Component
+public class CanonicalStringPool {
+    
+    /**
+     * プールの対象とする文字列の最大文字数．
+     */
+    private static final int MAX_POOLED_LENGTH = 64;
+    
+    /**
+     * プールの最小の格納数．
+     */
+    private static final int MIN_CAPACITY = 16;
+    
+    /**
+     * 格納位置ごとの文字列．
+     */
+    private final String[] slots;
+    
+    /**
+     * 照合回数．
+     */
+    private final LongAdder lookups = new LongAdder();
+    
+    /**
+     * プールに存在した回数．
+     */
+    private final LongAdder hits = new LongAdder();
+    
+    public CanonicalStringPool(BatchProperty batchProperty) {
+        
+        int capacity = MIN_CAPACITY;
+        
+        while (capacity < batchProperty.getStringPoolSize()) {
+            
+            capacity <<= 1;
+            
+        }
+        
+        this.slots = new String[capacity];
+        
+    }
+    
+    /**
+     * 文字配列の指定範囲と同一内容の文字列を返却する．
+     * 
+     * @param chars 文字配列
+     * @param offset 開始位置
+     * @param length 文字数
+     * @return 正規化された文字列
+     */
+    public String canonicalize(char[] chars, int offset, int length) {
+        
+        if (MAX_POOLED_LENGTH < length) {
+            
+            return new String(chars, offset, length);
+            
+        }
+        
+        int hash = 0;
+        
+        for (int i = offset; i < offset + length; i++) {
+            
+            hash = 31 * hash + chars[i];
+            
+        }
+        
+        final int index = spread(hash) & (slots.length - 1);
+        
+        final String pooled = slots[index];
+        
+        lookups.increment();
+        
+        if (pooled != null && contentEquals(pooled, chars, offset, length)) {
+            
+            hits.increment();
+            
+            return pooled;
+            
+        }
+        
+        final String value = new String(chars, offset, length);
+        
+        slots[index] = value;
+        
+        return value;
+        
+    }
+    
+    /**
+     * 同一内容の文字列を返却する．
+     * 
+     * @param value 文字列
+     * @return 正規化された文字列
+     */
+    public String canonicalize(String value) {
+        
+        if (value == null || MAX_POOLED_LENGTH < value.length()) {
+            
+            return value;
+            
+        }
+        
+        final int index = spread(value.hashCode()) & (slots.length - 1);
+        
+        final String pooled = slots[index];
+        
+        lookups.increment();
+        
+        if (value.equals(pooled)) {
+            
+            hits.increment();
+            
+            return pooled;
+            
+        }
+        
+        slots[index] = value;
+        
+        return value;
+        
+    }
+    
+    /**
+     * 照合回数を返却する．
+     * 
+     * @return 照合回数
+     */
+    public long getLookups() {
+        
+        return lookups.sum();
+        
+    }
+    
+    /**
+     * プールに存在した回数を返却する．
+     * 
+     * @return プールに存在した回数
+     */
+    public long getHits() {
+        
+        return hits.sum();
+        
+    }
+    
+    /**
+     * ヒット率を百分率で返却する．
+     * 
+     * @return ヒット率(照合が無い場合は0)
+     */
+    public double getHitRate() {
+        
+        final long lookupCount = getLookups();
+        
+        return lookupCount == 0 ? 0 : getHits() * 100.0 / lookupCount;
+        
+    }
+    
+    /**
+     * ハッシュ値の上位ビットを下位ビットへ拡散する．
+     * 
+     * @param hash ハッシュ値
+     * @return 拡散したハッシュ値
+     */
+    private static int spread(int hash) {
+        
+        return hash ^ (hash >>> 16);
+        
+    }
+    
+    /**
+     * 文字列と文字配列の指定範囲が同一内容かを判定する．
+     * 
+     * @param value 文字列
+     * @param chars 文字配列
+     * @param offset 開始位置
+     * @param length 文字数
+     * @return 同一内容の場合はtrue
+     */
+    private static boolean contentEquals(String value, char[] chars, int offset, int length) {
+        
+        if (value.length() != length) {
+            
+            return false;
+            
+        }
+        
+        for (int i = 0; i < length; i++) {
+            
+            if (value.charAt(i) != chars[offset + i]) {
+                
+                return false;
+                
+            }
+            
+        }
+        
+        return true;
+        
+    }
+    
+}
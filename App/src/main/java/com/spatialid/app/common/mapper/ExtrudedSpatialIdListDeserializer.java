@@ -0,0 +1,155 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.mapper;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.spatialid.app.common.spatialid.ExtrudedSpatialIdList;
+import com.spatialid.app.common.spatialid.SpatialIdBuffer;
+import com.spatialid.app.common.spatialid.SpatialIdCodec;
+import com.spatialid.app.common.spatialid.SpatialIdValidationReport;
+import com.spatialid.app.common.spatialid.SpatialIdViolation;
+
+/**
+ * 空間IDのリストのデシリアライズを実装するクラス．
+ * <p>
+ * {@link JsonParser}のトークンを、文字列を生成せずにパックされた形式へ直接解析する．<br>
+ * 形式不正の空間IDは例外とせずに検証結果へ記録し、判定は平面化の処理に委ねる．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public class ExtrudedSpatialIdListDeserializer extends JsonDeserializer<List<String>> {
+
+    /**
+     * 空間IDの配列を読み込み、パックされた空間IDのリストを返却する．
+     *
+     * @param jp {@link JsonParser}
+     * @param context {@link DeserializationContext}
+     * @return パックされた空間IDのリスト
+     */
+    @Override
+    public List<String> deserialize(JsonParser jp,
+            DeserializationContext context) throws IOException {
+
+        if (!jp.isExpectedStartArrayToken()) {
+
+            return context.reportInputMismatch(this, "空間IDのリストが配列ではありません。");
+
+        }
+
+        final SpatialIdBuffer buffer = new SpatialIdBuffer();
+
+        final SpatialIdValidationReport report = new SpatialIdValidationReport();
+
+        final CharArraySequence sid = new CharArraySequence();
+
+        int index = 0;
+
+        for (JsonToken token = jp.nextToken(); token != JsonToken.END_ARRAY; token = jp.nextToken()) {
+
+            SpatialIdViolation violation;
+
+            if (token == JsonToken.VALUE_STRING) {
+
+                sid.reset(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength());
+
+                violation = SpatialIdCodec.tryParseInto(sid, buffer);
+
+            } else {
+
+                // 文字列以外の要素は、入れ子の場合も含めて読み飛ばす
+                jp.skipChildren();
+
+                sid.reset(null, 0, 0);
+
+                violation = SpatialIdViolation.EMPTY;
+
+            }
+
+            if (violation != null) {
+
+                report.record(index, sid, violation);
+
+            }
+
+            index++;
+
+        }
+
+        return new ExtrudedSpatialIdList(buffer, report);
+
+    }
+
+    /**
+     * パーサーの文字配列の一部を、複製せずに{@link CharSequence}として参照するクラス．
+     */
+    private static final class CharArraySequence implements CharSequence {
+
+        /**
+         * 参照する文字配列．
+         */
+        private char[] chars;
+
+        /**
+         * 開始位置．
+         */
+        private int offset;
+
+        /**
+         * 文字数．
+         */
+        private int length;
+
+        /**
+         * 参照先を切り替える．
+         *
+         * @param chars 文字配列
+         * @param offset 開始位置
+         * @param length 文字数
+         */
+        void reset(char[] chars, int offset, int length) {
+
+            this.chars = chars;
+            this.offset = offset;
+            this.length = length;
+
+        }
+
+        @Override
+        public int length() {
+
+            return length;
+
+        }
+
+        @Override
+        public char charAt(int index) {
+
+            return chars[offset + index];
+
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+
+            return toString().substring(start, end);
+
+        }
+
+        @Override
+        public String toString() {
+
+            return length == 0 ? "" : new String(chars, offset, length);
+
+        }
+
+    }
+
+}
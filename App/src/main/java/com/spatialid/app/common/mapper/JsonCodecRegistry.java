@@ -0,0 +1,148 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.mapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spatialid.app.dto.ErrorResponse;
+import com.spatialid.app.dto.outputtasks.GetOutputTasksResponseDto;
+import com.spatialid.app.dto.outputtasks.PutOutputTasksRequestDto;
+import com.spatialid.app.dto.s3.PostS3ResponseDto;
+import com.spatialid.app.dto.sidattribute.PostSidAttributeRequestDto;
+import com.spatialid.app.dto.sidattribute.PostSidAttributeResponseDto;
+
+/**
+ * DTOごとの{@link ObjectReader}・{@link ObjectWriter}を保持するクラス．
+ * <p>
+ * 共有の{@link ObjectMapper}から型ごとに事前に生成し、呼び出しのたびにデシリアライザ・シリアライザを解決しない．<br>
+ * 生成時にルートのデシリアライザ・シリアライザを取得するため、アプリケーション起動時にウォームアップが完了する．<br>
+ * {@link ObjectWriter}は常にインデントを行わないため、共有の{@link ObjectMapper}の設定によらずAPIのリクエストボディは整形されない．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+@Component
+public class JsonCodecRegistry {
+
+    /**
+     * 起動時に{@link ObjectReader}を生成する型．
+     */
+    private static final List<Class<?>> READABLE_TYPES = List.of(ErrorResponse.class,
+            GetOutputTasksResponseDto.class,
+            PostSidAttributeResponseDto.class,
+            PostS3ResponseDto.class);
+
+    /**
+     * 起動時に{@link ObjectWriter}を生成する型．
+     */
+    private static final List<Class<?>> WRITABLE_TYPES = List.of(PutOutputTasksRequestDto.class,
+            PostSidAttributeRequestDto.class);
+
+    /**
+     * Jsonオブジェクトマッパー．
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 型ごとの{@link ObjectReader}．
+     */
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<Class<?>, ObjectReader>();
+
+    /**
+     * 型ごとの{@link ObjectWriter}．
+     */
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<Class<?>, ObjectWriter>();
+
+    public JsonCodecRegistry(ObjectMapper objectMapper) {
+
+        this.objectMapper = objectMapper;
+
+        for (Class<?> type : READABLE_TYPES) {
+
+            readers.put(type, createReader(objectMapper, type));
+
+        }
+
+        for (Class<?> type : WRITABLE_TYPES) {
+
+            writers.put(type, createWriter(objectMapper, type));
+
+        }
+
+    }
+
+    /**
+     * 指定した型の{@link ObjectReader}を返却する．
+     * <p>
+     * 未生成の型の場合は、生成して保持する．
+     * </p>
+     *
+     * @param type 読み込む型
+     * @return 指定した型の{@link ObjectReader}
+     */
+    public ObjectReader readerFor(Class<?> type) {
+
+        return readers.computeIfAbsent(type, key -> createReader(objectMapper, key));
+
+    }
+
+    /**
+     * 指定した型の{@link ObjectWriter}を返却する．
+     * <p>
+     * 未生成の型の場合は、生成して保持する．
+     * </p>
+     *
+     * @param type 書き込む型
+     * @return 指定した型の{@link ObjectWriter}
+     */
+    public ObjectWriter writerFor(Class<?> type) {
+
+        return writers.computeIfAbsent(type, key -> createWriter(objectMapper, key));
+
+    }
+
+    /**
+     * 指定した型の{@link ObjectReader}を生成する．
+     * <p>
+     * コンストラクタからも呼び出すため、オーバーライド可能なメソッドを経由しない静的メソッドとする．
+     * </p>
+     *
+     * @param objectMapper Jsonオブジェクトマッパー
+     * @param type 読み込む型
+     * @return 指定した型の{@link ObjectReader}
+     */
+    private static ObjectReader createReader(ObjectMapper objectMapper, Class<?> type) {
+
+        return objectMapper.reader()
+                .with(DeserializationFeature.EAGER_DESERIALIZER_FETCH)
+                .forType(type);
+
+    }
+
+    /**
+     * 指定した型の{@link ObjectWriter}を生成する．
+     *
+     * @param objectMapper Jsonオブジェクトマッパー
+     * @param type 書き込む型
+     * @return 指定した型の{@link ObjectWriter}
+     */
+    private static ObjectWriter createWriter(ObjectMapper objectMapper, Class<?> type) {
+
+        return objectMapper.writer()
+                .with(SerializationFeature.EAGER_SERIALIZER_FETCH)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .forType(type);
+
+    }
+
+}
@@ -14,10 +14,12 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 public class PrivateAttributeDeserializer extends JsonDeserializer<Map<String, String>> {
     
-    private final ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final ObjectReader FACILITY_ATTRIBUTE_READER = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(new TypeReference<Map<String, String>>() {});
     
     @Override
     public Map<String, String> deserialize(JsonParser jp,
@@ -31,9 +33,8 @@ public class PrivateAttributeDeserializer extends JsonDeserializer<Map<String, S
             
         }
         
-        final String facilityAttribute = jnode.toPrettyString();
-        
-        return objectMapper.readValue(facilityAttribute, new TypeReference<Map<String, String>>() {});
+        // 文字列への変換を介さず、読み込んだツリーから直接変換する
+        return FACILITY_ATTRIBUTE_READER.readValue(jnode);
         
     }
     
@@ -0,0 +1,55 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.mapper;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.spatialid.app.common.spatialid.SpatialIdCodec;
+import com.spatialid.app.common.spatialid.SpatialIdList;
+
+/**
+ * {@link SpatialIdList}のシリアライズを実装するクラス．
+ * <p>
+ * パックされた空間IDを、使い回しの文字配列へ展開して直接書き込む．<br>
+ * 要素ごとに文字列を生成しないため、リクエストボディの作成時に中間オブジェクトが発生しない．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public class SpatialIdListSerializer extends JsonSerializer<SpatialIdList> {
+
+    /**
+     * 空間IDのリストを文字列の配列として出力する．
+     *
+     * @param sidList 空間IDのリスト
+     * @param gen {@link JsonGenerator}
+     * @param serializers {@link SerializerProvider}
+     */
+    @Override
+    public void serialize(SpatialIdList sidList,
+            JsonGenerator gen,
+            SerializerProvider serializers) throws IOException {
+
+        final char[] chars = new char[SpatialIdCodec.MAX_LENGTH];
+
+        final int size = sidList.size();
+
+        gen.writeStartArray(sidList, size);
+
+        for (int i = 0; i < size; i++) {
+
+            final int length = SpatialIdCodec.write(sidList.tileAt(i), 0, chars);
+
+            gen.writeString(chars, 0, length);
+
+        }
+
+        gen.writeEndArray();
+
+    }
+
+}
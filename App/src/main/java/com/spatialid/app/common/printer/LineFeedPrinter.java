@@ -5,13 +5,14 @@ package com.spatialid.app.common.printer;
 import java.io.IOException;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 
 /**
  * ObjectMapperでJSON出力時に使用される{@link DefaultPrettyPrinter}の拡張クラス．
  * 
  * @author matsumoto kentaro
- * @version 1.1 2024/11/13
+ * @version 1.2 2026/10/18
  */
 public class LineFeedPrinter extends DefaultPrettyPrinter {
 
@@ -37,9 +38,37 @@ public class LineFeedPrinter extends DefaultPrettyPrinter {
         
     /**
      * インデントに関する設定を行う内部クラス．
+     * <p>
+     * 改行とインデントを連結したバイト列をネスト数ごとに事前に生成し、1回の書き込みで出力する．
+     * </p>
      */
     public static class LineFeedIndenter implements Indenter {
         
+        /**
+         * 1ネストあたりのインデント．
+         */
+        private static final String INDENT = "  ";
+        
+        /**
+         * 事前に生成するネスト数．
+         */
+        private static final int CACHED_LEVELS = 16;
+        
+        /**
+         * ネスト数ごとの改行コードとインデント．
+         */
+        private static final SerializedString[] LINE_FEEDS = new SerializedString[CACHED_LEVELS];
+        
+        static {
+            
+            for (int level = 0; level < CACHED_LEVELS; level++) {
+                
+                LINE_FEEDS[level] = new SerializedString("\n" + INDENT.repeat(level));
+                
+            }
+            
+        }
+        
         /**
          * インデントと改行コードを指定する．
          * 
@@ -50,11 +79,20 @@ public class LineFeedPrinter extends DefaultPrettyPrinter {
         public void writeIndentation(JsonGenerator gen,
                 int level) throws IOException {
             
-            gen.writeRaw("\n");
+            if (level < CACHED_LEVELS) {
+                
+                gen.writeRaw(LINE_FEEDS[level]);
+                
+                return;
+                
+            }
+            
+            // 事前に生成していないネスト数の場合は、不足分のインデントを追加で出力する
+            gen.writeRaw(LINE_FEEDS[CACHED_LEVELS - 1]);
             
-            for (int i = 0; i < level; i++) {
+            for (int i = CACHED_LEVELS - 1; i < level; i++) {
                 
-                gen.writeRaw("  ");
+                gen.writeRaw(INDENT);
                 
             }
             
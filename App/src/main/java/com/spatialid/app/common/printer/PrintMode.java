@@ -0,0 +1,23 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.printer;
+
+/**
+ * batch.propertiesで選択可能なJSON出力時の整形方法を定義する列挙型．
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public enum PrintMode {
+
+    /**
+     * {@link LineFeedPrinter}で改行・インデントを行う．
+     */
+    PRETTY,
+
+    /**
+     * 改行・インデントを行わない．
+     */
+    COMPACT
+
+}
@@ -5,13 +5,18 @@ package com.spatialid.app.common.properties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import com.spatialid.app.common.export.ExportCodecType;
+import com.spatialid.app.common.export.ExportFormat;
+import com.spatialid.app.common.export.ExportLayout;
+import com.spatialid.app.common.printer.PrintMode;
+
 import lombok.Data;
 
 /**
  * batch.propertiesの値を保持するクラス．
  * 
  * @author matsumoto kentaro
- * @version 1.1 2024/09/24
+ * @version 1.6 2026/10/18
  */
 @Component
 @ConfigurationProperties(prefix = "batch")
@@ -23,4 +28,129 @@ public class BatchProperty {
      */
     private String exportPath;
     
+    /**
+     * 平面化した空間IDについて、子タイルが揃っている場合に親タイルへ集約するか．
+     */
+    private boolean coalesceEnabled;
+    
+    /**
+     * 空間IDを集約する際の、ズームレベルの下限．
+     */
+    private int coalesceMinZoom;
+    
+    /**
+     * 空間IDの解析・平面化を並列に行うか．
+     */
+    private boolean flattenParallelEnabled;
+    
+    /**
+     * 空間IDの解析・平面化を並列に行う件数の閾値．
+     */
+    private int flattenParallelThreshold;
+    
+    /**
+     * 平面化した空間IDのズームレベルを単一のズームレベルへ揃えるか．
+     */
+    private boolean normalizeEnabled;
+    
+    /**
+     * ズームレベルを揃えた後のタイル数の上限．
+     */
+    private long normalizeMaxTiles;
+    
+    /**
+     * 空間・属性情報を、要求されたボクセルと重なる空間IDのみに絞り込むか．
+     */
+    private boolean voxelFilterEnabled;
+    
+    /**
+     * 文字列のプールに保持する文字列の上限数．
+     */
+    private int stringPoolSize;
+    
+    /**
+     * 空間・属性情報参照APIの1回あたりに送信する空間IDの件数(0以下の場合は分割しない)．
+     */
+    private int sidAttributeChunkSize;
+    
+    /**
+     * 空間・属性情報参照APIを同時に呼び出す数の上限．
+     */
+    private int sidAttributeConcurrency;
+    
+    /**
+     * 出力ファイルの圧縮を行うスレッド数(1以下の場合は並列に圧縮しない)．
+     */
+    private int compressThreads;
+    
+    /**
+     * 出力ファイルを並列に圧縮する際の、1ブロックあたりのサイズ(バイト)．
+     */
+    private int compressBlockSize;
+    
+    /**
+     * 出力ファイルの圧縮形式(zip, stored, zstd)．
+     */
+    private ExportCodecType exportCodec;
+    
+    /**
+     * ZIP形式の圧縮レベル(0～9、-1の場合は既定値)．
+     */
+    private int zipLevel;
+    
+    /**
+     * Zstandard形式の圧縮レベル．
+     */
+    private int zstdLevel;
+    
+    /**
+     * 出力ファイルの形式(json, ndjson)．
+     */
+    private ExportFormat exportFormat;
+    
+    /**
+     * JSON出力時の整形方法(pretty, compact)．
+     */
+    private PrintMode exportPrintMode;
+    
+    /**
+     * 圧縮ファイル内のエントリの構成(single, company, shard)．
+     */
+    private ExportLayout exportLayout;
+    
+    /**
+     * 設備の件数ごとにエントリを分ける場合の、1エントリあたりの設備の件数．
+     */
+    private int exportShardSize;
+    
+    /**
+     * 出力ファイルをメモリ上に保持するサイズの上限(バイト、0以下の場合は常にファイルへ書き出す)．
+     */
+    private long exportMemoryThreshold;
+    
+    /**
+     * 同一の要求内容・出力内容の場合に、格納済みの出力ファイルを再利用するか．
+     */
+    private boolean uploadCacheEnabled;
+    
+    /**
+     * 格納済みの出力ファイルの記録を保持するディレクトリ．
+     */
+    private String uploadCachePath;
+    
+    /**
+     * 出力ファイルを書き込みと並行してS3格納APIへ送信するか．
+     */
+    private boolean streamingUploadEnabled;
+    
+    /**
+     * 並行して送信する際の、書き込みから送信へ受け渡す1チャンクあたりのサイズ(バイト)．
+     */
+    private int streamingUploadChunkSize;
+    
+    /**
+     * 並行して送信する際に、送信待ちとして保持するチャンク数の上限．
+     */
+    private int streamingUploadBufferChunks;
+    
 }
@@ -0,0 +1,107 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * 鉛直方向の情報を含む空間IDを、パックした状態のまま{@link java.util.List}として扱うクラス．
+ * <p>
+ * レスポンスの読み込み時に検証・解析した結果を保持し、平面化の処理へそのまま受け渡す．<br>
+ * 要素は参照された時点で文字列に変換する．<br>
+ * 保持元の{@link com.spatialid.app.dto.outputtasks.TaskRequestDto}が{@link Serializable}を実装しているため、本リストも直列化可能とする．<br>
+ * 直列化時は文字列の{@link ArrayList}に置き換えるため、バッファ・検証結果は直列化しない．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.2 2026/10/18
+ */
+public class ExtrudedSpatialIdList extends AbstractList<String> implements RandomAccess, Serializable {
+
+    /**
+     * シリアルバージョン
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * パックされた空間IDを保持するバッファ．
+     */
+    private final transient SpatialIdBuffer buffer;
+
+    /**
+     * 読み込み時の検証結果．
+     */
+    private final transient SpatialIdValidationReport report;
+
+    public ExtrudedSpatialIdList(SpatialIdBuffer buffer, SpatialIdValidationReport report) {
+
+        this.buffer = buffer;
+        this.report = report;
+
+    }
+
+    /**
+     * 指定位置の空間IDを文字列として返却する．
+     *
+     * @param index 位置
+     * @return 空間ID(z/f/x/y)
+     */
+    @Override
+    public String get(int index) {
+
+        Objects.checkIndex(index, buffer.size());
+
+        return SpatialIdCodec.toSid(buffer.tileAt(index), buffer.altitudeAt(index));
+
+    }
+
+    /**
+     * 格納件数を返却する．
+     *
+     * @return 格納件数
+     */
+    @Override
+    public int size() {
+
+        return buffer.size();
+
+    }
+
+    /**
+     * パックされた空間IDを保持するバッファを返却する．
+     *
+     * @return パックされた空間IDを保持するバッファ
+     */
+    public SpatialIdBuffer getBuffer() {
+
+        return buffer;
+
+    }
+
+    /**
+     * 読み込み時の検証結果を返却する．
+     *
+     * @return 検証結果
+     */
+    public SpatialIdValidationReport getReport() {
+
+        return report;
+
+    }
+
+    /**
+     * 直列化時に、文字列の{@link ArrayList}へ置き換える．
+     *
+     * @return 空間ID(z/f/x/y)の{@link ArrayList}
+     */
+    private Object writeReplace() {
+
+        return new ArrayList<String>(this);
+
+    }
+
+}
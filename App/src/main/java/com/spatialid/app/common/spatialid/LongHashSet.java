@@ -0,0 +1,231 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.Arrays;
+
+/**
+ * パックされた空間IDを格納する、オープンアドレス法によるプリミティブのハッシュ集合．
+ * <p>
+ * ボクシングを行わずに重複判定を行うためのクラス．<br>
+ * 空きスロットの識別に負の値を使用するため、0以上の値のみ格納できる．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public class LongHashSet {
+
+    /**
+     * 空きスロットを示す値．
+     */
+    private static final long EMPTY = -1L;
+
+    /**
+     * 拡張を行う負荷率(分母)．
+     */
+    private static final int LOAD_FACTOR_DENOMINATOR = 4;
+
+    /**
+     * 拡張を行う負荷率(分子)．
+     */
+    private static final int LOAD_FACTOR_NUMERATOR = 3;
+
+    /**
+     * ハッシュ値の拡散に用いる定数．
+     */
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    /**
+     * スロット．
+     */
+    private long[] slots;
+
+    /**
+     * 格納件数．
+     */
+    private int size;
+
+    /**
+     * 拡張を行う件数．
+     */
+    private int threshold;
+
+    public LongHashSet(int expectedSize) {
+
+        allocate(capacityFor(expectedSize));
+
+    }
+
+    /**
+     * 値を追加する．
+     *
+     * @param value 追加する値(0以上)
+     * @return 新たに追加された場合はtrue、既に存在した場合はfalse
+     */
+    public boolean add(long value) {
+
+        if (value < 0) {
+
+            throw new IllegalArgumentException("負の値は格納できません。[" + value + "]");
+
+        }
+
+        final int mask = slots.length - 1;
+
+        int index = indexOf(value, mask);
+
+        while (slots[index] != EMPTY) {
+
+            if (slots[index] == value) {
+
+                return false;
+
+            }
+
+            index = (index + 1) & mask;
+
+        }
+
+        slots[index] = value;
+        size++;
+
+        if (threshold <= size) {
+
+            rehash();
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * 値が格納されているかを判定する．
+     *
+     * @param value 判定する値
+     * @return 格納されている場合はtrue
+     */
+    public boolean contains(long value) {
+
+        if (value < 0) {
+
+            return false;
+
+        }
+
+        final int mask = slots.length - 1;
+
+        int index = indexOf(value, mask);
+
+        while (slots[index] != EMPTY) {
+
+            if (slots[index] == value) {
+
+                return true;
+
+            }
+
+            index = (index + 1) & mask;
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * 格納件数を返却する．
+     *
+     * @return 格納件数
+     */
+    public int size() {
+
+        return size;
+
+    }
+
+    /**
+     * 想定件数から、負荷率を満たすスロット数(2の冪)を求める．
+     *
+     * @param expectedSize 想定件数
+     * @return スロット数
+     */
+    private static int capacityFor(int expectedSize) {
+
+        final long required = (long) Math.max(expectedSize, 1) * LOAD_FACTOR_DENOMINATOR / LOAD_FACTOR_NUMERATOR + 1;
+
+        int capacity = 2;
+
+        while (capacity < required) {
+
+            capacity <<= 1;
+
+        }
+
+        return capacity;
+
+    }
+
+    /**
+     * スロットを確保する．
+     *
+     * @param capacity スロット数
+     */
+    private void allocate(int capacity) {
+
+        slots = new long[capacity];
+
+        Arrays.fill(slots, EMPTY);
+
+        threshold = (int) ((long) capacity * LOAD_FACTOR_NUMERATOR / LOAD_FACTOR_DENOMINATOR);
+
+    }
+
+    /**
+     * スロット数を倍にして、格納済みの値を再配置する．
+     */
+    private void rehash() {
+
+        final long[] previous = slots;
+
+        allocate(previous.length * 2);
+
+        final int mask = slots.length - 1;
+
+        for (long value : previous) {
+
+            if (value != EMPTY) {
+
+                int index = indexOf(value, mask);
+
+                while (slots[index] != EMPTY) {
+
+                    index = (index + 1) & mask;
+
+                }
+
+                slots[index] = value;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 値に対応する初期スロット位置を求める．
+     *
+     * @param value 値
+     * @param mask スロット数-1
+     * @return スロット位置
+     */
+    private static int indexOf(long value, int mask) {
+
+        final long hash = value * MIX;
+
+        return (int) (hash ^ (hash >>> 32)) & mask;
+
+    }
+
+}
@@ -0,0 +1,239 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 空間IDの解析・平面化を{@link ForkJoinPool}上で並列に行うクラス．
+ * <p>
+ * 入力を区間に分割して各区間を並列に処理し、結合する．<br>
+ * 解析は区間の順序どおりに結合し、平面化は集合として結合するため、結果は逐次処理と同一になる．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public final class ParallelSpatialIdFlattener {
+
+    /**
+     * 1区間あたりの最小件数．
+     */
+    private static final int MIN_SEGMENT_SIZE = 1024;
+
+    /**
+     * 並列度に対する区間数の倍率．
+     */
+    private static final int SEGMENTS_PER_WORKER = 4;
+
+    private ParallelSpatialIdFlattener() {
+
+    }
+
+    /**
+     * 空間IDのリストを並列に検証・解析する．
+     * <p>
+     * 違反となった空間IDはバッファに追加せず、検証結果に記録する．
+     * </p>
+     *
+     * @param sids 空間IDのリスト
+     * @param pool 使用する{@link ForkJoinPool}
+     * @param report 違反の記録先
+     * @return パックされた空間IDを保持するバッファ
+     */
+    public static SpatialIdBuffer encode(List<String> sids, ForkJoinPool pool, SpatialIdValidationReport report) {
+
+        final int segmentSize = segmentSize(sids.size(), pool);
+
+        return pool.invoke(new EncodeTask(sids, 0, sids.size(), segmentSize, report));
+
+    }
+
+    /**
+     * パックされた空間IDを並列に平面化する．
+     * <p>
+     * 各区間の空間IDをビットマップへ格納した後、ビットマップの和集合として全体の重複を除く．
+     * </p>
+     *
+     * @param buffer パックされた空間IDを保持するバッファ
+     * @param pool 使用する{@link ForkJoinPool}
+     * @return 重複を除いた平面化済みの空間IDのリスト
+     */
+    public static SpatialIdList flatten(SpatialIdBuffer buffer, ForkJoinPool pool) {
+
+        final int segmentSize = segmentSize(buffer.size(), pool);
+
+        return pool.invoke(new FlattenTask(buffer, 0, buffer.size(), segmentSize)).toSpatialIdList();
+
+    }
+
+    /**
+     * 件数と並列度から、1区間あたりの件数を求める．
+     *
+     * @param size 件数
+     * @param pool 使用する{@link ForkJoinPool}
+     * @return 1区間あたりの件数
+     */
+    private static int segmentSize(int size, ForkJoinPool pool) {
+
+        final int segments = pool.getParallelism() * SEGMENTS_PER_WORKER;
+
+        return Math.max(MIN_SEGMENT_SIZE, (size + segments - 1) / segments);
+
+    }
+
+    /**
+     * 空間IDの解析を行うタスク．
+     */
+    private static final class EncodeTask extends RecursiveTask<SpatialIdBuffer> {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 空間IDのリスト．
+         */
+        private final transient List<String> sids;
+
+        /**
+         * 開始位置(含む)．
+         */
+        private final int from;
+
+        /**
+         * 終了位置(含まない)．
+         */
+        private final int to;
+
+        /**
+         * 1区間あたりの件数．
+         */
+        private final int segmentSize;
+
+        /**
+         * 違反の記録先．
+         */
+        private final transient SpatialIdValidationReport report;
+
+        EncodeTask(List<String> sids, int from, int to, int segmentSize, SpatialIdValidationReport report) {
+
+            this.sids = sids;
+            this.from = from;
+            this.to = to;
+            this.segmentSize = segmentSize;
+            this.report = report;
+
+        }
+
+        /**
+         * 区間が十分小さい場合は検証・解析を行い、そうでない場合は二分割して並列に処理する．
+         *
+         * @return 区間の解析結果
+         */
+        @Override
+        protected SpatialIdBuffer compute() {
+
+            if (to - from <= segmentSize) {
+
+                final SpatialIdBuffer buffer = new SpatialIdBuffer(to - from);
+
+                for (int i = from; i < to; i++) {
+
+                    final String sid = sids.get(i);
+
+                    final SpatialIdViolation violation = SpatialIdCodec.tryParseInto(sid, buffer);
+
+                    if (violation != null) {
+
+                        report.record(i, sid, violation);
+
+                    }
+
+                }
+
+                return buffer;
+
+            }
+
+            final int middle = (from + to) >>> 1;
+
+            final EncodeTask right = new EncodeTask(sids, middle, to, segmentSize, report);
+
+            right.fork();
+
+            final SpatialIdBuffer left = new EncodeTask(sids, from, middle, segmentSize, report).compute();
+
+            left.addAll(right.join());
+
+            return left;
+
+        }
+
+    }
+
+    /**
+     * 区間ごとに平面化と重複除去を行うタスク．
+     */
+    private static final class FlattenTask extends RecursiveTask<SpatialIdBitmap> {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * パックされた空間IDを保持するバッファ．
+         */
+        private final transient SpatialIdBuffer buffer;
+
+        /**
+         * 開始位置(含む)．
+         */
+        private final int from;
+
+        /**
+         * 終了位置(含まない)．
+         */
+        private final int to;
+
+        /**
+         * 1区間あたりの件数．
+         */
+        private final int segmentSize;
+
+        FlattenTask(SpatialIdBuffer buffer, int from, int to, int segmentSize) {
+
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.segmentSize = segmentSize;
+
+        }
+
+        /**
+         * 区間が十分小さい場合は平面化を行い、そうでない場合は二分割して並列に処理する．
+         *
+         * @return 区間の平面化結果
+         */
+        @Override
+        protected SpatialIdBitmap compute() {
+
+            if (to - from <= segmentSize) {
+
+                return buffer.toBitmap(from, to);
+
+            }
+
+            final int middle = (from + to) >>> 1;
+
+            final FlattenTask right = new FlattenTask(buffer, middle, to, segmentSize);
+
+            right.fork();
+
+            final SpatialIdBitmap left = new FlattenTask(buffer, from, middle, segmentSize).compute();
+
+            return left.union(right.join());
+
+        }
+
+    }
+
+}
@@ -0,0 +1,870 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 平面化済みの空間IDの集合を、圧縮ビットマップとして保持するクラス．
+ * <p>
+ * ズームレベルとモートン番号を連結した値をキーとし、上位ビットごとにコンテナへ振り分ける(Roaring Bitmap方式)．<br>
+ * 疎なコンテナは下位16bitのソート済み配列、密なコンテナは65536bitのビットマップで保持するため、
+ * 広範囲に連続したタイルは1タイルあたり約1bitで保持できる．<br>
+ * 要素の並びは、ズームレベル順 かつ 同一ズームレベル内ではモートン順となる．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+public final class SpatialIdBitmap {
+
+    /**
+     * キーにおける、ズームレベルのシフト量．
+     */
+    private static final int ZOOM_SHIFT = SpatialIdCodec.MAX_ZOOM * 2;
+
+    /**
+     * キーからモートン番号を取り出すマスク．
+     */
+    private static final long MORTON_MASK = (1L << ZOOM_SHIFT) - 1;
+
+    /**
+     * コンテナ内の値のビット幅．
+     */
+    private static final int LOW_BITS = 16;
+
+    /**
+     * コンテナ内の値を取り出すマスク．
+     */
+    private static final int LOW_MASK = (1 << LOW_BITS) - 1;
+
+    /**
+     * 初期容量の既定値．
+     */
+    private static final int DEFAULT_CAPACITY = 4;
+
+    /**
+     * コンテナのキー(昇順)．
+     */
+    private long[] keys;
+
+    /**
+     * コンテナ．
+     */
+    private Container[] containers;
+
+    /**
+     * コンテナの件数．
+     */
+    private int size;
+
+    public SpatialIdBitmap() {
+
+        this.keys = new long[DEFAULT_CAPACITY];
+        this.containers = new Container[DEFAULT_CAPACITY];
+
+    }
+
+    /**
+     * 空間IDのリストからビットマップを生成する．
+     *
+     * @param sids 平面化済みの空間IDのリスト
+     * @return ビットマップ
+     */
+    public static SpatialIdBitmap of(SpatialIdList sids) {
+
+        final SpatialIdBitmap bitmap = new SpatialIdBitmap();
+
+        for (int i = 0; i < sids.size(); i++) {
+
+            bitmap.add(sids.tileAt(i));
+
+        }
+
+        return bitmap;
+
+    }
+
+    /**
+     * 空間IDを追加する．
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @return 追加された場合はtrue(既に存在する場合はfalse)
+     */
+    public boolean add(long tile) {
+
+        final long key = keyOf(tile);
+
+        final long high = key >>> LOW_BITS;
+
+        // モートン順に追加される場合は末尾のコンテナが対象となるため、先に確認する
+        int index = 0 < size && keys[size - 1] == high ? size - 1 : indexOf(high);
+
+        if (index < 0) {
+
+            index = -index - 1;
+
+            insert(index, high, new Container());
+
+        }
+
+        return containers[index].add((char) (key & LOW_MASK));
+
+    }
+
+    /**
+     * 空間IDが含まれるかを判定する．
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @return 含まれる場合はtrue
+     */
+    public boolean contains(long tile) {
+
+        final long key = keyOf(tile);
+
+        final int index = indexOf(key >>> LOW_BITS);
+
+        return 0 <= index && containers[index].contains((char) (key & LOW_MASK));
+
+    }
+
+    /**
+     * 格納件数を返却する．
+     *
+     * @return 格納件数
+     */
+    public long cardinality() {
+
+        long cardinality = 0;
+
+        for (int i = 0; i < size; i++) {
+
+            cardinality += containers[i].cardinality;
+
+        }
+
+        return cardinality;
+
+    }
+
+    /**
+     * 和集合を求める．
+     *
+     * @param other 対象のビットマップ
+     * @return 和集合
+     */
+    public SpatialIdBitmap union(SpatialIdBitmap other) {
+
+        final SpatialIdBitmap result = new SpatialIdBitmap();
+
+        int i = 0;
+
+        int j = 0;
+
+        while (i < size || j < other.size) {
+
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+
+                result.append(keys[i], containers[i].copy());
+                i++;
+
+            } else if (i == size || other.keys[j] < keys[i]) {
+
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+
+            } else {
+
+                result.append(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+
+            }
+
+        }
+
+        return result;
+
+    }
+
+    /**
+     * 積集合を求める．
+     *
+     * @param other 対象のビットマップ
+     * @return 積集合
+     */
+    public SpatialIdBitmap intersect(SpatialIdBitmap other) {
+
+        final SpatialIdBitmap result = new SpatialIdBitmap();
+
+        int i = 0;
+
+        int j = 0;
+
+        while (i < size && j < other.size) {
+
+            if (keys[i] < other.keys[j]) {
+
+                i++;
+
+            } else if (other.keys[j] < keys[i]) {
+
+                j++;
+
+            } else {
+
+                result.append(keys[i], containers[i].and(other.containers[j]));
+                i++;
+                j++;
+
+            }
+
+        }
+
+        return result;
+
+    }
+
+    /**
+     * 差集合を求める．
+     *
+     * @param other 取り除くビットマップ
+     * @return 差集合
+     */
+    public SpatialIdBitmap difference(SpatialIdBitmap other) {
+
+        final SpatialIdBitmap result = new SpatialIdBitmap();
+
+        int j = 0;
+
+        for (int i = 0; i < size; i++) {
+
+            while (j < other.size && other.keys[j] < keys[i]) {
+
+                j++;
+
+            }
+
+            if (j < other.size && other.keys[j] == keys[i]) {
+
+                result.append(keys[i], containers[i].andNot(other.containers[j]));
+
+            } else {
+
+                result.append(keys[i], containers[i].copy());
+
+            }
+
+        }
+
+        return result;
+
+    }
+
+    /**
+     * 格納されている空間IDを、ズームレベル順・モートン順に並べたリストとして返却する．
+     *
+     * @return 空間IDのリスト
+     */
+    public SpatialIdList toSpatialIdList() {
+
+        final long[] tiles = new long[Math.toIntExact(cardinality())];
+
+        int count = 0;
+
+        for (int i = 0; i < size; i++) {
+
+            count += containers[i].writeTiles(keys[i], 0, tiles, count);
+
+        }
+
+        return new SpatialIdList(tiles, count);
+
+    }
+
+    /**
+     * 格納されている空間IDを、件数が上限以下となるようにモートン順に分割する．
+     *
+     * @param maxTiles 1分割あたりの件数の上限
+     * @return 分割された空間IDのリスト
+     */
+    public List<SpatialIdList> split(int maxTiles) {
+
+        final int limit = Math.max(maxTiles, 1);
+
+        final List<SpatialIdList> chunks = new ArrayList<SpatialIdList>();
+
+        long remaining = cardinality();
+
+        long[] chunk = null;
+
+        int count = 0;
+
+        // 全件の配列を経由せず、コンテナから各分割の配列へ直接書き込む
+        for (int i = 0; i < size; i++) {
+
+            int written = 0;
+
+            while (written < containers[i].cardinality) {
+
+                if (chunk == null) {
+
+                    chunk = new long[(int) Math.min(limit, remaining)];
+
+                }
+
+                final int length = containers[i].writeTiles(keys[i], written, chunk, count);
+
+                written += length;
+                count += length;
+                remaining -= length;
+
+                if (count == chunk.length) {
+
+                    chunks.add(new SpatialIdList(chunk, count));
+
+                    chunk = null;
+                    count = 0;
+
+                }
+
+            }
+
+        }
+
+        return chunks;
+
+    }
+
+    /**
+     * 空間IDからキーを求める．
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @return ズームレベルとモートン番号を連結したキー
+     */
+    private static long keyOf(long tile) {
+
+        return ((long) SpatialIdCodec.zoom(tile) << ZOOM_SHIFT) | SpatialIdCodec.morton(tile);
+
+    }
+
+    /**
+     * キーから空間IDを求める．
+     *
+     * @param key ズームレベルとモートン番号を連結したキー
+     * @return パックされた水平方向の空間ID
+     */
+    private static long tileOf(long key) {
+
+        return SpatialIdCodec.fromMorton((int) (key >>> ZOOM_SHIFT), key & MORTON_MASK);
+
+    }
+
+    /**
+     * コンテナの位置を二分探索で求める．
+     *
+     * @param high コンテナのキー
+     * @return 位置(存在しない場合は -(挿入位置) - 1)
+     */
+    private int indexOf(long high) {
+
+        return Arrays.binarySearch(keys, 0, size, high);
+
+    }
+
+    /**
+     * 指定位置にコンテナを挿入する．
+     *
+     * @param index 挿入位置
+     * @param high コンテナのキー
+     * @param container コンテナ
+     */
+    private void insert(int index, long high, Container container) {
+
+        if (size == keys.length) {
+
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+
+        }
+
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+
+        keys[index] = high;
+        containers[index] = container;
+        size++;
+
+    }
+
+    /**
+     * 末尾にコンテナを追加する．空のコンテナは追加しない．
+     *
+     * @param high コンテナのキー
+     * @param container コンテナ
+     */
+    private void append(long high, Container container) {
+
+        if (container.cardinality != 0) {
+
+            insert(size, high, container);
+
+        }
+
+    }
+
+    /**
+     * 上位ビットを共有する値を保持するコンテナ．
+     * <p>
+     * 件数が閾値以下の場合はソート済み配列、閾値を超える場合はビットマップで保持する．
+     * </p>
+     */
+    private static final class Container {
+
+        /**
+         * 配列からビットマップへ切り替える件数．
+         */
+        private static final int ARRAY_MAX_SIZE = 4096;
+
+        /**
+         * ビットマップのワード数．
+         */
+        private static final int BITMAP_WORDS = (1 << LOW_BITS) / Long.SIZE;
+
+        /**
+         * ソート済みの値(配列形式の場合のみ)．
+         */
+        private char[] values;
+
+        /**
+         * ビットマップ(ビットマップ形式の場合のみ)．
+         */
+        private long[] bits;
+
+        /**
+         * 格納件数．
+         */
+        private int cardinality;
+
+        Container() {
+
+            this.values = new char[DEFAULT_CAPACITY];
+
+        }
+
+        private Container(char[] values, long[] bits, int cardinality) {
+
+            this.values = values;
+            this.bits = bits;
+            this.cardinality = cardinality;
+
+        }
+
+        /**
+         * 値を追加する．
+         *
+         * @param value 下位16bitの値
+         * @return 追加された場合はtrue
+         */
+        boolean add(char value) {
+
+            if (bits != null) {
+
+                final long before = bits[value >>> 6];
+
+                bits[value >>> 6] = before | (1L << value);
+
+                if (before == bits[value >>> 6]) {
+
+                    return false;
+
+                }
+
+                cardinality++;
+
+                return true;
+
+            }
+
+            // 昇順に追加される場合は末尾への追加となるため、先に確認する
+            final int index = 0 < cardinality && values[cardinality - 1] < value
+                    ? -cardinality - 1
+                    : Arrays.binarySearch(values, 0, cardinality, value);
+
+            if (0 <= index) {
+
+                return false;
+
+            }
+
+            if (cardinality == ARRAY_MAX_SIZE) {
+
+                bits = toBits();
+                values = null;
+
+                return add(value);
+
+            }
+
+            if (cardinality == values.length) {
+
+                values = Arrays.copyOf(values, Math.min(Math.max(cardinality * 2, DEFAULT_CAPACITY), ARRAY_MAX_SIZE));
+
+            }
+
+            final int insertion = -index - 1;
+
+            System.arraycopy(values, insertion, values, insertion + 1, cardinality - insertion);
+
+            values[insertion] = value;
+            cardinality++;
+
+            return true;
+
+        }
+
+        /**
+         * 値が含まれるかを判定する．
+         *
+         * @param value 下位16bitの値
+         * @return 含まれる場合はtrue
+         */
+        boolean contains(char value) {
+
+            if (bits != null) {
+
+                return (bits[value >>> 6] & (1L << value)) != 0;
+
+            }
+
+            return 0 <= Arrays.binarySearch(values, 0, cardinality, value);
+
+        }
+
+        /**
+         * 複製を返却する．
+         *
+         * @return 複製したコンテナ
+         */
+        Container copy() {
+
+            return bits != null
+                    ? new Container(null, bits.clone(), cardinality)
+                    : new Container(Arrays.copyOf(values, cardinality), null, cardinality);
+
+        }
+
+        /**
+         * 和集合を求める．
+         *
+         * @param other 対象のコンテナ
+         * @return 和集合
+         */
+        Container or(Container other) {
+
+            if (bits == null && other.bits == null) {
+
+                final char[] merged = new char[cardinality + other.cardinality];
+
+                int count = 0;
+
+                int i = 0;
+
+                int j = 0;
+
+                while (i < cardinality || j < other.cardinality) {
+
+                    if (j == other.cardinality || (i < cardinality && values[i] < other.values[j])) {
+
+                        merged[count++] = values[i++];
+
+                    } else if (i == cardinality || other.values[j] < values[i]) {
+
+                        merged[count++] = other.values[j++];
+
+                    } else {
+
+                        merged[count++] = values[i++];
+                        j++;
+
+                    }
+
+                }
+
+                return ofValues(merged, count);
+
+            }
+
+            final long[] result = toBits();
+
+            final long[] otherBits = other.toBits();
+
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+
+                result[i] |= otherBits[i];
+
+            }
+
+            return ofBits(result);
+
+        }
+
+        /**
+         * 積集合を求める．
+         *
+         * @param other 対象のコンテナ
+         * @return 積集合
+         */
+        Container and(Container other) {
+
+            if (bits == null || other.bits == null) {
+
+                // 配列形式の側を走査し、相手に含まれる値のみを残す
+                final Container small = bits == null ? this : other;
+
+                final Container large = bits == null ? other : this;
+
+                final char[] result = new char[small.cardinality];
+
+                int count = 0;
+
+                for (int i = 0; i < small.cardinality; i++) {
+
+                    if (large.contains(small.values[i])) {
+
+                        result[count++] = small.values[i];
+
+                    }
+
+                }
+
+                return new Container(result, null, count);
+
+            }
+
+            final long[] result = new long[BITMAP_WORDS];
+
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+
+                result[i] = bits[i] & other.bits[i];
+
+            }
+
+            return ofBits(result);
+
+        }
+
+        /**
+         * 差集合を求める．
+         *
+         * @param other 取り除くコンテナ
+         * @return 差集合
+         */
+        Container andNot(Container other) {
+
+            if (bits == null) {
+
+                final char[] result = new char[cardinality];
+
+                int count = 0;
+
+                for (int i = 0; i < cardinality; i++) {
+
+                    if (!other.contains(values[i])) {
+
+                        result[count++] = values[i];
+
+                    }
+
+                }
+
+                return new Container(result, null, count);
+
+            }
+
+            final long[] result = bits.clone();
+
+            final long[] otherBits = other.toBits();
+
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+
+                result[i] &= ~otherBits[i];
+
+            }
+
+            return ofBits(result);
+
+        }
+
+        /**
+         * 格納されている値を空間IDとして配列に書き込む．
+         * <p>
+         * 先頭から指定件数を読み飛ばし、書き込み先の配列が埋まるか、コンテナの末尾に達するまで書き込む．
+         * </p>
+         *
+         * @param high コンテナのキー
+         * @param skip 読み飛ばす件数
+         * @param dest 書き込み先の配列
+         * @param offset 書き込み開始位置
+         * @return 書き込んだ件数
+         */
+        int writeTiles(long high, int skip, long[] dest, int offset) {
+
+            final long base = high << LOW_BITS;
+
+            final int length = Math.min(cardinality - skip, dest.length - offset);
+
+            if (bits == null) {
+
+                for (int i = 0; i < length; i++) {
+
+                    dest[offset + i] = tileOf(base | values[skip + i]);
+
+                }
+
+                return length;
+
+            }
+
+            int skipping = skip;
+
+            int written = 0;
+
+            for (int i = 0; i < BITMAP_WORDS && written < length; i++) {
+
+                long word = bits[i];
+
+                final int bitCount = Long.bitCount(word);
+
+                // 読み飛ばす範囲のワードは、件数のみを数えて進める
+                if (bitCount <= skipping) {
+
+                    skipping -= bitCount;
+
+                    continue;
+
+                }
+
+                while (word != 0 && written < length) {
+
+                    if (0 < skipping) {
+
+                        skipping--;
+
+                    } else {
+
+                        dest[offset + written++] = tileOf(base | ((long) i << 6) | Long.numberOfTrailingZeros(word));
+
+                    }
+
+                    word &= word - 1;
+
+                }
+
+            }
+
+            return written;
+
+        }
+
+        /**
+         * ビットマップ形式へ変換した配列を返却する．
+         *
+         * @return ビットマップ(ビットマップ形式の場合は複製)
+         */
+        private long[] toBits() {
+
+            if (bits != null) {
+
+                return bits.clone();
+
+            }
+
+            final long[] result = new long[BITMAP_WORDS];
+
+            for (int i = 0; i < cardinality; i++) {
+
+                result[values[i] >>> 6] |= 1L << values[i];
+
+            }
+
+            return result;
+
+        }
+
+        /**
+         * ソート済み配列からコンテナを生成する．件数に応じて形式を選択する．
+         *
+         * @param values ソート済みの値
+         * @param count 件数
+         * @return コンテナ
+         */
+        private static Container ofValues(char[] values, int count) {
+
+            if (count <= ARRAY_MAX_SIZE) {
+
+                return new Container(values, null, count);
+
+            }
+
+            final long[] result = new long[BITMAP_WORDS];
+
+            for (int i = 0; i < count; i++) {
+
+                result[values[i] >>> 6] |= 1L << values[i];
+
+            }
+
+            return new Container(null, result, count);
+
+        }
+
+        /**
+         * ビットマップからコンテナを生成する．件数に応じて形式を選択する．
+         *
+         * @param bits ビットマップ
+         * @return コンテナ
+         */
+        private static Container ofBits(long[] bits) {
+
+            int count = 0;
+
+            for (long word : bits) {
+
+                count += Long.bitCount(word);
+
+            }
+
+            if (ARRAY_MAX_SIZE < count) {
+
+                return new Container(null, bits, count);
+
+            }
+
+            final char[] values = new char[count];
+
+            int position = 0;
+
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+
+                long word = bits[i];
+
+                while (word != 0) {
+
+                    values[position++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+
+                    word &= word - 1;
+
+                }
+
+            }
+
+            return new Container(values, null, count);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,182 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.Arrays;
+
+/**
+ * パック済みの空間IDを保持する可変長のバッファ．
+ * <p>
+ * 水平方向の情報と鉛直方向のインデックスを、それぞれプリミティブ配列で保持する．<br>
+ * 平面化は鉛直方向の列を捨てるだけで済むため、文字列の再構築は行わない．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+public class SpatialIdBuffer {
+
+    /**
+     * 初期容量の既定値．
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * パックされた水平方向の空間ID．
+     */
+    private long[] tiles;
+
+    /**
+     * 鉛直方向のインデックス．
+     */
+    private int[] altitudes;
+
+    /**
+     * 格納件数．
+     */
+    private int size;
+
+    public SpatialIdBuffer() {
+
+        this(DEFAULT_CAPACITY);
+
+    }
+
+    public SpatialIdBuffer(int initialCapacity) {
+
+        final int capacity = Math.max(initialCapacity, 1);
+
+        this.tiles = new long[capacity];
+        this.altitudes = new int[capacity];
+
+    }
+
+    /**
+     * 空間IDを追加する．
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @param altitude 鉛直方向のインデックス
+     */
+    public void add(long tile, int altitude) {
+
+        if (size == tiles.length) {
+
+            final int capacity = tiles.length * 2;
+
+            tiles = Arrays.copyOf(tiles, capacity);
+            altitudes = Arrays.copyOf(altitudes, capacity);
+
+        }
+
+        tiles[size] = tile;
+        altitudes[size] = altitude;
+        size++;
+
+    }
+
+    /**
+     * 格納済みの空間IDを全て破棄する．確保済みの容量は維持する．
+     */
+    public void clear() {
+
+        size = 0;
+
+    }
+
+    /**
+     * 格納件数を返却する．
+     *
+     * @return 格納件数
+     */
+    public int size() {
+
+        return size;
+
+    }
+
+    /**
+     * 指定位置の水平方向の空間IDを返却する．
+     *
+     * @param index 位置
+     * @return パックされた水平方向の空間ID
+     */
+    public long tileAt(int index) {
+
+        return tiles[index];
+
+    }
+
+    /**
+     * 指定位置の鉛直方向のインデックスを返却する．
+     *
+     * @param index 位置
+     * @return 鉛直方向のインデックス
+     */
+    public int altitudeAt(int index) {
+
+        return altitudes[index];
+
+    }
+
+    /**
+     * 別のバッファの内容を末尾に追加する．
+     *
+     * @param other 追加するバッファ
+     */
+    public void addAll(SpatialIdBuffer other) {
+
+        final int required = size + other.size;
+
+        if (tiles.length < required) {
+
+            final int capacity = Math.max(tiles.length * 2, required);
+
+            tiles = Arrays.copyOf(tiles, capacity);
+            altitudes = Arrays.copyOf(altitudes, capacity);
+
+        }
+
+        System.arraycopy(other.tiles, 0, tiles, size, other.size);
+        System.arraycopy(other.altitudes, 0, altitudes, size, other.size);
+
+        size = required;
+
+    }
+
+    /**
+     * 鉛直方向のインデックスを0とした、平面化済みの空間IDのリストを返却する．
+     * <p>
+     * 平面化により同一となった空間IDは除外する．<br>
+     * 出力順は、ズームレベル順 かつ 同一ズームレベル内ではモートン順とする．
+     * </p>
+     *
+     * @return 重複を除いた平面化済みの空間IDのリスト
+     */
+    public SpatialIdList flatten() {
+
+        return toBitmap(0, size).toSpatialIdList();
+
+    }
+
+    /**
+     * 指定範囲について、鉛直方向のインデックスを捨てた水平方向の空間IDの集合を返却する．
+     *
+     * @param from 開始位置(含む)
+     * @param to 終了位置(含まない)
+     * @return 平面化済みの空間IDのビットマップ
+     */
+    public SpatialIdBitmap toBitmap(int from, int to) {
+
+        final SpatialIdBitmap bitmap = new SpatialIdBitmap();
+
+        for (int i = from; i < to; i++) {
+
+            bitmap.add(tiles[i]);
+
+        }
+
+        return bitmap;
+
+    }
+
+}
@@ -0,0 +1,200 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.Arrays;
+
+/**
+ * 平面化済みの空間IDについて、4つの子が揃っているタイルを親タイルへ集約するクラス．
+ * <p>
+ * 最も細かいズームレベルから順に、指定された最小ズームレベルまで再帰的に集約する．<br>
+ * 集約後の件数は、対象範囲の面積ではなく外周の長さに比例する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+public final class SpatialIdCoalescer {
+
+    /**
+     * 兄弟タイルの並び替えキーにおける、親タイルのx方向のシフト量．
+     */
+    private static final int PARENT_X_SHIFT = 30;
+
+    /**
+     * 兄弟タイルの並び替えキーにおける、親タイルのy方向のシフト量．
+     */
+    private static final int PARENT_Y_SHIFT = 2;
+
+    /**
+     * 並び替えキーから親タイルのy方向のインデックスを取り出すマスク．
+     */
+    private static final long PARENT_Y_MASK = (1L << (PARENT_X_SHIFT - PARENT_Y_SHIFT)) - 1;
+
+    /**
+     * 親タイルが持つ子タイルの数．
+     */
+    private static final int CHILD_COUNT = 4;
+
+    private SpatialIdCoalescer() {
+
+    }
+
+    /**
+     * 空間IDの集約を行う．
+     * <p>
+     * 集約されなかった空間IDは入力順を保ち、集約により生成された親タイルはその後ろに追加する．<br>
+     * 集約が発生しなかった場合は、引数のリストをそのまま返却する．
+     * </p>
+     *
+     * @param sids 重複を除いた平面化済みの空間IDのリスト
+     * @param minZoom 集約後のズームレベルの下限
+     * @return 集約された空間IDのリスト
+     */
+    public static SpatialIdList coalesce(SpatialIdList sids, int minZoom) {
+
+        final int size = sids.size();
+
+        final LongHashSet present = new LongHashSet(size);
+
+        long[] tiles = new long[size];
+
+        for (int i = 0; i < size; i++) {
+
+            tiles[i] = sids.tileAt(i);
+
+            present.add(tiles[i]);
+
+        }
+
+        final LongHashSet removed = new LongHashSet(16);
+
+        int count = size;
+
+        for (int zoom = sids.maxZoom(); Math.max(minZoom, 0) < zoom; zoom--) {
+
+            final long[] keys = siblingKeys(tiles, count, zoom, removed);
+
+            Arrays.sort(keys);
+
+            int i = 0;
+
+            while (i + CHILD_COUNT <= keys.length) {
+
+                final long parentKey = keys[i] >>> PARENT_Y_SHIFT;
+
+                if (parentKey != keys[i + CHILD_COUNT - 1] >>> PARENT_Y_SHIFT) {
+
+                    i++;
+
+                    continue;
+
+                }
+
+                final long parentX = parentKey >>> (PARENT_X_SHIFT - PARENT_Y_SHIFT);
+
+                final long parentY = parentKey & PARENT_Y_MASK;
+
+                for (int child = 0; child < CHILD_COUNT; child++) {
+
+                    removed.add(SpatialIdCodec.pack(zoom,
+                            parentX * 2 + (child >>> 1),
+                            parentY * 2 + (child & 1)));
+
+                }
+
+                final long parent = SpatialIdCodec.pack(zoom - 1, parentX, parentY);
+
+                // 親タイルが既に要求されている場合は、子タイルを除くのみとする
+                if (present.add(parent)) {
+
+                    if (count == tiles.length) {
+
+                        tiles = Arrays.copyOf(tiles, count * 2);
+
+                    }
+
+                    tiles[count++] = parent;
+
+                }
+
+                i += CHILD_COUNT;
+
+            }
+
+        }
+
+        if (removed.size() == 0) {
+
+            return sids;
+
+        }
+
+        final long[] coalesced = new long[count];
+
+        int coalescedCount = 0;
+
+        for (int j = 0; j < count; j++) {
+
+            if (!removed.contains(tiles[j])) {
+
+                coalesced[coalescedCount++] = tiles[j];
+
+            }
+
+        }
+
+        return new SpatialIdList(coalesced, coalescedCount);
+
+    }
+
+    /**
+     * 指定ズームレベルの空間IDについて、兄弟タイルが隣接する並び替えキーを生成する．
+     * <p>
+     * キーは 親タイルのx・親タイルのy・子の位置(2bit) の順に配置する．
+     * </p>
+     *
+     * @param tiles パックされた空間ID
+     * @param count 有効な件数
+     * @param zoom 対象のズームレベル
+     * @param removed 集約済みとして除外された空間ID
+     * @return 並び替えキー
+     */
+    private static long[] siblingKeys(long[] tiles, int count, int zoom, LongHashSet removed) {
+
+        long[] keys = new long[16];
+
+        int keyCount = 0;
+
+        for (int i = 0; i < count; i++) {
+
+            final long tile = tiles[i];
+
+            if (SpatialIdCodec.zoom(tile) != zoom || removed.contains(tile)) {
+
+                continue;
+
+            }
+
+            final long x = SpatialIdCodec.x(tile);
+
+            final long y = SpatialIdCodec.y(tile);
+
+            if (keyCount == keys.length) {
+
+                keys = Arrays.copyOf(keys, keyCount * 2);
+
+            }
+
+            keys[keyCount++] = ((x >>> 1) << PARENT_X_SHIFT)
+                    | ((y >>> 1) << PARENT_Y_SHIFT)
+                    | ((x & 1) << 1)
+                    | (y & 1);
+
+        }
+
+        return Arrays.copyOf(keys, keyCount);
+
+    }
+
+}
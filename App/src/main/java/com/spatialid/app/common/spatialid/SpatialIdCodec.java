@@ -0,0 +1,444 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+/**
+ * 空間ID(z/f/x/y)と、パック済みの数値表現との相互変換を行うクラス．
+ * <p>
+ * 水平方向の情報(ズームレベル・x・y)を1つのlong値にパックする．<br>
+ * ビット配置は、上位から ズームレベル(6bit)・x(28bit)・y(28bit) とする．<br>
+ * 鉛直方向のインデックス(f)はlongに収まらないため、呼び出し元で別に保持する．<br>
+ * パック可能なズームレベルは{@link #MAX_ZOOM}までとし、超える空間IDは範囲外として扱う．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+public final class SpatialIdCodec {
+
+    /**
+     * パック可能な最大ズームレベル．
+     * <p>
+     * ズームレベル(6bit)・x・yを1つのlong値に収めるため、x・yを28bitとし、ズームレベル28を上限とする．<br>
+     * ズームレベル28のタイルの一辺は赤道上で約15cmであり、埋設物の位置の精度より細かいため、上限として十分とする．<br>
+     * モートン番号(56bit)や、それを元にした並び替えキーも、この上限でlongに収まることを前提とする．<br>
+     * 従来は空間IDを検証せずに空間・属性情報参照APIへ送信していたが、上限を超える空間IDは
+     * {@link SpatialIdViolation#ZOOM_OUT_OF_RANGE}としてリトライせずに処理を終了する．
+     * </p>
+     */
+    public static final int MAX_ZOOM = 28;
+
+    /**
+     * 空間IDを文字列で表現した際の最大文字数．
+     */
+    public static final int MAX_LENGTH = 40;
+
+    /**
+     * 空間IDの区切り文字．
+     */
+    private static final char SEPARATOR = '/';
+
+    /**
+     * x・yのビット幅．
+     */
+    private static final int AXIS_BITS = 28;
+
+    /**
+     * x・yを取り出すためのマスク．
+     */
+    private static final long AXIS_MASK = (1L << AXIS_BITS) - 1;
+
+    /**
+     * ズームレベルを取り出すためのマスク．
+     */
+    private static final long ZOOM_MASK = 0x3FL;
+
+    /**
+     * 空間IDを構成する要素数．
+     */
+    private static final int FIELD_COUNT = 4;
+
+    /**
+     * モートン符号化で使用するビット拡散用のマスク．
+     */
+    private static final long[] MORTON_MASKS = {
+        0x0000FFFF0000FFFFL,
+        0x00FF00FF00FF00FFL,
+        0x0F0F0F0F0F0F0F0FL,
+        0x3333333333333333L,
+        0x5555555555555555L
+    };
+
+    /**
+     * モートン符号化で使用するビット拡散のシフト量．
+     */
+    private static final int[] MORTON_SHIFTS = {16, 8, 4, 2, 1};
+
+    private SpatialIdCodec() {
+
+    }
+
+    /**
+     * ズームレベル・x・yをlong値にパックする．
+     *
+     * @param zoom ズームレベル
+     * @param x x方向のインデックス
+     * @param y y方向のインデックス
+     * @return パックされた水平方向の空間ID
+     */
+    public static long pack(int zoom, long x, long y) {
+
+        return ((long) zoom << (AXIS_BITS * 2)) | (x << AXIS_BITS) | y;
+
+    }
+
+    /**
+     * パックされた空間IDからズームレベルを取り出す．
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @return ズームレベル
+     */
+    public static int zoom(long tile) {
+
+        return (int) ((tile >>> (AXIS_BITS * 2)) & ZOOM_MASK);
+
+    }
+
+    /**
+     * パックされた空間IDからx方向のインデックスを取り出す．
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @return x方向のインデックス
+     */
+    public static long x(long tile) {
+
+        return (tile >>> AXIS_BITS) & AXIS_MASK;
+
+    }
+
+    /**
+     * パックされた空間IDからy方向のインデックスを取り出す．
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @return y方向のインデックス
+     */
+    public static long y(long tile) {
+
+        return tile & AXIS_MASK;
+
+    }
+
+    /**
+     * パックされた空間IDから、同一ズームレベル内でのモートン番号(Z順序)を求める．
+     * <p>
+     * xを偶数ビット、yを奇数ビットに交互に配置する．
+     * </p>
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @return モートン番号
+     */
+    public static long morton(long tile) {
+
+        return spread(x(tile)) | (spread(y(tile)) << 1);
+
+    }
+
+    /**
+     * モートン番号からパックされた空間IDを求める．
+     *
+     * @param zoom ズームレベル
+     * @param morton モートン番号
+     * @return パックされた水平方向の空間ID
+     */
+    public static long fromMorton(int zoom, long morton) {
+
+        return pack(zoom, compact(morton), compact(morton >>> 1));
+
+    }
+
+    /**
+     * 空間ID文字列を解析し、パックした値をバッファに追加する．
+     *
+     * @param sid 空間ID(z/f/x/y)
+     * @param buffer 解析結果の追加先
+     * @throws IllegalArgumentException 空間IDの形式が不正な場合
+     */
+    public static void parseInto(CharSequence sid, SpatialIdBuffer buffer) {
+
+        if (tryParseInto(sid, buffer) != null) {
+
+            throw invalid(sid);
+
+        }
+
+    }
+
+    /**
+     * 空間ID文字列を検証・解析し、正しい場合のみパックした値をバッファに追加する．
+     * <p>
+     * 文字列の分割や中間オブジェクトの生成を行わず、1文字ずつ走査して数値化する．<br>
+     * 形式不正の場合も例外は送出せず、違反の種類を返却する．<br>
+     * 各インデックスの範囲は、ズームレベルzに対して x・y が 0～2^z-1、f が -2^z～2^z-1 とする．
+     * </p>
+     *
+     * @param sid 空間ID(z/f/x/y)
+     * @param buffer 解析結果の追加先
+     * @return 違反の種類(正しい場合はnull)
+     */
+    public static SpatialIdViolation tryParseInto(CharSequence sid, SpatialIdBuffer buffer) {
+
+        if (sid == null || sid.length() == 0) {
+
+            return SpatialIdViolation.EMPTY;
+
+        }
+
+        final int length = sid.length();
+
+        long zoom = 0;
+        long altitude = 0;
+        long x = 0;
+        long y = 0;
+
+        int field = 0;
+        long value = 0;
+        boolean negative = false;
+        boolean hasDigit = false;
+
+        for (int i = 0; i <= length; i++) {
+
+            final char c = i < length ? sid.charAt(i) : SEPARATOR;
+
+            if (c == SEPARATOR) {
+
+                if (FIELD_COUNT <= field) {
+
+                    return SpatialIdViolation.FIELD_COUNT;
+
+                }
+
+                if (!hasDigit) {
+
+                    return SpatialIdViolation.NOT_NUMBER;
+
+                }
+
+                final long signed = negative ? -value : value;
+
+                switch (field) {
+
+                    case 0 -> zoom = signed;
+
+                    case 1 -> altitude = signed;
+
+                    case 2 -> x = signed;
+
+                    default -> y = signed;
+
+                }
+
+                field++;
+                value = 0;
+                negative = false;
+                hasDigit = false;
+
+            } else if ('0' <= c && c <= '9') {
+
+                value = value * 10 + (c - '0');
+
+                if (Integer.MAX_VALUE < value) {
+
+                    return field == 0 ? SpatialIdViolation.ZOOM_OUT_OF_RANGE
+                            : field == 1 ? SpatialIdViolation.ALTITUDE_OUT_OF_RANGE
+                            : SpatialIdViolation.INDEX_OUT_OF_RANGE;
+
+                }
+
+                hasDigit = true;
+
+            } else if (c == '-' && field == 1 && !hasDigit && !negative) {
+
+                // 負の値は鉛直方向のインデックスのみ許容する
+                negative = true;
+
+            } else {
+
+                return SpatialIdViolation.NOT_NUMBER;
+
+            }
+
+        }
+
+        if (field != FIELD_COUNT) {
+
+            return SpatialIdViolation.FIELD_COUNT;
+
+        }
+
+        if (MAX_ZOOM < zoom) {
+
+            return SpatialIdViolation.ZOOM_OUT_OF_RANGE;
+
+        }
+
+        final long limit = 1L << zoom;
+
+        if (altitude < -limit || limit <= altitude) {
+
+            return SpatialIdViolation.ALTITUDE_OUT_OF_RANGE;
+
+        }
+
+        if (limit <= x || limit <= y) {
+
+            return SpatialIdViolation.INDEX_OUT_OF_RANGE;
+
+        }
+
+        buffer.add(pack((int) zoom, x, y), (int) altitude);
+
+        return null;
+
+    }
+
+    /**
+     * パックされた空間IDを文字列に変換する．
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @param altitude 鉛直方向のインデックス
+     * @return 空間ID(z/f/x/y)
+     */
+    public static String toSid(long tile, int altitude) {
+
+        final char[] chars = new char[MAX_LENGTH];
+
+        final int length = write(tile, altitude, chars);
+
+        return new String(chars, 0, length);
+
+    }
+
+    /**
+     * パックされた空間IDを文字列表現として配列に書き込む．
+     * <p>
+     * 呼び出し元で配列を使い回すことで、文字列を生成せずに出力できる．
+     * </p>
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @param altitude 鉛直方向のインデックス
+     * @param dest 書き込み先の配列({@link #MAX_LENGTH}以上の長さを想定)
+     * @return 書き込んだ文字数
+     */
+    public static int write(long tile, int altitude, char[] dest) {
+
+        int position = writeNumber(zoom(tile), dest, 0);
+
+        dest[position++] = SEPARATOR;
+
+        position = writeNumber(altitude, dest, position);
+
+        dest[position++] = SEPARATOR;
+
+        position = writeNumber(x(tile), dest, position);
+
+        dest[position++] = SEPARATOR;
+
+        return writeNumber(y(tile), dest, position);
+
+    }
+
+    /**
+     * 数値を10進数の文字列として配列に書き込む．
+     *
+     * @param value 書き込む数値
+     * @param dest 書き込み先の配列
+     * @param offset 書き込み開始位置
+     * @return 書き込み後の位置
+     */
+    private static int writeNumber(long value, char[] dest, int offset) {
+
+        int position = offset;
+
+        long remaining = value;
+
+        if (remaining < 0) {
+
+            dest[position++] = '-';
+
+            remaining = -remaining;
+
+        }
+
+        int digits = 1;
+
+        for (long bound = 10; bound <= remaining; bound *= 10) {
+
+            digits++;
+
+        }
+
+        for (int i = position + digits - 1; position <= i; i--) {
+
+            dest[i] = (char) ('0' + remaining % 10);
+
+            remaining /= 10;
+
+        }
+
+        return position + digits;
+
+    }
+
+    /**
+     * 値のビットを1ビットおきに拡散する．
+     *
+     * @param value 拡散する値(32bit以下)
+     * @return 拡散した値
+     */
+    private static long spread(long value) {
+
+        long spread = value & 0xFFFFFFFFL;
+
+        for (int i = 0; i < MORTON_SHIFTS.length; i++) {
+
+            spread = (spread | (spread << MORTON_SHIFTS[i])) & MORTON_MASKS[i];
+
+        }
+
+        return spread;
+
+    }
+
+    /**
+     * 1ビットおきに拡散された値を詰め直す．
+     *
+     * @param value 拡散された値(偶数ビットのみ参照する)
+     * @return 詰め直した値
+     */
+    private static long compact(long value) {
+
+        long compact = value & MORTON_MASKS[MORTON_MASKS.length - 1];
+
+        for (int i = MORTON_SHIFTS.length - 1; 0 < i; i--) {
+
+            compact = (compact | (compact >>> MORTON_SHIFTS[i])) & MORTON_MASKS[i - 1];
+
+        }
+
+        return (compact | (compact >>> MORTON_SHIFTS[0])) & 0xFFFFFFFFL;
+
+    }
+
+    /**
+     * 形式不正を示す例外を生成する．
+     *
+     * @param sid 不正な空間ID
+     * @return 生成した例外
+     */
+    private static IllegalArgumentException invalid(CharSequence sid) {
+
+        return new IllegalArgumentException("空間IDの形式が不正です。[" + sid + "]");
+
+    }
+
+}
@@ -0,0 +1,102 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.spatialid.app.common.mapper.SpatialIdListSerializer;
+
+/**
+ * 平面化された空間IDを、パックした状態のまま{@link java.util.List}として扱うクラス．
+ * <p>
+ * 要素は参照された時点で文字列に変換する．<br>
+ * JSON出力時は{@link SpatialIdListSerializer}により、文字列を生成せずに書き込む．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+@JsonSerialize(using = SpatialIdListSerializer.class)
+public class SpatialIdList extends AbstractList<String> implements RandomAccess {
+
+    /**
+     * パックされた水平方向の空間ID．
+     */
+    private final long[] tiles;
+
+    /**
+     * 格納件数．
+     */
+    private final int size;
+
+    public SpatialIdList(long[] tiles, int size) {
+
+        this.tiles = tiles;
+        this.size = size;
+
+    }
+
+    /**
+     * 指定位置の空間IDを文字列として返却する．
+     *
+     * @param index 位置
+     * @return 空間ID(z/0/x/y)
+     */
+    @Override
+    public String get(int index) {
+
+        Objects.checkIndex(index, size);
+
+        return SpatialIdCodec.toSid(tiles[index], 0);
+
+    }
+
+    /**
+     * 格納件数を返却する．
+     *
+     * @return 格納件数
+     */
+    @Override
+    public int size() {
+
+        return size;
+
+    }
+
+    /**
+     * 指定位置の空間IDをパックした状態で返却する．
+     *
+     * @param index 位置
+     * @return パックされた水平方向の空間ID
+     */
+    public long tileAt(int index) {
+
+        Objects.checkIndex(index, size);
+
+        return tiles[index];
+
+    }
+
+    /**
+     * 格納されている空間IDの最大ズームレベルを返却する．
+     *
+     * @return 最大ズームレベル(空の場合は-1)
+     */
+    public int maxZoom() {
+
+        int maxZoom = -1;
+
+        for (int i = 0; i < size; i++) {
+
+            maxZoom = Math.max(maxZoom, SpatialIdCodec.zoom(tiles[i]));
+
+        }
+
+        return maxZoom;
+
+    }
+
+}
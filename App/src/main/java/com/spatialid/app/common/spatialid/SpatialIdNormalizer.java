@@ -0,0 +1,69 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+/**
+ * ズームレベルが混在した平面化済みの空間IDを、単一のズームレベルへ揃えるクラス．
+ * <p>
+ * 目標より粗い空間IDは子タイルへ展開し、目標より細かい空間IDは祖先タイルへ持ち上げる．<br>
+ * 変換はモートン番号の範囲上で行うため、異なるズームレベル間で重なる空間IDは1つにまとめられる．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public final class SpatialIdNormalizer {
+
+    private SpatialIdNormalizer() {
+
+    }
+
+    /**
+     * 揃える先のズームレベルを決定する．
+     * <p>
+     * 希望するズームレベル(未指定の場合は最大ズームレベル)から開始し、
+     * タイル数が上限を超える間はズームレベルを1つずつ粗くする．
+     * </p>
+     *
+     * @param ranges 空間IDの範囲の集合
+     * @param preferredZoom 希望するズームレベル(未指定の場合はnull)
+     * @param maxTiles タイル数の上限
+     * @return 揃える先のズームレベル
+     */
+    public static int chooseZoom(SpatialIdRangeSet ranges, Integer preferredZoom, long maxTiles) {
+
+        int zoom = preferredZoom == null
+                ? ranges.zoom()
+                : Math.min(Math.max(preferredZoom, 0), SpatialIdCodec.MAX_ZOOM);
+
+        while (0 < zoom && maxTiles < ranges.cellCountAt(zoom)) {
+
+            zoom--;
+
+        }
+
+        return zoom;
+
+    }
+
+    /**
+     * 空間IDを指定ズームレベルへ揃える．
+     * <p>
+     * 出力順はモートン順とする．
+     * </p>
+     *
+     * @param ranges 空間IDの範囲の集合
+     * @param targetZoom 揃える先のズームレベル
+     * @return 指定ズームレベルの空間IDのリスト
+     */
+    public static SpatialIdList normalize(SpatialIdRangeSet ranges, int targetZoom) {
+
+        final SpatialIdRangeSet normalized = targetZoom < ranges.zoom()
+                ? ranges.coarsen(targetZoom)
+                : ranges.atZoom(targetZoom);
+
+        return normalized.toSpatialIdList();
+
+    }
+
+}
@@ -0,0 +1,310 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.Arrays;
+
+/**
+ * 平面化済みの空間IDの集合を、モートン番号の連続範囲として保持するクラス．
+ * <p>
+ * 範囲は基準ズームレベルにおけるモートン番号の閉区間で表し、昇順 かつ 重複・隣接なしで保持する．<br>
+ * 基準ズームレベルより粗い空間IDは、配下のタイルを表す範囲に変換して保持する．<br>
+ * ズームレベルの変換とタイル数の算出は、タイルを展開せずに範囲の件数に比例する計算量で行える．<br>
+ * {@link SpatialIdNormalizer}で、ズームレベルを揃える際に使用する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+public final class SpatialIdRangeSet {
+
+    /**
+     * 並び替えキーにおける、ズームレベル差のビット幅．
+     */
+    private static final int LEVEL_BITS = 5;
+
+    /**
+     * 並び替えキーからズームレベル差を取り出すマスク．
+     */
+    private static final long LEVEL_MASK = (1L << LEVEL_BITS) - 1;
+
+    /**
+     * 基準ズームレベル．
+     */
+    private final int zoom;
+
+    /**
+     * 範囲の開始(モートン番号)．
+     */
+    private final long[] starts;
+
+    /**
+     * 範囲の終了(モートン番号、終端を含む)．
+     */
+    private final long[] ends;
+
+    /**
+     * 範囲の件数．
+     */
+    private final int count;
+
+    private SpatialIdRangeSet(int zoom, long[] starts, long[] ends, int count) {
+
+        this.zoom = zoom;
+        this.starts = starts;
+        this.ends = ends;
+        this.count = count;
+
+    }
+
+    /**
+     * 空間IDのリストから範囲の集合を生成する．
+     * <p>
+     * 基準ズームレベルは、リスト中の最大ズームレベルとする．
+     * </p>
+     *
+     * @param sids 平面化済みの空間IDのリスト
+     * @return 範囲の集合
+     */
+    public static SpatialIdRangeSet of(SpatialIdList sids) {
+
+        final int zoom = Math.max(sids.maxZoom(), 0);
+
+        final int size = sids.size();
+
+        // 開始番号とズームレベル差を1つのキーにまとめ、プリミティブのまま並び替える
+        final long[] keys = new long[size];
+
+        for (int i = 0; i < size; i++) {
+
+            final long tile = sids.tileAt(i);
+
+            final int level = zoom - SpatialIdCodec.zoom(tile);
+
+            keys[i] = (SpatialIdCodec.morton(tile) << (level * 2) << LEVEL_BITS) | level;
+
+        }
+
+        Arrays.sort(keys);
+
+        final long[] starts = new long[size];
+
+        final long[] ends = new long[size];
+
+        int count = 0;
+
+        for (long key : keys) {
+
+            final long start = key >>> LEVEL_BITS;
+
+            final long end = start + (1L << ((key & LEVEL_MASK) * 2)) - 1;
+
+            if (0 < count && start <= ends[count - 1] + 1) {
+
+                ends[count - 1] = Math.max(ends[count - 1], end);
+
+            } else {
+
+                starts[count] = start;
+                ends[count] = end;
+                count++;
+
+            }
+
+        }
+
+        return new SpatialIdRangeSet(zoom, starts, ends, count);
+
+    }
+
+    /**
+     * 基準ズームレベルを返却する．
+     *
+     * @return 基準ズームレベル
+     */
+    public int zoom() {
+
+        return zoom;
+
+    }
+
+    /**
+     * 基準ズームレベルにおけるタイル数を返却する．
+     *
+     * @return タイル数
+     */
+    public long cellCount() {
+
+        long cells = 0;
+
+        for (int i = 0; i < count; i++) {
+
+            cells += ends[i] - starts[i] + 1;
+
+        }
+
+        return cells;
+
+    }
+
+    /**
+     * 基準ズームレベルを細かくした範囲の集合を返却する．
+     *
+     * @param targetZoom 変換後の基準ズームレベル(現在の基準ズームレベル以上)
+     * @return 変換後の範囲の集合
+     */
+    public SpatialIdRangeSet atZoom(int targetZoom) {
+
+        if (targetZoom == zoom) {
+
+            return this;
+
+        }
+
+        if (targetZoom < zoom || SpatialIdCodec.MAX_ZOOM < targetZoom) {
+
+            throw new IllegalArgumentException("基準ズームレベルを粗くすることはできません。[" + targetZoom + "]");
+
+        }
+
+        final int shift = (targetZoom - zoom) * 2;
+
+        final long[] scaledStarts = new long[count];
+
+        final long[] scaledEnds = new long[count];
+
+        for (int i = 0; i < count; i++) {
+
+            scaledStarts[i] = starts[i] << shift;
+            scaledEnds[i] = ((ends[i] + 1) << shift) - 1;
+
+        }
+
+        return new SpatialIdRangeSet(targetZoom, scaledStarts, scaledEnds, count);
+
+    }
+
+    /**
+     * 基準ズームレベルを粗くした範囲の集合を返却する．
+     * <p>
+     * 範囲の一部でも含むタイルは、変換後のタイルとして範囲に含める．
+     * </p>
+     *
+     * @param targetZoom 変換後の基準ズームレベル(現在の基準ズームレベル以下)
+     * @return 変換後の範囲の集合
+     */
+    public SpatialIdRangeSet coarsen(int targetZoom) {
+
+        if (targetZoom == zoom) {
+
+            return this;
+
+        }
+
+        if (zoom < targetZoom || targetZoom < 0) {
+
+            throw new IllegalArgumentException("基準ズームレベルを細かくすることはできません。[" + targetZoom + "]");
+
+        }
+
+        final int shift = (zoom - targetZoom) * 2;
+
+        final long[] scaledStarts = new long[count];
+
+        final long[] scaledEnds = new long[count];
+
+        int scaled = 0;
+
+        for (int i = 0; i < count; i++) {
+
+            final long start = starts[i] >>> shift;
+
+            final long end = ends[i] >>> shift;
+
+            if (0 < scaled && start <= scaledEnds[scaled - 1] + 1) {
+
+                scaledEnds[scaled - 1] = Math.max(scaledEnds[scaled - 1], end);
+
+            } else {
+
+                scaledStarts[scaled] = start;
+                scaledEnds[scaled] = end;
+                scaled++;
+
+            }
+
+        }
+
+        return new SpatialIdRangeSet(targetZoom, scaledStarts, scaledEnds, scaled);
+
+    }
+
+    /**
+     * 指定ズームレベルに揃えた場合のタイル数を返却する．
+     * <p>
+     * 範囲の集合を生成せずに件数のみを求める．
+     * </p>
+     *
+     * @param targetZoom ズームレベル
+     * @return タイル数
+     */
+    public long cellCountAt(int targetZoom) {
+
+        if (zoom <= targetZoom) {
+
+            return cellCount() << ((targetZoom - zoom) * 2);
+
+        }
+
+        final int shift = (zoom - targetZoom) * 2;
+
+        long cells = 0;
+
+        long lastEnd = -1;
+
+        for (int i = 0; i < count; i++) {
+
+            final long start = Math.max(starts[i] >>> shift, lastEnd + 1);
+
+            final long end = ends[i] >>> shift;
+
+            if (start <= end) {
+
+                cells += end - start + 1;
+
+            }
+
+            lastEnd = Math.max(lastEnd, end);
+
+        }
+
+        return cells;
+
+    }
+
+    /**
+     * 基準ズームレベルのタイルを、モートン順に並べたリストとして返却する．
+     *
+     * @return 空間IDのリスト
+     */
+    public SpatialIdList toSpatialIdList() {
+
+        final long[] tiles = new long[Math.toIntExact(cellCount())];
+
+        int size = 0;
+
+        for (int i = 0; i < count; i++) {
+
+            for (long morton = starts[i]; morton <= ends[i]; morton++) {
+
+                tiles[size++] = SpatialIdCodec.fromMorton(zoom, morton);
+
+            }
+
+        }
+
+        return new SpatialIdList(tiles, size);
+
+    }
+
+}
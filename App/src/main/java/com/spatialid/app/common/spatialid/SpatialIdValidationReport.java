@@ -0,0 +1,133 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 空間IDの検証で検出した違反を集計するクラス．
+ * <p>
+ * 違反の種類ごとの件数と、先頭から一定件数の違反例を保持する．<br>
+ * 違反が無い場合はオブジェクトの生成を行わない．<br>
+ * 並列に解析する場合に共有できるよう、記録はスレッドセーフに行う．<br>
+ * 違反例は記録された順ではなく空間IDの位置の順に保持するため、並列に解析した場合も逐次に解析した場合と同一となる．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.2 2026/10/18
+ */
+public class SpatialIdValidationReport {
+
+    /**
+     * 保持する違反例の最大件数．
+     */
+    private static final int MAX_SAMPLES = 10;
+
+    /**
+     * 違反の種類ごとの件数．
+     */
+    private final Map<SpatialIdViolation, Integer> counts = new EnumMap<SpatialIdViolation, Integer>(SpatialIdViolation.class);
+
+    /**
+     * 空間IDの位置ごとの違反例(位置の昇順)．
+     */
+    private final TreeMap<Integer, String> samples = new TreeMap<Integer, String>();
+
+    /**
+     * 違反の総件数．
+     */
+    private int violationCount;
+
+    /**
+     * 違反を記録する．
+     * <p>
+     * 違反例が上限に達している場合は、保持している違反例より前の位置の場合のみ、最も後ろの違反例と入れ替える．
+     * </p>
+     *
+     * @param index 空間IDの位置
+     * @param sid 違反となった空間ID
+     * @param violation 違反の種類
+     */
+    public synchronized void record(int index, CharSequence sid, SpatialIdViolation violation) {
+
+        counts.merge(violation, 1, Integer::sum);
+
+        violationCount++;
+
+        if (MAX_SAMPLES <= samples.size()) {
+
+            if (samples.lastKey() < index) {
+
+                return;
+
+            }
+
+            samples.pollLastEntry();
+
+        }
+
+        final StringBuilder sampleBuilder = new StringBuilder();
+
+        samples.put(index, sampleBuilder.append(index)
+                .append(":")
+                .append(sid)
+                .append("(")
+                .append(violation.getMessage())
+                .append(")")
+                .toString());
+
+    }
+
+    /**
+     * 違反が存在するかを判定する．
+     *
+     * @return 違反が存在する場合はtrue
+     */
+    public synchronized boolean hasViolations() {
+
+        return violationCount != 0;
+
+    }
+
+    /**
+     * 違反の総件数を返却する．
+     *
+     * @return 違反の総件数
+     */
+    public synchronized int getViolationCount() {
+
+        return violationCount;
+
+    }
+
+    /**
+     * 違反内容を1行にまとめたメッセージを返却する．
+     *
+     * @return 違反内容のメッセージ
+     */
+    public synchronized String toMessage() {
+
+        final StringBuilder msgBuilder = new StringBuilder();
+
+        msgBuilder.append("空間IDが正しくありません。")
+                .append("[件数=")
+                .append(violationCount);
+
+        for (Map.Entry<SpatialIdViolation, Integer> entry : counts.entrySet()) {
+
+            msgBuilder.append(",")
+                    .append(entry.getKey().getMessage())
+                    .append("=")
+                    .append(entry.getValue());
+
+        }
+
+        return msgBuilder.append("]")
+                .append(samples.values())
+                .toString();
+
+    }
+
+}
@@ -0,0 +1,65 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+/**
+ * 空間IDの検証で検出する違反の種類を定義した列挙型．
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public enum SpatialIdViolation {
+
+    /**
+     * 空間IDが未指定．
+     */
+    EMPTY("空間IDが未指定です"),
+
+    /**
+     * 要素数がz/f/x/yの4つでない．
+     */
+    FIELD_COUNT("要素数が不正です"),
+
+    /**
+     * 数値として解釈できない要素を含む．
+     */
+    NOT_NUMBER("数値でない要素を含みます"),
+
+    /**
+     * ズームレベルが範囲外．
+     */
+    ZOOM_OUT_OF_RANGE("ズームレベルが範囲外です"),
+
+    /**
+     * 鉛直方向のインデックスがズームレベルに対して範囲外．
+     */
+    ALTITUDE_OUT_OF_RANGE("fインデックスが範囲外です"),
+
+    /**
+     * 水平方向のインデックスがズームレベルに対して範囲外．
+     */
+    INDEX_OUT_OF_RANGE("x・yインデックスが範囲外です");
+
+    /**
+     * 違反内容を示すメッセージ．
+     */
+    private final String message;
+
+    SpatialIdViolation(String message) {
+
+        this.message = message;
+
+    }
+
+    /**
+     * 違反内容を示すメッセージを返却する．
+     *
+     * @return メッセージ
+     */
+    public String getMessage() {
+
+        return message;
+
+    }
+
+}
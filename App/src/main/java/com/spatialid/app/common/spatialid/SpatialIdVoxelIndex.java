@@ -0,0 +1,190 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 要求されたボクセル(鉛直方向の情報を含む空間ID)の集合に対し、任意のボクセルとの重なりを判定する索引．
+ * <p>
+ * 要求されたボクセルをズームレベルごとにハッシュ集合へ格納する．<br>
+ * 判定対象より粗いボクセルとは、判定対象を祖先へ持ち上げて照合する．<br>
+ * 判定対象より細かいボクセルとは、要求されたボクセルを判定対象のズームレベルへ持ち上げた集合で照合する．
+ * この集合は、判定対象のズームレベルごとに初回の判定時に作成する．<br>
+ * 初回の判定時に集合を作成するため、スレッドセーフではない．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+public final class SpatialIdVoxelIndex {
+
+    /**
+     * 要求されたボクセル．
+     */
+    private final SpatialIdBuffer voxels;
+
+    /**
+     * ズームレベルごとの、要求されたボクセルの集合．
+     */
+    private final VoxelHashSet[] exact = new VoxelHashSet[SpatialIdCodec.MAX_ZOOM + 1];
+
+    /**
+     * ズームレベルごとの、それより細かいボクセルを持ち上げた集合(初回の判定時に作成)．
+     */
+    private final VoxelHashSet[] lifted = new VoxelHashSet[SpatialIdCodec.MAX_ZOOM + 1];
+
+    private SpatialIdVoxelIndex(SpatialIdBuffer voxels) {
+
+        this.voxels = voxels;
+
+    }
+
+    /**
+     * 要求されたボクセルから索引を作成する．
+     *
+     * @param voxels 要求されたボクセル
+     * @return 索引
+     */
+    public static SpatialIdVoxelIndex of(SpatialIdBuffer voxels) {
+
+        final SpatialIdVoxelIndex index = new SpatialIdVoxelIndex(voxels);
+
+        for (int i = 0; i < voxels.size(); i++) {
+
+            final long tile = voxels.tileAt(i);
+
+            final int zoom = SpatialIdCodec.zoom(tile);
+
+            if (index.exact[zoom] == null) {
+
+                index.exact[zoom] = new VoxelHashSet(voxels.size());
+
+            }
+
+            index.exact[zoom].add(tile, voxels.altitudeAt(i));
+
+        }
+
+        return index;
+
+    }
+
+    /**
+     * 指定されたボクセルが、要求されたボクセルのいずれかと重なるかを判定する．
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @param altitude 鉛直方向のインデックス
+     * @return 重なる場合はtrue
+     */
+    public boolean overlaps(long tile, int altitude) {
+
+        final int zoom = SpatialIdCodec.zoom(tile);
+
+        for (int requestedZoom = 0; requestedZoom <= zoom; requestedZoom++) {
+
+            if (exact[requestedZoom] == null) {
+
+                continue;
+
+            }
+
+            final int shift = zoom - requestedZoom;
+
+            if (exact[requestedZoom].contains(lift(tile, requestedZoom, shift), altitude >> shift)) {
+
+                return true;
+
+            }
+
+        }
+
+        return liftedTo(zoom).contains(tile, altitude);
+
+    }
+
+    /**
+     * 空間IDのリストから、要求されたボクセルのいずれとも重ならない空間IDを取り除く．
+     * <p>
+     * 解析できない空間IDは、判定できないため取り除かずに残す．<br>
+     * 取り除く空間IDが無い場合は、引数のリストをそのまま返却する．
+     * </p>
+     *
+     * @param sids 空間IDのリスト
+     * @return 絞り込んだ空間IDのリスト
+     */
+    public List<String> filter(List<String> sids) {
+
+        final SpatialIdBuffer scratch = new SpatialIdBuffer(1);
+
+        final List<String> filteredSids = new ArrayList<String>(sids.size());
+
+        for (String sid : sids) {
+
+            scratch.clear();
+
+            if (SpatialIdCodec.tryParseInto(sid, scratch) != null
+                    || overlaps(scratch.tileAt(0), scratch.altitudeAt(0))) {
+
+                filteredSids.add(sid);
+
+            }
+
+        }
+
+        return filteredSids.size() == sids.size() ? sids : filteredSids;
+
+    }
+
+    /**
+     * 指定ズームレベルより細かい、要求されたボクセルを持ち上げた集合を返却する．
+     *
+     * @param zoom ズームレベル
+     * @return 持ち上げたボクセルの集合
+     */
+    private VoxelHashSet liftedTo(int zoom) {
+
+        if (lifted[zoom] != null) {
+
+            return lifted[zoom];
+
+        }
+
+        final VoxelHashSet set = new VoxelHashSet(16);
+
+        for (int i = 0; i < voxels.size(); i++) {
+
+            final long tile = voxels.tileAt(i);
+
+            final int shift = SpatialIdCodec.zoom(tile) - zoom;
+
+            if (0 < shift) {
+
+                set.add(lift(tile, zoom, shift), voxels.altitudeAt(i) >> shift);
+
+            }
+
+        }
+
+        lifted[zoom] = set;
+
+        return set;
+
+    }
+
+    /**
+     * 水平方向の空間IDを祖先へ持ち上げる．
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @param zoom 持ち上げ後のズームレベル
+     * @param shift ズームレベルの差
+     * @return 持ち上げ後の水平方向の空間ID
+     */
+    private static long lift(long tile, int zoom, int shift) {
+
+        return SpatialIdCodec.pack(zoom, SpatialIdCodec.x(tile) >>> shift, SpatialIdCodec.y(tile) >>> shift);
+
+    }
+
+}
@@ -0,0 +1,245 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.Arrays;
+
+/**
+ * 鉛直方向の情報を含む空間ID(ボクセル)を格納する、オープンアドレス法によるプリミティブのハッシュ集合．
+ * <p>
+ * キーは、パックされた水平方向の空間IDと鉛直方向のインデックスの組とする．<br>
+ * 空きスロットの識別に負の値を使用するため、水平方向の空間IDは0以上の値のみ格納できる．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+public class VoxelHashSet {
+
+    /**
+     * 空きスロットを示す値．
+     */
+    private static final long EMPTY = -1L;
+
+    /**
+     * 拡張を行う負荷率(分母)．
+     */
+    private static final int LOAD_FACTOR_DENOMINATOR = 4;
+
+    /**
+     * 拡張を行う負荷率(分子)．
+     */
+    private static final int LOAD_FACTOR_NUMERATOR = 3;
+
+    /**
+     * ハッシュ値の拡散に用いる定数．
+     */
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    /**
+     * 水平方向の空間IDのスロット．
+     */
+    private long[] tiles;
+
+    /**
+     * 鉛直方向のインデックスのスロット．
+     */
+    private int[] altitudes;
+
+    /**
+     * 格納件数．
+     */
+    private int size;
+
+    /**
+     * 拡張を行う件数．
+     */
+    private int threshold;
+
+    public VoxelHashSet(int expectedSize) {
+
+        allocate(capacityFor(expectedSize));
+
+    }
+
+    /**
+     * ボクセルを追加する．
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @param altitude 鉛直方向のインデックス
+     * @return 新たに追加された場合はtrue、既に存在した場合はfalse
+     */
+    public boolean add(long tile, int altitude) {
+
+        if (tile < 0) {
+
+            throw new IllegalArgumentException("負の値は格納できません。[" + tile + "]");
+
+        }
+
+        final int mask = tiles.length - 1;
+
+        int index = indexOf(tile, altitude, mask);
+
+        while (tiles[index] != EMPTY) {
+
+            if (tiles[index] == tile && altitudes[index] == altitude) {
+
+                return false;
+
+            }
+
+            index = (index + 1) & mask;
+
+        }
+
+        tiles[index] = tile;
+        altitudes[index] = altitude;
+        size++;
+
+        if (threshold <= size) {
+
+            rehash();
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * ボクセルが格納されているかを判定する．
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @param altitude 鉛直方向のインデックス
+     * @return 格納されている場合はtrue
+     */
+    public boolean contains(long tile, int altitude) {
+
+        if (tile < 0) {
+
+            return false;
+
+        }
+
+        final int mask = tiles.length - 1;
+
+        int index = indexOf(tile, altitude, mask);
+
+        while (tiles[index] != EMPTY) {
+
+            if (tiles[index] == tile && altitudes[index] == altitude) {
+
+                return true;
+
+            }
+
+            index = (index + 1) & mask;
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * 格納件数を返却する．
+     *
+     * @return 格納件数
+     */
+    public int size() {
+
+        return size;
+
+    }
+
+    /**
+     * 想定件数から、負荷率を満たすスロット数(2の冪)を求める．
+     *
+     * @param expectedSize 想定件数
+     * @return スロット数
+     */
+    private static int capacityFor(int expectedSize) {
+
+        final long required = (long) Math.max(expectedSize, 1) * LOAD_FACTOR_DENOMINATOR / LOAD_FACTOR_NUMERATOR + 1;
+
+        int capacity = 2;
+
+        while (capacity < required) {
+
+            capacity <<= 1;
+
+        }
+
+        return capacity;
+
+    }
+
+    /**
+     * スロットを確保する．
+     *
+     * @param capacity スロット数
+     */
+    private void allocate(int capacity) {
+
+        tiles = new long[capacity];
+
+        altitudes = new int[capacity];
+
+        Arrays.fill(tiles, EMPTY);
+
+        threshold = (int) ((long) capacity * LOAD_FACTOR_NUMERATOR / LOAD_FACTOR_DENOMINATOR);
+
+    }
+
+    /**
+     * スロット数を倍にして、格納済みのボクセルを再配置する．
+     */
+    private void rehash() {
+
+        final long[] previousTiles = tiles;
+
+        final int[] previousAltitudes = altitudes;
+
+        allocate(previousTiles.length * 2);
+
+        final int mask = tiles.length - 1;
+
+        for (int i = 0; i < previousTiles.length; i++) {
+
+            if (previousTiles[i] != EMPTY) {
+
+                int index = indexOf(previousTiles[i], previousAltitudes[i], mask);
+
+                while (tiles[index] != EMPTY) {
+
+                    index = (index + 1) & mask;
+
+                }
+
+                tiles[index] = previousTiles[i];
+                altitudes[index] = previousAltitudes[i];
+
+            }
+
+        }
+
+    }
+
+    /**
+     * ボクセルに対応する初期スロット位置を求める．
+     *
+     * @param tile パックされた水平方向の空間ID
+     * @param altitude 鉛直方向のインデックス
+     * @param mask スロット数-1
+     * @return スロット位置
+     */
+    private static int indexOf(long tile, int altitude, int mask) {
+
+        final long hash = (tile ^ ((long) altitude << 32 | (altitude & 0xFFFFFFFFL))) * MIX;
+
+        return (int) (hash ^ (hash >>> 32)) & mask;
+
+    }
+
+}
@@ -5,6 +5,9 @@ package com.spatialid.app.dto.outputtasks;
 import java.io.Serializable;
 import java.util.List;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.spatialid.app.common.mapper.ExtrudedSpatialIdListDeserializer;
+
 import lombok.Data;
 
 /**
@@ -12,7 +15,7 @@ import lombok.Data;
  * JobExecutionContextへ保存するため、{@link Serializable}を実装する．
  * 
  * @author matsumoto kentaro
- * @version 1.1 2024/09/18
+ * @version 1.2 2026/10/18
  */
 @Data
 public class TaskRequestDto implements Serializable {
@@ -23,8 +26,10 @@ public class TaskRequestDto implements Serializable {
     private static final long serialVersionUID = 1L;
 
     /**
-     * 空間IDのリスト．
+     * 空間IDのリスト．<br>
+     * レスポンスの読み込み時に、パックされた形式へ直接解析する．
      */
+    @JsonDeserialize(using = ExtrudedSpatialIdListDeserializer.class)
     private List<String> sidList;
     
     /**
@@ -13,10 +13,10 @@ import lombok.Data;
  * 空間・属性情報参照APIへのリクエストデータ項目を保持するクラス．
  * 
  * @author matsumoto kentaro
- * @version 1.1 2024/09/20
+ * @version 1.2 2026/10/18
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 public class PostSidAttributeRequestDto {
     
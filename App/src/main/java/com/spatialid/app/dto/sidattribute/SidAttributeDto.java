@@ -7,6 +7,7 @@ import java.util.Map;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.spatialid.app.common.mapper.CanonicalStringDeserializer;
 import com.spatialid.app.common.mapper.PrivateAttributeDeserializer;
 import com.spatialid.app.common.mapper.PrivateAttributeSerializer;
 
@@ -17,7 +18,7 @@ import lombok.Data;
  * 空間IDのリストと、そこに紐づいた情報を格納する．
  * 
  * @author matsumoto kentaro
- * @version 1.1 2024/09/20
+ * @version 1.3 2026/10/18
  */
 @Data
 public class SidAttributeDto {
@@ -25,11 +26,13 @@ public class SidAttributeDto {
     /**
      * インフラ事業者ID．
      */
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String infraCompanyId;
     
     /**
      * データ種別．
      */
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String dataType;
     
     /**
@@ -50,8 +53,32 @@ public class SidAttributeDto {
     private Map<String, String> facilityAttribute;
     
     /**
-     * 空間IDのリスト．
+     * 空間IDのリスト．<br>
+     * 設備間で同一の空間IDが繰り返し出現するため、要素を正規化して読み込む．
      */
+    @JsonDeserialize(contentUsing = CanonicalStringDeserializer.class)
     private List<String> sidList;
     
+    /**
+     * 空間IDのリストを差し替えた複製を返却する．<br>
+     * 空間IDのリスト以外の項目は、複製元と同じ値を参照する．
+     * 
+     * @param sidList 空間IDのリスト
+     * @return 複製した空間・属性情報
+     */
+    public SidAttributeDto withSidList(List<String> sidList) {
+        
+        final SidAttributeDto copy = new SidAttributeDto();
+        
+        copy.setInfraCompanyId(infraCompanyId);
+        copy.setDataType(dataType);
+        copy.setObjectId(objectId);
+        copy.setFacilityClassificationName(facilityClassificationName);
+        copy.setFacilityAttribute(facilityAttribute);
+        copy.setSidList(sidList);
+        
+        return copy;
+        
+    }
+    
 }
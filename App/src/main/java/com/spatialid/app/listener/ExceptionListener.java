@@ -11,6 +11,7 @@ import org.springframework.stereotype.Component;
 
 import com.spatialid.app.common.constants.BatchCommonConstant;
 import com.spatialid.app.common.exception.NoRetryableSidAttributeException;
+import com.spatialid.app.common.exception.NoRetryableSidValidationException;
 import com.spatialid.app.common.exception.RetryableFileProcessingException;
 import com.spatialid.app.common.exception.RetryableS3Exception;
 import com.spatialid.app.common.exception.RetryableSidAttributeException;
@@ -24,7 +25,7 @@ import lombok.NoArgsConstructor;
  * ステップ終了時の例外処理を定義したクラス．<br>
  * 
  * @author matsumoto kentaro
- * @version 1.1 2024/09/26
+ * @version 1.2 2026/10/18
  */
 @Component("exceptionListener")
 @NoArgsConstructor
@@ -73,6 +74,8 @@ public class ExceptionListener implements StepExecutionListener {
                     
                     case NoRetryableSidAttributeException noRetry -> new ExitStatus(BatchCommonConstant.STATUS_EXCLUSIVE_ERROR);
                     
+                    case NoRetryableSidValidationException sidValidation -> new ExitStatus(BatchCommonConstant.STATUS_EXCLUSIVE_ERROR);
+                    
                     default -> new ExitStatus(BatchCommonConstant.STATUS_ABEND);
             
                 };
@@ -90,6 +93,8 @@ public class ExceptionListener implements StepExecutionListener {
                     
                     case NoRetryableSidAttributeException noRetry -> noRetry.getErrorDetailInRegist();
                     
+                    case NoRetryableSidValidationException sidValidation -> sidValidation.getErrorDetailInRegist();
+                    
                     default -> null;
         
                 };
@@ -2,6 +2,8 @@
 
 package com.spatialid.app.listener;
 
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Locale;
@@ -25,11 +27,13 @@ import com.spatialid.app.common.exception.NoRetryableFileProcessingException;
 import com.spatialid.app.common.exception.NoRetryableOutputTasksException;
 import com.spatialid.app.common.exception.NoRetryableParamErrorException;
 import com.spatialid.app.common.exception.NoRetryableSidAttributeException;
+import com.spatialid.app.common.exception.NoRetryableSidValidationException;
 import com.spatialid.app.common.exception.RetryableFileProcessingException;
 import com.spatialid.app.common.exception.RetryableOutputTasksException;
 import com.spatialid.app.common.exception.RetryableS3Exception;
 import com.spatialid.app.common.exception.RetryableSidAttributeException;
 import com.spatialid.app.common.exception.RetryableSidAttributeLockedException;
+import com.spatialid.app.common.mapper.CanonicalStringPool;
 
 import lombok.extern.log4j.Log4j2;
 
@@ -38,7 +42,7 @@ import lombok.extern.log4j.Log4j2;
  * バッチの起動、各ステップで最終的に送出された例外と、ジョブの開始・終了時刻を採取する．
  * 
  * @author matsumoto kentaro
- * @version 1.1 2024/09/26
+ * @version 1.2 2026/10/18
  */
 @Component("loggingListener")
 @Log4j2
@@ -49,9 +53,16 @@ public class LoggingListener implements StepExecutionListener, JobExecutionListe
      */
     private final MessageSource messageSource;
     
-    public LoggingListener(@Qualifier("reloadableResourceBundleMessageSource") MessageSource messageSource) {
+    /**
+     * デシリアライズ時の文字列のプール．
+     */
+    private final CanonicalStringPool canonicalStringPool;
+    
+    public LoggingListener(@Qualifier("reloadableResourceBundleMessageSource") MessageSource messageSource,
+            CanonicalStringPool canonicalStringPool) {
         
         this.messageSource = messageSource;
+        this.canonicalStringPool = canonicalStringPool;
         
     }
     
@@ -145,6 +156,8 @@ public class LoggingListener implements StepExecutionListener, JobExecutionListe
                     
                     case NoRetryableParamErrorException noRetryParamError -> noRetryParamError.getErrorDetailInLog();
                     
+                    case NoRetryableSidValidationException noRetrySidValidation -> noRetrySidValidation.getErrorDetailInLog();
+                    
                     default -> null;
         
                 };
@@ -188,7 +201,7 @@ public class LoggingListener implements StepExecutionListener, JobExecutionListe
     /**
      * {@link JobExecutionListener#afterJob(JobExecution)}の実装を行う．
      * <p>
-     * ジョブ終了時に、ジョブ名と処理時間を採取する．
+     * ジョブ終了時に、ジョブ名と処理時間、文字列のプールのヒット率を採取する．
      * </p>
      * 
      * @param jobExecution {@link JobExecution}
@@ -208,6 +221,17 @@ public class LoggingListener implements StepExecutionListener, JobExecutionListe
         
         log.info(messageSource.getMessage(BatchCommonConstant.KEY_LOGGING_MSG_END, new Object[] {jobName, latency}, Locale.JAPAN));
         
+        // 小数点以下1桁まで切り捨て
+        final DecimalFormat fm = new DecimalFormat("0.0");
+        
+        fm.setRoundingMode(RoundingMode.DOWN);
+        
+        log.info(messageSource.getMessage(BatchCommonConstant.KEY_LOGGING_MSG_STRING_POOL,
+                new String[] {String.valueOf(canonicalStringPool.getLookups()),
+                        String.valueOf(canonicalStringPool.getHits()),
+                        fm.format(canonicalStringPool.getHitRate())},
+                Locale.JAPAN));
+        
     }
     
 }
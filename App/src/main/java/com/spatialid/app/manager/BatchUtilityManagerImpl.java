@@ -2,40 +2,69 @@
 
 package com.spatialid.app.manager;
 
-import java.io.BufferedOutputStream;
-import java.io.BufferedWriter;
-import java.io.FileOutputStream;
-import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
 
-import org.springframework.core.io.FileSystemResource;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.spatialid.app.common.benchmark.annotation.MeasureLatency;
+import com.spatialid.app.common.export.ExportBuffer;
+import com.spatialid.app.common.export.ExportCodec;
+import com.spatialid.app.common.export.ExportCodecType;
+import com.spatialid.app.common.export.ExportEntryContent;
+import com.spatialid.app.common.export.ExportFile;
+import com.spatialid.app.common.export.ExportFormat;
+import com.spatialid.app.common.export.ExportLayout;
+import com.spatialid.app.common.export.StreamingExport;
+import com.spatialid.app.common.export.FacilityExportWriter;
+import com.spatialid.app.common.export.ZipExportCodec;
+import com.spatialid.app.common.export.ZstdExportCodec;
 import com.spatialid.app.common.exception.NoRetryableException;
 import com.spatialid.app.common.exception.NoRetryableFileProcessingException;
 import com.spatialid.app.common.exception.NoRetryableParamErrorException;
 import com.spatialid.app.common.exception.RetryableException;
 import com.spatialid.app.common.exception.RetryableFileProcessingException;
-import com.spatialid.app.common.exception.RetryableS3Exception;
+import com.spatialid.app.common.exception.NoRetryableSidValidationException;
 import com.spatialid.app.common.exception.RetryableSidAttributeException;
 import com.spatialid.app.common.printer.LineFeedPrinter;
+import com.spatialid.app.common.printer.PrintMode;
+import com.spatialid.app.common.properties.BatchProperty;
+import com.spatialid.app.common.spatialid.ExtrudedSpatialIdList;
+import com.spatialid.app.common.spatialid.ParallelSpatialIdFlattener;
+import com.spatialid.app.common.spatialid.SpatialIdBitmap;
+import com.spatialid.app.common.spatialid.SpatialIdBuffer;
+import com.spatialid.app.common.spatialid.SpatialIdCoalescer;
+import com.spatialid.app.common.spatialid.SpatialIdCodec;
+import com.spatialid.app.common.spatialid.SpatialIdList;
+import com.spatialid.app.common.spatialid.SpatialIdNormalizer;
+import com.spatialid.app.common.spatialid.SpatialIdRangeSet;
+import com.spatialid.app.common.spatialid.SpatialIdValidationReport;
+import com.spatialid.app.common.spatialid.SpatialIdViolation;
+import com.spatialid.app.common.spatialid.SpatialIdVoxelIndex;
 import com.spatialid.app.dto.ParameterDto;
 import com.spatialid.app.dto.sidattribute.SidAttributeDto;
-import com.spatialid.app.entity.ExportJsonEntity;
-import com.spatialid.app.entity.SidAttributeEntity;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
@@ -44,11 +73,21 @@ import jakarta.validation.Validator;
  * バッチのユーティリティ処理を定義した{@link IBatchUtilityManager}を実装するクラス．
  * 
  * @author matsumoto kentaro
- * @version 1.1 2024/09/19
+ * @version 1.11 2026/10/18
  */
 @Component
 public class BatchUtilityManagerImpl implements IBatchUtilityManager {
     
+    /**
+     * 設備の件数ごとに分けたエントリのファイル名の書式(ファイル名, 連番, 拡張子)．
+     */
+    private static final String SHARD_ENTRY_NAME_FORMAT = "%s_%04d%s";
+    
+    /**
+     * 出力ファイルのダイジェストのアルゴリズム．
+     */
+    private static final String EXPORT_DIGEST_ALGORITHM = "SHA-256";
+    
     /**
      * Jsonオブジェクトマッパー．
      */
@@ -59,11 +98,38 @@ public class BatchUtilityManagerImpl implements IBatchUtilityManager {
      */
     private final Validator validator;
     
+    /**
+     * バッチのプロパティクラス．
+     */
+    private final BatchProperty batchProperty;
+    
+    /**
+     * 出力ファイルの圧縮を並列に行う{@link ExecutorService}．
+     */
+    private final ExecutorService exportCompressExecutor;
+    
+    /**
+     * 出力ファイルの送信と並行した書き込みを行う{@link ExecutorService}．
+     */
+    private final ExecutorService exportStreamingExecutor;
+    
+    /**
+     * 出力ファイルの圧縮形式．
+     */
+    private final ExportCodec exportCodec;
+    
     public BatchUtilityManagerImpl(ObjectMapper objectMapper,
-            Validator validator) {
+            Validator validator,
+            BatchProperty batchProperty,
+            @Qualifier("exportCompressExecutor") ExecutorService exportCompressExecutor,
+            @Qualifier("exportStreamingExecutor") ExecutorService exportStreamingExecutor) {
         
         this.objectMapper = objectMapper;
         this.validator = validator;
+        this.batchProperty = batchProperty;
+        this.exportCompressExecutor = exportCompressExecutor;
+        this.exportStreamingExecutor = exportStreamingExecutor;
+        this.exportCodec = createExportCodec(batchProperty, exportCompressExecutor);
         
     }
     
@@ -103,19 +169,163 @@ public class BatchUtilityManagerImpl implements IBatchUtilityManager {
      * @param extrudedSids 鉛直方向の情報が存在する空間IDのリスト
      * @return 平面化された空間IDのリスト
      * @throws RetryableException 処理に失敗した場合
+     * @throws NoRetryableException 形式不正・範囲外の空間IDが含まれる場合
      */
     @Override
     @MeasureLatency
-    public List<String> flattenSids(List<String> extrudedSids) throws RetryableException {
+    public List<String> flattenSids(List<String> extrudedSids) throws RetryableException, NoRetryableException {
+        
+        return flattenSids(encodeSids(extrudedSids));
+        
+    }
+    
+    /**
+     * 空間IDのリストを検証し、パックされた形式へ変換する．
+     * <p>
+     * 全ての空間IDを1回の走査で検証・解析し、違反は例外を送出せずに集計する．<br>
+     * レスポンスの読み込み時に解析済みのリスト({@link ExtrudedSpatialIdList})の場合は、再解析を行わない．<br>
+     * 違反が1件でも存在する場合は、リトライを行わずに処理を終了する．<br>
+     * batch.propertiesで並列化が有効 かつ 件数が閾値以上の場合は、{@link ForkJoinPool}で並列に処理する．
+     * </p>
+     * 
+     * @param sids 空間IDのリスト
+     * @return パックされた空間IDを保持するバッファ
+     * @throws RetryableException 処理に失敗した場合
+     * @throws NoRetryableException 形式不正・範囲外の空間IDが含まれる場合
+     */
+    @Override
+    @MeasureLatency
+    public SpatialIdBuffer encodeSids(List<String> sids) throws RetryableException, NoRetryableException {
+        
+        // レスポンスの読み込み時に解析済みの場合は、その結果をそのまま使用する
+        if (sids instanceof ExtrudedSpatialIdList extrudedSids) {
+            
+            if (extrudedSids.getReport().hasViolations()) {
+                
+                throw new NoRetryableSidValidationException(extrudedSids.getReport());
+                
+            }
+            
+            return extrudedSids.getBuffer();
+            
+        }
+        
+        final SpatialIdValidationReport report = new SpatialIdValidationReport();
+        
+        SpatialIdBuffer buffer;
         
         try {
             
-            List<String> flattenedSids = extrudedSids.stream()
-                    .map(this::flattenSid)
-                    .collect(Collectors.toList());
+            if (isParallelTarget(sids.size())) {
+                
+                buffer = ParallelSpatialIdFlattener.encode(sids, ForkJoinPool.commonPool(), report);
+                
+            } else {
+                
+                buffer = new SpatialIdBuffer(sids.size());
+                
+                for (int i = 0; i < sids.size(); i++) {
+                    
+                    final String sid = sids.get(i);
+                    
+                    final SpatialIdViolation violation = SpatialIdCodec.tryParseInto(sid, buffer);
+                    
+                    if (violation != null) {
+                        
+                        report.record(i, sid, violation);
+                        
+                    }
+                    
+                }
+                
+            }
+            
+        } catch (Exception e) {
+            
+            throw new RetryableSidAttributeException(e.getMessage());
+            
+        }
+        
+        if (report.hasViolations()) {
+            
+            throw new NoRetryableSidValidationException(report);
+            
+        }
+        
+        return buffer;
+        
+    }
+    
+    /**
+     * パックされた空間IDを全て平面化する．
+     * <p>
+     * 鉛直方向のインデックスを捨てた水平方向の値のみを、パックした状態のまま返却する．<br>
+     * 平面化により同一となった空間IDは、圧縮ビットマップ上で除外する．<br>
+     * 出力順はモートン順となるため、空間的に近いタイルが隣接して並ぶ．<br>
+     * 文字列への変換は、リクエストボディの書き込み時に行われる．<br>
+     * batch.propertiesで並列化が有効 かつ 件数が閾値以上の場合は、{@link ForkJoinPool}で並列に処理する．
+     * </p>
+     * 
+     * @param extrudedSids 鉛直方向の情報が存在する空間IDのバッファ
+     * @return 重複を除いた平面化済みの空間IDのリスト
+     * @throws RetryableException 処理に失敗した場合
+     */
+    @Override
+    @MeasureLatency
+    public SpatialIdList flattenSids(SpatialIdBuffer extrudedSids) throws RetryableException {
+        
+        try {
+            
+            if (isParallelTarget(extrudedSids.size())) {
+                
+                return ParallelSpatialIdFlattener.flatten(extrudedSids, ForkJoinPool.commonPool());
+                
+            }
+            
+            return extrudedSids.flatten();
+            
+        } catch (Exception e) {
+            
+            throw new RetryableSidAttributeException(e.getMessage());
+            
+        }
+        
+    }
+    
+    /**
+     * 平面化した空間IDのズームレベルを単一のズームレベルへ揃える．
+     * <p>
+     * batch.propertiesで無効化されている場合は、引数のリストをそのまま返却する．<br>
+     * 揃える先は返却ズームレベル(未指定の場合は最大ズームレベル)とし、
+     * タイル数が上限を超える場合は上限に収まるまでズームレベルを粗くする．<br>
+     * 異なるズームレベル間で重なる空間IDは1つにまとめられる．
+     * </p>
+     * 
+     * @param flattenedSids 重複を除いた平面化済みの空間IDのリスト
+     * @param returnZoomLevel タスクで指定された返却ズームレベル
+     * @return ズームレベルを揃えた空間IDのリスト
+     * @throws RetryableException 処理に失敗した場合
+     */
+    @Override
+    @MeasureLatency
+    public SpatialIdList normalizeSids(SpatialIdList flattenedSids, Integer returnZoomLevel) throws RetryableException {
+        
+        if (!batchProperty.isNormalizeEnabled() || flattenedSids.isEmpty()) {
             
             return flattenedSids;
             
+        }
+        
+        try {
+            
+            final SpatialIdRangeSet ranges = SpatialIdRangeSet.of(flattenedSids);
+            
+            final int targetZoom = SpatialIdNormalizer.chooseZoom(ranges,
+                    returnZoomLevel,
+                    batchProperty.getNormalizeMaxTiles());
+            
+            return SpatialIdNormalizer.normalize(ranges, targetZoom);
+            
         } catch (Exception e) {
             
             throw new RetryableSidAttributeException(e.getMessage());
@@ -125,53 +335,217 @@ public class BatchUtilityManagerImpl implements IBatchUtilityManager {
     }
     
     /**
-     * 空間・属性情報リストを元にファイルを作成する．
+     * 平面化した空間IDについて、子タイルが揃っている場合に親タイルへ集約する．
+     * <p>
+     * batch.propertiesで集約が無効化されている場合は、引数のリストをそのまま返却する．<br>
+     * 集約は、batch.propertiesで指定されたズームレベルまで再帰的に行う．
+     * </p>
      * 
-     * @param sidAttributeList 空間・属性情報リスト
-     * @param jsonPath jsonファイルのパス
-     * @param zipPath 圧縮ファイルのパス
+     * @param flattenedSids 重複を除いた平面化済みの空間IDのリスト
+     * @return 集約された空間IDのリスト
      * @throws RetryableException 処理に失敗した場合
      */
     @Override
     @MeasureLatency
-    public void createFile(List<SidAttributeDto> sidAttributeList, String jsonPath, String zipPath) throws RetryableException {
+    public SpatialIdList coalesceSids(SpatialIdList flattenedSids) throws RetryableException {
+        
+        if (!batchProperty.isCoalesceEnabled()) {
+            
+            return flattenedSids;
+            
+        }
         
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(jsonPath, StandardCharsets.UTF_8))) {
+        try {
             
-            boolean isFacilityExist = false;
+            return SpatialIdCoalescer.coalesce(flattenedSids, batchProperty.getCoalesceMinZoom());
+            
+        } catch (Exception e) {
             
-            if (sidAttributeList.size() != 0) {
+            throw new RetryableSidAttributeException(e.getMessage());
+            
+        }
+        
+    }
+    
+    /**
+     * 空間・属性情報参照APIに指定する返却ズームレベルを決定する．
+     * <p>
+     * タスクで返却ズームレベルが指定されている場合は、その値を使用する．<br>
+     * 未指定 かつ 集約により送信する空間IDが変化した場合は、集約前の最大ズームレベルを使用し、
+     * レスポンスの粒度が集約前と変わらないようにする．
+     * </p>
+     * 
+     * @param returnZoomLevel タスクで指定された返却ズームレベル
+     * @param flattenedSids 集約前の空間IDのリスト
+     * @param requestSids APIへ送信する空間IDのリスト
+     * @return 返却ズームレベル
+     */
+    @Override
+    public Integer resolveReturnZoomLevel(Integer returnZoomLevel, SpatialIdList flattenedSids, SpatialIdList requestSids) {
+        
+        if (returnZoomLevel != null || hasSameTiles(flattenedSids, requestSids)) {
+            
+            return returnZoomLevel;
+            
+        }
+        
+        return flattenedSids.maxZoom();
+        
+    }
+    
+    /**
+     * 2つの空間IDのリストが、同じ空間IDを同じ順に保持しているかを判定する．
+     * <p>
+     * 集約が無効な場合・集約が発生しなかった場合は同一のリストとなるが、
+     * 別のリストとなった場合も内容が同じであれば変化していないものとして扱う．
+     * </p>
+     * 
+     * @param sids 比較元の空間IDのリスト
+     * @param other 比較先の空間IDのリスト
+     * @return 内容が同じ場合はtrue
+     */
+    private static boolean hasSameTiles(SpatialIdList sids, SpatialIdList other) {
+        
+        if (sids == other) {
+            
+            return true;
+            
+        }
+        
+        if (sids.size() != other.size()) {
+            
+            return false;
+            
+        }
+        
+        for (int i = 0; i < sids.size(); i++) {
+            
+            if (sids.tileAt(i) != other.tileAt(i)) {
                 
-                isFacilityExist = true;
+                return false;
                 
             }
             
-            final List<SidAttributeEntity> sidAttributeEntities = sidAttributeList.stream()
-                    .map(source -> SidAttributeEntity.builder()
-                            .infraCompanyId(source.getInfraCompanyId())
-                            .dataType(source.getDataType())
-                            .objectId(source.getObjectId())
-                            .objectName(source.getFacilityClassificationName())
-                            .facilityAttribute(source.getFacilityAttribute())
-                            .sidList(source.getSidList())
-                            .build())
-                    .collect(Collectors.toList());
-            
-            final ExportJsonEntity exportJsonEntity = ExportJsonEntity.builder()
-                    .isFacilityExist(isFacilityExist)
-                    .facilitySidList(sidAttributeEntities)
-                    .build();
-                        
-            // Jsonのインデントを有効化
-            objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        }
+        
+        return true;
+        
+    }
+    
+    /**
+     * 空間IDのリストを、件数が上限以下となるように分割する．
+     * <p>
+     * 圧縮ビットマップを経由してモートン順に分割するため、各分割は空間的にまとまった領域となる．
+     * </p>
+     * 
+     * @param sids 空間IDのリスト
+     * @param chunkSize 1分割あたりの件数の上限
+     * @return 分割された空間IDのリスト
+     * @throws RetryableException 処理に失敗した場合
+     */
+    @Override
+    public List<SpatialIdList> chunkSids(SpatialIdList sids, int chunkSize) throws RetryableException {
+        
+        try {
             
-            // json出力時のインデント/改行コードを設定
-            objectMapper.setDefaultPrettyPrinter(new LineFeedPrinter());
+            return SpatialIdBitmap.of(sids).split(chunkSize);
+            
+        } catch (Exception e) {
+            
+            throw new RetryableSidAttributeException(e.getMessage());
+            
+        }
+        
+    }
+    
+    /**
+     * 空間・属性情報リストを、要求されたボクセルと重なる空間IDのみに絞り込む．
+     * <p>
+     * batch.propertiesで無効化されている場合は、引数のリストをそのまま返却する．<br>
+     * 平面検索では深さに関わらず設備が返却されるため、要求された鉛直方向の範囲外の空間IDを除外する．<br>
+     * 重なる空間IDが1件も無い設備は、リストから除外する．<br>
+     * 解析できない空間IDは、除外せずにそのまま残す．<br>
+     * 引数の空間・属性情報は変更せず、空間IDを除外した設備のみ複製して返却する．
+     * </p>
+     * 
+     * @param sidAttributeList 空間・属性情報リスト
+     * @param extrudedSids 要求された鉛直方向の情報が存在する空間IDのバッファ
+     * @return 絞り込んだ空間・属性情報リスト
+     */
+    @Override
+    @MeasureLatency
+    public List<SidAttributeDto> filterSidAttributes(List<SidAttributeDto> sidAttributeList, SpatialIdBuffer extrudedSids) {
+        
+        if (!batchProperty.isVoxelFilterEnabled()) {
             
-            objectMapper.writeValue(bw, exportJsonEntity);
+            return sidAttributeList;
             
-            // 圧縮を行う
-            compressJsonFile(jsonPath, zipPath);
+        }
+        
+        final SpatialIdVoxelIndex voxelIndex = SpatialIdVoxelIndex.of(extrudedSids);
+        
+        final List<SidAttributeDto> filteredList = new ArrayList<SidAttributeDto>(sidAttributeList.size());
+        
+        for (SidAttributeDto sidAttribute : sidAttributeList) {
+            
+            final List<String> sidList = sidAttribute.getSidList();
+            
+            if (sidList == null) {
+                
+                filteredList.add(sidAttribute);
+                
+                continue;
+                
+            }
+            
+            final List<String> filteredSids = voxelIndex.filter(sidList);
+            
+            if (filteredSids == sidList) {
+                
+                filteredList.add(sidAttribute);
+                
+            } else if (!filteredSids.isEmpty()) {
+                
+                filteredList.add(sidAttribute.withSidList(filteredSids));
+                
+            }
+            
+        }
+        
+        return filteredList;
+        
+    }
+    
+    /**
+     * 空間・属性情報リストを元に圧縮ファイルを作成する．
+     * <p>
+     * batch.propertiesで選択された形式のJSONを、選択された圧縮形式で直接書き込み、非圧縮のファイルは作成しない．<br>
+     * エントリを分ける構成の場合は、エントリごとに並列に出力・圧縮し、1つの圧縮ファイルにまとめる．<br>
+     * 設備が存在しない場合は、構成によらず単一のエントリに出力する．<br>
+     * 圧縮ファイルはbatch.propertiesの閾値以下であればメモリ上に保持し、閾値を超えた場合のみ圧縮ファイルのパスへ書き出す．<br>
+     * 圧縮前のJSONと圧縮ファイルのダイジェストは、書き込みと同時に算出する．
+     * </p>
+     * 
+     * @param sidAttributeList 空間・属性情報リスト
+     * @param entryName 圧縮ファイル内のjsonファイル名(エントリを分ける場合は、各エントリのファイル名の元とする)
+     * @param zipPath 圧縮ファイルのパス
+     * @return 作成した圧縮ファイルとダイジェスト(メモリ上に保持した場合は、圧縮ファイルのパスのファイル名を持つ)
+     * @throws RetryableException 処理に失敗した場合
+     */
+    @Override
+    @MeasureLatency
+    public ExportFile createFile(List<SidAttributeDto> sidAttributeList, String entryName, String zipPath) throws RetryableException {
+        
+        try {
+            
+            final Path path = Path.of(zipPath);
+            
+            final ExportBuffer buffer = new ExportBuffer(path, batchProperty.getExportMemoryThreshold());
+            
+            return writeArchive(sidAttributeList,
+                    entryName,
+                    buffer,
+                    () -> buffer.toResource(path.getFileName().toString()));
             
         } catch (Exception e) {
             
@@ -182,51 +556,124 @@ public class BatchUtilityManagerImpl implements IBatchUtilityManager {
     }
     
     /**
-     * ファイルを{@link Resource}として取得する．
+     * 空間・属性情報リストを元に、圧縮ファイルの書き込みを別スレッドで開始する．
+     * <p>
+     * 書き込んだデータは、返却した{@link StreamingExport}の{@link Resource}から書き込みと並行して読み出す．<br>
+     * 書き込みの内容・ダイジェストの算出は{@link #createFile(List, String, String)}と同じで、ファイルは作成しない．
+     * </p>
      * 
-     * @param path 取得対象のパス．
-     * @return {@link Resource}で取得されたファイル
+     * @param sidAttributeList 空間・属性情報リスト
+     * @param entryName 圧縮ファイル内のjsonファイル名(エントリを分ける場合は、各エントリのファイル名の元とする)
+     * @param zipPath 圧縮ファイルのパス(読み出し用の{@link Resource}のファイル名に使用する)
+     * @return 書き込み中の圧縮ファイル
      * @throws RetryableException 処理に失敗した場合
      */
     @Override
-    public Resource getFileAsResource(String path) throws RetryableException {
+    public StreamingExport openStreamingFile(List<SidAttributeDto> sidAttributeList, String entryName, String zipPath) throws RetryableException {
         
         try {
             
-            Path sourcePath = Path.of(path);
+            final StreamingExport streamingExport = new StreamingExport(Path.of(zipPath).getFileName().toString(),
+                    batchProperty.getStreamingUploadChunkSize(),
+                    batchProperty.getStreamingUploadBufferChunks());
             
-            Resource resource = new FileSystemResource(sourcePath);
+            streamingExport.start(exportStreamingExecutor,
+                    out -> writeArchive(sidAttributeList, entryName, out, streamingExport::getResource));
             
-            return resource;
+            return streamingExport;
             
         } catch (Exception e) {
             
-            throw new RetryableS3Exception(e.getMessage());
+            throw new RetryableFileProcessingException(e.getMessage());
             
         }
         
     }
     
     /**
-     * json、zipファイルの削除を行う．
+     * {@link #openStreamingFile(List, String, String)}で開始した書き込みの完了を待機する．
+     * 
+     * @param streamingExport 書き込み中の圧縮ファイル
+     * @return 作成した圧縮ファイルと、書き込み時に算出したダイジェスト
+     * @throws RetryableException 書き込みに失敗した場合
+     */
+    @Override
+    public ExportFile finishStreamingFile(StreamingExport streamingExport) throws RetryableException {
+        
+        try {
+            
+            return streamingExport.finish();
+            
+        } catch (Exception e) {
+            
+            throw new RetryableFileProcessingException(e.getMessage());
+            
+        }
+        
+    }
+    
+    /**
+     * 出力ファイルの形式を返却する．
+     * 
+     * @return batch.propertiesで選択された形式(未設定の場合はJSON)
+     */
+    @Override
+    public ExportFormat getExportFormat() {
+        
+        return exportFormatOf(batchProperty);
+        
+    }
+    
+    /**
+     * 圧縮ファイル内のエントリの構成を返却する．
      * <p>
-     * {@link IBatchUtilityManager#createFile(List, String, String)}で作成されたファイルを全て削除する．
+     * 圧縮形式が複数のエントリに対応していない場合は、設定によらず単一のエントリとする．
+     * </p>
+     * 
+     * @return batch.propertiesで選択された構成(未設定の場合は単一のエントリ)
+     */
+    @Override
+    public ExportLayout getExportLayout() {
+        
+        if (!exportCodec.isMultiEntrySupported()) {
+            
+            return ExportLayout.SINGLE;
+            
+        }
+        
+        return Optional.ofNullable(batchProperty.getExportLayout())
+                .orElse(ExportLayout.SINGLE);
+        
+    }
+    
+    /**
+     * 出力ファイルの圧縮形式を返却する．
+     * 
+     * @return batch.propertiesで選択された圧縮形式
+     */
+    @Override
+    public ExportCodec getExportCodec() {
+        
+        return exportCodec;
+        
+    }
+    
+    /**
+     * 圧縮ファイルの削除を行う．
+     * <p>
+     * {@link IBatchUtilityManager#createFile(List, String, String)}で作成されたファイルを削除する．<br>
+     * 圧縮ファイルをメモリ上に保持した場合はファイルが存在しないため、何もしない．
      * </p>
      * 
-     * @param jsonPath jsonファイルのパス
      * @param zipPath 圧縮ファイルのパス
      * @throws NoRetryableException リトライ処理を行わず、異常終了することを示す例外
      */
     @Override
-    public void deleteFiles(String jsonPath, String zipPath) throws NoRetryableException {
+    public void deleteFiles(String zipPath) throws NoRetryableException {
         
         try {
-                    
-            Path sourcePath = Path.of(jsonPath.toString());
             
             Path compressPath = Path.of(zipPath.toString());
-        
-            Files.deleteIfExists(sourcePath);
             
             Files.deleteIfExists(compressPath);
             
@@ -239,53 +686,299 @@ public class BatchUtilityManagerImpl implements IBatchUtilityManager {
     }
         
     /**
-     * 空間IDを平面化する．
+     * 空間IDの解析・平面化を並列に行う対象かを判定する．
+     * 
+     * @param size 空間IDの件数
+     * @return 並列に行う場合はtrue
+     */
+    private boolean isParallelTarget(int size) {
+        
+        return batchProperty.isFlattenParallelEnabled()
+                && batchProperty.getFlattenParallelThreshold() <= size;
+        
+    }
+    
+    /**
+     * batch.propertiesで選択された、出力ファイルの形式を求める．
+     * 
+     * @param batchProperty バッチのプロパティクラス
+     * @return 出力ファイルの形式(未設定の場合はJSON)
+     */
+    private static ExportFormat exportFormatOf(BatchProperty batchProperty) {
+        
+        return Optional.ofNullable(batchProperty.getExportFormat())
+                .orElse(ExportFormat.JSON);
+        
+    }
+    
+    /**
+     * batch.propertiesの設定から、出力ファイルの圧縮形式を生成する．
      * <p>
-     * &quot;/&quot;で分割した文字列の第二要素を&quot;0&quot;に置換する．
+     * コンストラクタから呼び出すため、オーバーライド可能なメソッドを経由しない静的メソッドとする．
      * </p>
      * 
-     * @param extrudedSid 鉛直方向の情報が存在する空間ID
-     * @return 平面化された空間ID
+     * @param batchProperty バッチのプロパティクラス
+     * @param exportCompressExecutor 出力ファイルの圧縮を並列に行う{@link ExecutorService}
+     * @return 出力ファイルの圧縮形式
      */
-    private String flattenSid(String extrudedSid) {
+    private static ExportCodec createExportCodec(BatchProperty batchProperty, ExecutorService exportCompressExecutor) {
         
-        String[] splitedSid = extrudedSid.split("/");
+        final ExportCodecType type = Optional.ofNullable(batchProperty.getExportCodec())
+                .orElse(ExportCodecType.ZIP);
         
-        splitedSid[1] = "0";
+        return switch (type) {
+            
+            case STORED -> new ZipExportCodec("stored",
+                    Deflater.NO_COMPRESSION,
+                    exportCompressExecutor,
+                    1,
+                    batchProperty.getCompressBlockSize());
+            
+            case ZSTD -> new ZstdExportCodec(batchProperty.getZstdLevel(), exportFormatOf(batchProperty).getExtension());
+            
+            default -> new ZipExportCodec("zip",
+                    batchProperty.getZipLevel(),
+                    exportCompressExecutor,
+                    batchProperty.getCompressThreads(),
+                    batchProperty.getCompressBlockSize());
+            
+        };
         
-        return String.join("/", splitedSid);
+    }
+    
+    /**
+     * 空間・属性情報リストを、選択された圧縮形式・エントリの構成で出力先へ書き込み、出力先を閉じる．
+     * <p>
+     * 圧縮前のJSONと圧縮ファイルのダイジェストは、書き込みと同時に算出する．
+     * </p>
+     * 
+     * @param sidAttributeList 空間・属性情報リスト
+     * @param entryName 圧縮ファイル内のjsonファイル名(エントリを分ける場合は、各エントリのファイル名の元とする)
+     * @param archiveOut 圧縮ファイルの出力先
+     * @param resource 書き込み後に、書き込んだ圧縮ファイルを返却する処理
+     * @return 作成した圧縮ファイルと、書き込み時に算出したダイジェスト
+     * @throws Exception 書き込みに失敗した場合
+     */
+    private ExportFile writeArchive(List<SidAttributeDto> sidAttributeList,
+            String entryName,
+            OutputStream archiveOut,
+            Callable<Resource> resource) throws Exception {
+        
+        final ExportLayout layout = getExportLayout();
+        
+        final MessageDigest archiveDigest = createDigest();
+        
+        final OutputStream out = new DigestOutputStream(archiveOut, archiveDigest);
+        
+        final byte[] contentDigest;
+        
+        if (layout != ExportLayout.SINGLE && !sidAttributeList.isEmpty()) {
+            
+            final Map<String, MessageDigest> entryDigests = new LinkedHashMap<String, MessageDigest>();
+            
+            exportCodec.writeEntries(out, createExportEntries(sidAttributeList, entryName, layout, entryDigests));
+            
+            contentDigest = combineDigests(entryDigests);
+            
+        } else {
+            
+            final MessageDigest digest = createDigest();
+            
+            try (OutputStream entryOut = exportCodec.open(out, entryName)) {
+                
+                writeExport(sidAttributeList, new DigestOutputStream(entryOut, digest));
                 
+            }
+            
+            contentDigest = digest.digest();
+            
+        }
+        
+        return new ExportFile(resource.call(),
+                HexFormat.of().formatHex(contentDigest),
+                HexFormat.of().formatHex(archiveDigest.digest()));
+        
     }
     
     /**
-     * 指定されたファイルをzip形式で圧縮する．
+     * 空間・属性情報リストをエントリに分け、エントリごとの書き込み処理を生成する．
+     * <p>
+     * 各エントリの圧縮前のJSONのダイジェストは、書き込み時にエントリごとのダイジェストへ算出する．
+     * </p>
      * 
-     * @param sourcePathStr 圧縮対象となるファイルのパス(文字列)
-     * @param zipPathStr 圧縮されたファイルの出力パス
-     * @throws Exception 処理に失敗した場合
+     * @param sidAttributeList 空間・属性情報リスト
+     * @param entryName 各エントリのファイル名の元とするjsonファイル名
+     * @param layout 圧縮ファイル内のエントリの構成
+     * @param entryDigests エントリごとのダイジェストの格納先
+     * @return エントリのファイル名と、その内容
+     * @throws NoSuchAlgorithmException ダイジェストのアルゴリズムが利用できない場合
      */
-    private void compressJsonFile(String sourcePathStr, String zipPathStr) throws Exception {
+    private Map<String, ExportEntryContent> createExportEntries(List<SidAttributeDto> sidAttributeList,
+            String entryName,
+            ExportLayout layout,
+            Map<String, MessageDigest> entryDigests) throws NoSuchAlgorithmException {
+        
+        final Map<String, ExportEntryContent> entries = new LinkedHashMap<String, ExportEntryContent>();
+        
+        for (Map.Entry<String, List<SidAttributeDto>> shard : splitExportEntries(sidAttributeList, entryName, layout).entrySet()) {
+            
+            final MessageDigest digest = createDigest();
+            
+            entryDigests.put(shard.getKey(), digest);
+            
+            entries.put(shard.getKey(), out -> writeExport(shard.getValue(), new DigestOutputStream(out, digest)));
+            
+        }
         
-        Path sourcePath = Path.of(sourcePathStr);
+        return entries;
         
-        Path zipPath = Path.of(zipPathStr);
+    }
+    
+    /**
+     * エントリ名とエントリごとのダイジェストを出力順に連結し、1つのダイジェストにまとめる．
+     * 
+     * @param entryDigests エントリごとのダイジェスト
+     * @return まとめたダイジェスト
+     * @throws NoSuchAlgorithmException ダイジェストのアルゴリズムが利用できない場合
+     */
+    private static byte[] combineDigests(Map<String, MessageDigest> entryDigests) throws NoSuchAlgorithmException {
+        
+        final MessageDigest digest = createDigest();
         
-        try (BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(zipPath.toFile()));
-                ZipOutputStream zos = new ZipOutputStream(bos);
-           ) {
+        for (Map.Entry<String, MessageDigest> entry : entryDigests.entrySet()) {
             
-            ZipEntry zipEntry = new ZipEntry(sourcePath.getFileName().toString());
+            digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
             
-            zos.putNextEntry(zipEntry);
+            // エントリ名とダイジェストの境界
+            digest.update((byte) 0);
             
-            zos.write(Files.readAllBytes(sourcePath));
+            digest.update(entry.getValue().digest());
             
-        } catch (Exception e) {
+        }
+        
+        return digest.digest();
+        
+    }
+    
+    /**
+     * 出力ファイルのダイジェストを算出する{@link MessageDigest}を生成する．
+     * 
+     * @return 生成した{@link MessageDigest}
+     * @throws NoSuchAlgorithmException ダイジェストのアルゴリズムが利用できない場合
+     */
+    private static MessageDigest createDigest() throws NoSuchAlgorithmException {
+        
+        return MessageDigest.getInstance(EXPORT_DIGEST_ALGORITHM);
+        
+    }
+    
+    /**
+     * 空間・属性情報リストを、エントリの構成に従って分割する．
+     * <p>
+     * インフラ事業者ごとの場合は、インフラ事業者IDをファイル名に付与する．<br>
+     * 設備の件数ごとの場合は、1から始まる連番をファイル名に付与する．<br>
+     * いずれも、空間・属性情報リストでの出現順を保持する．
+     * </p>
+     * 
+     * @param sidAttributeList 空間・属性情報リスト
+     * @param entryName 各エントリのファイル名の元とするjsonファイル名
+     * @param layout 圧縮ファイル内のエントリの構成
+     * @return エントリのファイル名と、そのエントリに出力する空間・属性情報リスト
+     */
+    private Map<String, List<SidAttributeDto>> splitExportEntries(List<SidAttributeDto> sidAttributeList, String entryName, ExportLayout layout) {
+        
+        final String extension = getExportFormat().getExtension();
+        
+        final String baseName = entryName.endsWith(extension)
+                ? entryName.substring(0, entryName.length() - extension.length())
+                : entryName;
+        
+        final Map<String, List<SidAttributeDto>> shards = new LinkedHashMap<String, List<SidAttributeDto>>();
+        
+        if (layout == ExportLayout.COMPANY) {
+            
+            for (SidAttributeDto sidAttribute : sidAttributeList) {
+                
+                shards.computeIfAbsent(baseName + "_" + sidAttribute.getInfraCompanyId() + extension,
+                        key -> new ArrayList<SidAttributeDto>())
+                        .add(sidAttribute);
+                
+            }
+            
+            return shards;
+            
+        }
+        
+        final int shardSize = Math.max(1, batchProperty.getExportShardSize());
+        
+        for (int from = 0, index = 1; from < sidAttributeList.size(); from += shardSize, index++) {
+            
+            shards.put(String.format(SHARD_ENTRY_NAME_FORMAT, baseName, index, extension),
+                    sidAttributeList.subList(from, Math.min(from + shardSize, sidAttributeList.size())));
+            
+        }
+        
+        return shards;
+        
+    }
+    
+    /**
+     * 空間・属性情報リストをJSONとして出力先へ書き込む．
+     * <p>
+     * 設備を1件ずつ書き込み、出力全体をメモリ上に保持しない．<br>
+     * 出力先は閉じない．
+     * </p>
+     * 
+     * @param sidAttributeList 空間・属性情報リスト
+     * @param out 出力先のストリーム
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void writeExport(List<SidAttributeDto> sidAttributeList, OutputStream out) throws IOException {
+        
+        try (FacilityExportWriter writer = new FacilityExportWriter(createExportGenerator(out), getExportFormat())) {
             
-            throw e;
+            writer.writeHeader(!sidAttributeList.isEmpty());
+            
+            for (SidAttributeDto sidAttribute : sidAttributeList) {
+                
+                writer.writeFacility(sidAttribute);
+                
+            }
+            
+            writer.writeFooter();
             
         }
         
     }
     
+    /**
+     * ファイル出力用の{@link JsonGenerator}を生成する．
+     * <p>
+     * 共有の{@link ObjectMapper}の設定は変更せず、生成した{@link JsonGenerator}にのみインデント/改行コードを設定する．<br>
+     * batch.propertiesで整形を行わない設定の場合は、インデント/改行を行わない．<br>
+     * NDJSONの場合、行の区切りは{@link FacilityExportWriter}が設定する．<br>
+     * 圧縮ファイルのエントリを閉じられるよう、{@link JsonGenerator}を閉じても出力先は閉じない．
+     * </p>
+     * 
+     * @param out 出力先のストリーム
+     * @return 生成した{@link JsonGenerator}
+     * @throws IOException 生成に失敗した場合
+     */
+    private JsonGenerator createExportGenerator(OutputStream out) throws IOException {
+        
+        final JsonGenerator gen = objectMapper.getFactory()
+                .createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        
+        if (getExportFormat() == ExportFormat.JSON && batchProperty.getExportPrintMode() != PrintMode.COMPACT) {
+            
+            // json出力時のインデント/改行コードを設定
+            gen.setPrettyPrinter(new LineFeedPrinter());
+            
+        }
+        
+        return gen;
+        
+    }
+    
 }
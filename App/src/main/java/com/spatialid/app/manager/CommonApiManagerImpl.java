@@ -5,8 +5,11 @@ package com.spatialid.app.manager;
 import java.net.URI;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
@@ -29,6 +32,7 @@ import com.spatialid.app.common.exception.RetryableOutputTasksException;
 import com.spatialid.app.common.exception.RetryableS3Exception;
 import com.spatialid.app.common.exception.RetryableSidAttributeException;
 import com.spatialid.app.common.exception.RetryableSidAttributeLockedException;
+import com.spatialid.app.common.mapper.JsonCodecRegistry;
 import com.spatialid.app.common.properties.ApiProperty;
 import com.spatialid.app.dto.ErrorResponse;
 import com.spatialid.app.dto.outputtasks.GetOutputTasksRequestDto;
@@ -42,7 +46,7 @@ import com.spatialid.app.dto.sidattribute.PostSidAttributeResponseDto;
  * 共通APIの呼び出しを定義した{@link ICommonApiManager}を実装するクラス．
  * 
  * @author matsumoto kentaro
- * @version 1.1 2024/09/19
+ * @version 1.2 2026/10/18
  */
 @Component
 public class CommonApiManagerImpl implements ICommonApiManager {
@@ -62,13 +66,27 @@ public class CommonApiManagerImpl implements ICommonApiManager {
      */
     private final ApiProperty apiProperty;
     
+    /**
+     * DTOごとの{@link com.fasterxml.jackson.databind.ObjectReader}・{@link com.fasterxml.jackson.databind.ObjectWriter}を保持するクラス．
+     */
+    private final JsonCodecRegistry jsonCodecRegistry;
+    
+    /**
+     * 共通APIを非同期に呼び出す際に使用する{@link ExecutorService}．
+     */
+    private final ExecutorService commonApiExecutor;
+    
     public CommonApiManagerImpl(RestClient restClient,
             ObjectMapper objectMapper,
-            ApiProperty apiProperty) {
+            ApiProperty apiProperty,
+            JsonCodecRegistry jsonCodecRegistry,
+            @Qualifier("commonApiExecutor") ExecutorService commonApiExecutor) {
 
         this.restClient = restClient;
         this.objectMapper = objectMapper;
         this.apiProperty = apiProperty;
+        this.jsonCodecRegistry = jsonCodecRegistry;
+        this.commonApiExecutor = commonApiExecutor;
         
     }
     
@@ -96,13 +114,13 @@ public class CommonApiManagerImpl implements ICommonApiManager {
                         
                         if (response.getStatusCode().isError()) {
                             
-                            ErrorResponse errorResponse = objectMapper.readValue(response.getBody(), ErrorResponse.class);
+                            ErrorResponse errorResponse = jsonCodecRegistry.readerFor(ErrorResponse.class).readValue(response.getBody());
                             
                             return errorResponse;
                             
                         } else {
                             
-                            GetOutputTasksResponseDto getOutputTasksResponseDto = objectMapper.readValue(response.getBody(), GetOutputTasksResponseDto.class);
+                            GetOutputTasksResponseDto getOutputTasksResponseDto = jsonCodecRegistry.readerFor(GetOutputTasksResponseDto.class).readValue(response.getBody());
                             
                             return getOutputTasksResponseDto;
                             
@@ -166,7 +184,7 @@ public class CommonApiManagerImpl implements ICommonApiManager {
                             .build(requestDto.getTaskId()))
                     .contentType(MediaType.APPLICATION_JSON)
                     .accept(MediaType.APPLICATION_JSON)
-                    .body(requestDto)
+                    .body(jsonCodecRegistry.writerFor(requestDto.getClass()).writeValueAsBytes(requestDto))
                     .retrieve()
                     .toBodilessEntity();
 
@@ -187,6 +205,23 @@ public class CommonApiManagerImpl implements ICommonApiManager {
         }
         
     }
+    
+    /**
+     * 設備データ出力更新APIの非同期での呼び出しを実装する．
+     * <p>
+     * {@link #callPutOutputTasks}を共通API用の仮想スレッド上で実行する．
+     * </p>
+     * 
+     * @param requestDto {@link PutOutputTasksRequestDto} リクエストDto
+     * @return 呼び出しの完了を表す{@link CompletableFuture}
+     */
+    @Override
+    @MeasureLatency
+    public CompletableFuture<Void> callPutOutputTasksAsync(PutOutputTasksRequestDto requestDto) {
+        
+        return CompletableFuture.runAsync(() -> callPutOutputTasks(requestDto), commonApiExecutor);
+        
+    }
         
     /**
      * 空間・属性情報参照APIの呼び出しを実装する．
@@ -212,18 +247,19 @@ public class CommonApiManagerImpl implements ICommonApiManager {
             
             Object rawResponse = restClient.method(HttpMethod.POST)
                     .uri(path)
+                    .contentType(MediaType.APPLICATION_JSON)
                     .accept(MediaType.APPLICATION_JSON)
-                    .body(requestDto)
+                    .body(jsonCodecRegistry.writerFor(requestDto.getClass()).writeValueAsBytes(requestDto))
                     .exchange((request, response) -> {
                         
                         if (response.getStatusCode().isError()) {
                             
-                            ErrorResponse errorResponse = objectMapper.readValue(response.getBody(), ErrorResponse.class);
+                            ErrorResponse errorResponse = jsonCodecRegistry.readerFor(ErrorResponse.class).readValue(response.getBody());
                             return errorResponse;
                             
                         } else {
                             
-                            PostSidAttributeResponseDto getSidAttributeResponseDto = objectMapper.readValue(response.getBody(), PostSidAttributeResponseDto.class);
+                            PostSidAttributeResponseDto getSidAttributeResponseDto = jsonCodecRegistry.readerFor(PostSidAttributeResponseDto.class).readValue(response.getBody());
                             return getSidAttributeResponseDto;
                             
                         }
@@ -278,6 +314,23 @@ public class CommonApiManagerImpl implements ICommonApiManager {
                 
     }
     
+    /**
+     * 空間・属性情報参照APIの非同期での呼び出しを実装する．
+     * <p>
+     * {@link #callSidAttribute}を共通API用の仮想スレッド上で実行する．
+     * </p>
+     * 
+     * @param requestDto {@link PostSidAttributeRequestDto} リクエストDto
+     * @return 空間・属性情報参照APIのレスポンスを返却する{@link CompletableFuture}
+     */
+    @Override
+    @MeasureLatency
+    public CompletableFuture<PostSidAttributeResponseDto> callSidAttributeAsync(PostSidAttributeRequestDto requestDto) {
+        
+        return CompletableFuture.supplyAsync(() -> callSidAttribute(requestDto), commonApiExecutor);
+        
+    }
+    
     /**
      * S3格納APIの呼び出しを実装する，
      * <p>
@@ -306,12 +359,12 @@ public class CommonApiManagerImpl implements ICommonApiManager {
                         
                         if (response.getStatusCode().isError()) {
                             
-                            ErrorResponse errorResponse = objectMapper.readValue(response.getBody(), ErrorResponse.class);
+                            ErrorResponse errorResponse = jsonCodecRegistry.readerFor(ErrorResponse.class).readValue(response.getBody());
                             return errorResponse;
                             
                         } else {
                             
-                            PostS3ResponseDto postS3ResponseDto = objectMapper.readValue(response.getBody(), PostS3ResponseDto.class);
+                            PostS3ResponseDto postS3ResponseDto = jsonCodecRegistry.readerFor(PostS3ResponseDto.class).readValue(response.getBody());
                             return postS3ResponseDto;
                         }
                         
@@ -0,0 +1,322 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.manager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+import org.springframework.stereotype.Component;
+
+import com.spatialid.app.common.exception.RetryableException;
+import com.spatialid.app.common.exception.RetryableFileProcessingException;
+import com.spatialid.app.common.properties.BatchProperty;
+import com.spatialid.app.common.spatialid.SpatialIdBuffer;
+import com.spatialid.app.dto.outputtasks.OutputTasksDto;
+import com.spatialid.app.dto.outputtasks.TaskRequestDto;
+
+/**
+ * 格納済みの出力ファイルの再利用を定義した{@link IExportCacheManager}を実装するクラス．
+ * <p>
+ * 要求内容から生成したキーごとに、圧縮前のJSONのダイジェストと格納先のパスをbatch.propertiesのディレクトリへ記録する．<br>
+ * メタデータ管理テーブルは起動ごとに初期化されるため、記録はジョブの実行をまたいで保持できるファイルとする．<br>
+ * 記録の読み書きに失敗した場合は、再利用しない(通常通り格納する)ものとして扱い、処理を継続する．<br>
+ * Fargateのタスクのストレージは実行ごとに破棄されるため、記録先はタスク間で共有・永続化されたボリューム(EFS等)をマウントしたパスとすること．<br>
+ * 記録先が永続化されていない場合、記録は次回の実行で参照されず、再利用は行われない．
+ * </p>
+ * 
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+@Component
+public class ExportCacheManagerImpl implements IExportCacheManager {
+    
+    /**
+     * キーの生成に使用するダイジェストのアルゴリズム．
+     */
+    private static final String CACHE_KEY_ALGORITHM = "SHA-256";
+    
+    /**
+     * 記録ファイルの拡張子．
+     */
+    private static final String CACHE_FILE_EXTENSION = ".properties";
+    
+    /**
+     * 記録ファイルの、圧縮前のJSONのダイジェストのキー．
+     */
+    private static final String PROPERTY_CONTENT_DIGEST = "contentDigest";
+    
+    /**
+     * 記録ファイルの、格納先のパスのキー．
+     */
+    private static final String PROPERTY_FILE_URL = "fileUrl";
+    
+    /**
+     * nullを表す長さ．
+     */
+    private static final int NULL_LENGTH = -1;
+    
+    /**
+     * バッチのプロパティクラス．
+     */
+    private final BatchProperty batchProperty;
+    
+    /**
+     * バッチのユーティリティ処理を実装したコンポーネント．
+     */
+    private final IBatchUtilityManager batchUtilityService;
+    
+    public ExportCacheManagerImpl(BatchProperty batchProperty,
+            IBatchUtilityManager batchUtilityService) {
+        
+        this.batchProperty = batchProperty;
+        this.batchUtilityService = batchUtilityService;
+        
+    }
+    
+    /**
+     * タスクの内容から、出力ファイルを識別するキーを生成する．
+     * <p>
+     * 利用者システムID・空間ID・インフラ事業者ID・返却ズームレベル・更新日時に加え、出力内容に影響する出力形式・圧縮形式・エントリの構成をキーに含める．<br>
+     * 格納先は利用者システムごとに異なるため、利用者システムIDが異なる場合は同一の要求内容でも再利用しない．<br>
+     * 空間IDは、パックされた形式のまま要求された順にキーに含める．
+     * </p>
+     * 
+     * @param extrudedSids 要求された空間IDのバッファ
+     * @param outputTasksDto タスクの内容(利用者システムIDと要求内容)
+     * @return 出力ファイルを識別するキー(16進数、再利用しない設定の場合はnull)
+     * @throws RetryableException 処理に失敗した場合
+     */
+    @Override
+    public String createCacheKey(SpatialIdBuffer extrudedSids, OutputTasksDto outputTasksDto) throws RetryableException {
+        
+        if (!batchProperty.isUploadCacheEnabled()) {
+            
+            return null;
+            
+        }
+        
+        try {
+            
+            final TaskRequestDto taskRequestDto = outputTasksDto.getRequest();
+            
+            final MessageDigest digest = MessageDigest.getInstance(CACHE_KEY_ALGORITHM);
+            
+            updateString(digest, outputTasksDto.getServicerId());
+            
+            final ByteBuffer sid = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+            
+            updateInt(digest, extrudedSids.size());
+            
+            for (int i = 0; i < extrudedSids.size(); i++) {
+                
+                sid.clear();
+                
+                digest.update(sid.putLong(extrudedSids.tileAt(i))
+                        .putInt(extrudedSids.altitudeAt(i))
+                        .array());
+                
+            }
+            
+            final List<String> infraCompanyIdList = taskRequestDto.getInfraCompanyIdList();
+            
+            updateInt(digest, infraCompanyIdList == null ? NULL_LENGTH : infraCompanyIdList.size());
+            
+            if (infraCompanyIdList != null) {
+                
+                infraCompanyIdList.forEach(infraCompanyId -> updateString(digest, infraCompanyId));
+                
+            }
+            
+            updateInt(digest, taskRequestDto.getReturnZoomLevel() == null ? NULL_LENGTH : taskRequestDto.getReturnZoomLevel());
+            
+            updateString(digest, taskRequestDto.getUpdateDate());
+            updateString(digest, batchUtilityService.getExportFormat().getFormatName());
+            updateString(digest, batchUtilityService.getExportCodec().getName());
+            updateString(digest, batchUtilityService.getExportLayout().getLayoutName());
+            
+            return HexFormat.of().formatHex(digest.digest());
+            
+        } catch (Exception e) {
+            
+            throw new RetryableFileProcessingException(e.getMessage());
+            
+        }
+        
+    }
+    
+    /**
+     * 同一の要求内容・ダイジェストで格納済みの出力ファイルのパスを検索する．
+     * 
+     * @param cacheKey 出力ファイルを識別するキー(nullの場合は検索しない)
+     * @param contentDigest 圧縮前のJSONのダイジェスト
+     * @return 格納済みの出力ファイルのパス(キーがnullの場合、記録が存在しない場合、ダイジェストが異なる場合は空)
+     */
+    @Override
+    public Optional<String> findFileUrl(String cacheKey, String contentDigest) {
+        
+        if (cacheKey == null) {
+            
+            return Optional.empty();
+            
+        }
+        
+        final Properties properties = new Properties();
+        
+        try (InputStream in = Files.newInputStream(resolveCacheFile(cacheKey))) {
+            
+            properties.load(in);
+            
+        } catch (IOException e) {
+            
+            // 記録が存在しない場合・読み込めない場合は、再利用しない
+            return Optional.empty();
+            
+        }
+        
+        if (!contentDigest.equals(properties.getProperty(PROPERTY_CONTENT_DIGEST))) {
+            
+            return Optional.empty();
+            
+        }
+        
+        return Optional.ofNullable(properties.getProperty(PROPERTY_FILE_URL));
+        
+    }
+    
+    /**
+     * 格納した出力ファイルのパスを記録する．
+     * <p>
+     * 同一のキーの記録は上書きする．<br>
+     * 書き込み途中の記録を読み込まないよう、一時ファイルへ書き込んだ後に置き換える．
+     * </p>
+     * 
+     * @param cacheKey 出力ファイルを識別するキー(nullの場合は記録しない)
+     * @param contentDigest 圧縮前のJSONのダイジェスト
+     * @param fileUrl 格納した出力ファイルのパス
+     */
+    @Override
+    public void storeFileUrl(String cacheKey, String contentDigest, String fileUrl) {
+        
+        if (cacheKey == null || fileUrl == null) {
+            
+            return;
+            
+        }
+        
+        final Properties properties = new Properties();
+        
+        properties.setProperty(PROPERTY_CONTENT_DIGEST, contentDigest);
+        properties.setProperty(PROPERTY_FILE_URL, fileUrl);
+        
+        Path tempFile = null;
+        
+        try {
+            
+            final Path cacheFile = resolveCacheFile(cacheKey);
+            
+            Files.createDirectories(cacheFile.getParent());
+            
+            tempFile = Files.createTempFile(cacheFile.getParent(), cacheKey, null);
+            
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                
+                properties.store(out, null);
+                
+            }
+            
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            
+        } catch (IOException e) {
+            
+            // 記録に失敗した場合は、次回以降に再利用しないのみのため処理を継続する
+            deleteQuietly(tempFile);
+            
+        }
+        
+    }
+    
+    /**
+     * キーに対応する記録ファイルのパスを返却する．
+     * 
+     * @param cacheKey 出力ファイルを識別するキー
+     * @return 記録ファイルのパス
+     */
+    private Path resolveCacheFile(String cacheKey) {
+        
+        return Path.of(batchProperty.getUploadCachePath(), cacheKey + CACHE_FILE_EXTENSION);
+        
+    }
+    
+    /**
+     * 整数をダイジェストに追加する．
+     * 
+     * @param digest 追加先のダイジェスト
+     * @param value 追加する値
+     */
+    private static void updateInt(MessageDigest digest, int value) {
+        
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+        
+    }
+    
+    /**
+     * 文字列を、長さと共にダイジェストに追加する．
+     * 
+     * @param digest 追加先のダイジェスト
+     * @param value 追加する値(nullの場合は長さのみを追加する)
+     */
+    private static void updateString(MessageDigest digest, String value) {
+        
+        if (value == null) {
+            
+            updateInt(digest, NULL_LENGTH);
+            
+            return;
+            
+        }
+        
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        
+        updateInt(digest, bytes.length);
+        
+        digest.update(bytes);
+        
+    }
+    
+    /**
+     * ファイルが存在する場合に削除し、失敗しても例外を送出しない．
+     * 
+     * @param path 削除対象のパス(nullの場合は何もしない)
+     */
+    private static void deleteQuietly(Path path) {
+        
+        if (path == null) {
+            
+            return;
+            
+        }
+        
+        try {
+            
+            Files.deleteIfExists(path);
+            
+        } catch (IOException e) {
+            
+            // 一時ファイルの削除に失敗しても、記録の読み込みには影響しない
+            
+        }
+        
+    }
+    
+}
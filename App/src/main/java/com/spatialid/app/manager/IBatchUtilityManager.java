@@ -4,10 +4,15 @@ package com.spatialid.app.manager;
 
 import java.util.List;
 
-import org.springframework.core.io.Resource;
-
 import com.spatialid.app.common.exception.NoRetryableException;
 import com.spatialid.app.common.exception.RetryableException;
+import com.spatialid.app.common.export.ExportCodec;
+import com.spatialid.app.common.export.ExportFile;
+import com.spatialid.app.common.export.ExportFormat;
+import com.spatialid.app.common.export.ExportLayout;
+import com.spatialid.app.common.export.StreamingExport;
+import com.spatialid.app.common.spatialid.SpatialIdBuffer;
+import com.spatialid.app.common.spatialid.SpatialIdList;
 import com.spatialid.app.dto.ParameterDto;
 import com.spatialid.app.dto.sidattribute.SidAttributeDto;
 
@@ -15,7 +20,7 @@ import com.spatialid.app.dto.sidattribute.SidAttributeDto;
  * バッチのユーティリティ処理を定義するインターフェース．
  * 
  * @author matsumoto kentaro
- * @version 1.0 2024/09/19
+ * @version 1.7 2026/10/18
  */
 public interface IBatchUtilityManager {
     
@@ -33,38 +38,138 @@ public interface IBatchUtilityManager {
      * @param extrudedSids 鉛直方向の情報が存在する空間IDのリスト
      * @return 平面化された空間IDのリスト
      * @throws RetryableException 処理に失敗した場合
+     * @throws NoRetryableException 形式不正・範囲外の空間IDが含まれる場合
+     */
+    public List<String> flattenSids(List<String> extrudedSids) throws RetryableException, NoRetryableException;
+    
+    /**
+     * 空間IDのリストを検証し、パックされた形式へ変換する機能を提供するメソッド．
+     * 
+     * @param sids 空間IDのリスト
+     * @return パックされた空間IDを保持するバッファ
+     * @throws RetryableException 処理に失敗した場合
+     * @throws NoRetryableException 形式不正・範囲外の空間IDが含まれる場合
+     */
+    public SpatialIdBuffer encodeSids(List<String> sids) throws RetryableException, NoRetryableException;
+    
+    /**
+     * パックされた空間IDの平面化を提供するメソッド．
+     * 
+     * @param extrudedSids 鉛直方向の情報が存在する空間IDのバッファ
+     * @return 重複を除いた平面化済みの空間IDのリスト
+     * @throws RetryableException 処理に失敗した場合
+     */
+    public SpatialIdList flattenSids(SpatialIdBuffer extrudedSids) throws RetryableException;
+    
+    /**
+     * 平面化した空間IDのズームレベルを単一のズームレベルへ揃える機能を提供するメソッド．
+     * 
+     * @param flattenedSids 重複を除いた平面化済みの空間IDのリスト
+     * @param returnZoomLevel タスクで指定された返却ズームレベル
+     * @return ズームレベルを揃えた空間IDのリスト(揃えない場合は引数のリスト)
+     * @throws RetryableException 処理に失敗した場合
+     */
+    public SpatialIdList normalizeSids(SpatialIdList flattenedSids, Integer returnZoomLevel) throws RetryableException;
+    
+    /**
+     * 平面化した空間IDについて、子タイルが揃っている場合の親タイルへの集約を提供するメソッド．
+     * 
+     * @param flattenedSids 重複を除いた平面化済みの空間IDのリスト
+     * @return 集約された空間IDのリスト(集約を行わない場合は引数のリスト)
+     * @throws RetryableException 処理に失敗した場合
      */
-    public List<String> flattenSids(List<String> extrudedSids) throws RetryableException;
+    public SpatialIdList coalesceSids(SpatialIdList flattenedSids) throws RetryableException;
     
     /**
-     * 空間・属性情報リストを元にしたファイル作成を提供するメソッド．
+     * 空間IDのリストを、件数が上限以下となるようにモートン順に分割する機能を提供するメソッド．
+     * 
+     * @param sids 空間IDのリスト
+     * @param chunkSize 1分割あたりの件数の上限
+     * @return 分割された空間IDのリスト
+     * @throws RetryableException 処理に失敗した場合
+     */
+    public List<SpatialIdList> chunkSids(SpatialIdList sids, int chunkSize) throws RetryableException;
+    
+    /**
+     * 空間・属性情報リストについて、要求されたボクセルと重なる空間IDへの絞り込みを提供するメソッド．
      * 
      * @param sidAttributeList 空間・属性情報リスト
-     * @param jsonPath jsonファイルのパス
-     * @param zipPath 圧縮ファイルのパス
+     * @param extrudedSids 要求された鉛直方向の情報が存在する空間IDのバッファ
+     * @return 絞り込んだ空間・属性情報リスト(絞り込みを行わない場合は引数のリスト)
+     */
+    public List<SidAttributeDto> filterSidAttributes(List<SidAttributeDto> sidAttributeList, SpatialIdBuffer extrudedSids);
+    
+    /**
+     * 空間・属性情報参照APIに指定する返却ズームレベルの決定を提供するメソッド．
+     * 
+     * @param returnZoomLevel タスクで指定された返却ズームレベル
+     * @param flattenedSids 集約前の空間IDのリスト
+     * @param requestSids APIへ送信する空間IDのリスト
+     * @return 返却ズームレベル
+     */
+    public Integer resolveReturnZoomLevel(Integer returnZoomLevel, SpatialIdList flattenedSids, SpatialIdList requestSids);
+    
+    /**
+     * 空間・属性情報リストを元にした圧縮ファイル作成を提供するメソッド．
+     * 
+     * @param sidAttributeList 空間・属性情報リスト
+     * @param entryName 圧縮ファイル内のjsonファイル名
+     * @param zipPath 圧縮ファイルのパス(圧縮ファイルをファイルへ書き出す場合の出力先)
+     * @return 作成した圧縮ファイルと、書き込み時に算出したダイジェスト
      * @throws RetryableException 処理に失敗した場合
      */
-    public void createFile(List<SidAttributeDto> sidAttributeList, String jsonPath, String zipPath) throws RetryableException;
-        
+    public ExportFile createFile(List<SidAttributeDto> sidAttributeList, String entryName, String zipPath) throws RetryableException;
+    
     /**
-     * ファイルの取得を提供するメソッド．
+     * 空間・属性情報リストを元にした、圧縮ファイルの読み出しと並行した書き込みの開始を提供するメソッド．
      * 
-     * @param path 取得対象のパス．
-     * @return {@link Resource}で取得されたファイル
+     * @param sidAttributeList 空間・属性情報リスト
+     * @param entryName 圧縮ファイル内のjsonファイル名
+     * @param zipPath 圧縮ファイルのパス(読み出し用のファイル名に使用する)
+     * @return 書き込み中の圧縮ファイル
      * @throws RetryableException 処理に失敗した場合
      */
-    public Resource getFileAsResource(String path) throws RetryableException;
+    public StreamingExport openStreamingFile(List<SidAttributeDto> sidAttributeList, String entryName, String zipPath) throws RetryableException;
     
     /**
-     * ファイル提供するメソッド．
+     * 並行して書き込んだ圧縮ファイルの、書き込みの完了の待機を提供するメソッド．
+     * 
+     * @param streamingExport 書き込み中の圧縮ファイル
+     * @return 作成した圧縮ファイルと、書き込み時に算出したダイジェスト
+     * @throws RetryableException 書き込みに失敗した場合
+     */
+    public ExportFile finishStreamingFile(StreamingExport streamingExport) throws RetryableException;
+    
+    /**
+     * 出力ファイルの形式を提供するメソッド．
+     * 
+     * @return 出力ファイルの形式
+     */
+    public ExportFormat getExportFormat();
+    
+    /**
+     * 圧縮ファイル内のエントリの構成を提供するメソッド．
+     * 
+     * @return 圧縮ファイル内のエントリの構成
+     */
+    public ExportLayout getExportLayout();
+    
+    /**
+     * 出力ファイルの圧縮形式を提供するメソッド．
+     * 
+     * @return 出力ファイルの圧縮形式
+     */
+    public ExportCodec getExportCodec();
+        
+    /**
+     * ファイル削除を提供するメソッド．
      * <p>
-     * {@link IBatchUtilityManager#createFile(List, String)}で作成されたファイルを全て削除する．
+     * {@link IBatchUtilityManager#createFile(List, String, String)}で作成されたファイルを削除する．
      * </p>
      * 
-     * @param jsonPath jsonファイルのパス
      * @param zipPath 圧縮ファイルのパス
      * @throws NoRetryableException リトライ処理を行わず、異常終了することを示す例外
      */
-    public void deleteFiles(String jsonPath, String zipPath) throws NoRetryableException;
+    public void deleteFiles(String zipPath) throws NoRetryableException;
 
 }
@@ -2,6 +2,8 @@
 
 package com.spatialid.app.manager;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.util.MultiValueMap;
 
 import com.spatialid.app.common.exception.NoRetryableException;
@@ -23,7 +25,7 @@ import com.spatialid.app.dto.sidattribute.PostSidAttributeResponseDto;
  * 共通APIの呼び出しを定義するインターフェース．
  * 
  * @author matsumoto kentaro
- * @version 1.0 2024/09/19
+ * @version 1.1 2026/10/18
  */
 public interface ICommonApiManager {
     
@@ -47,6 +49,14 @@ public interface ICommonApiManager {
      * @throws RetryableException
      */
     public void callPutOutputTasks(PutOutputTasksRequestDto requestDto) throws RetryableException;
+    
+    /**
+     * 設備データ出力更新APIの非同期での呼び出しを提供する．
+     * 
+     * @param requestDto {@link PutOutputTasksRequestDto} リクエストDto
+     * @return 呼び出しの完了を表す{@link CompletableFuture}(失敗時は{@link RetryableOutputTasksException}で例外完了する)
+     */
+    public CompletableFuture<Void> callPutOutputTasksAsync(PutOutputTasksRequestDto requestDto);
         
     /**
      * 空間・属性情報参照APIの呼び出しを提供する．
@@ -61,6 +71,14 @@ public interface ICommonApiManager {
      */
     public PostSidAttributeResponseDto callSidAttribute(PostSidAttributeRequestDto requestDto) throws RetryableException, NoRetryableException;
     
+    /**
+     * 空間・属性情報参照APIの非同期での呼び出しを提供する．
+     * 
+     * @param requestDto {@link PostSidAttributeRequestDto} リクエストDto
+     * @return 空間・属性情報参照APIのレスポンスを返却する{@link CompletableFuture}(失敗時は{@link #callSidAttribute}と同じ例外で例外完了する)
+     */
+    public CompletableFuture<PostSidAttributeResponseDto> callSidAttributeAsync(PostSidAttributeRequestDto requestDto);
+    
     /**
      * S3格納APIの呼び出しを提供する．
      * 
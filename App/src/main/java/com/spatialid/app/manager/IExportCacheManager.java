@@ -0,0 +1,47 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.manager;
+
+import java.util.Optional;
+
+import com.spatialid.app.common.exception.RetryableException;
+import com.spatialid.app.common.spatialid.SpatialIdBuffer;
+import com.spatialid.app.dto.outputtasks.OutputTasksDto;
+
+/**
+ * 格納済みの出力ファイルの再利用を定義するインターフェース．
+ * 
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+public interface IExportCacheManager {
+    
+    /**
+     * タスクの内容から、出力ファイルを識別するキーの生成を提供するメソッド．
+     * 
+     * @param extrudedSids 要求された空間IDのバッファ
+     * @param outputTasksDto タスクの内容(利用者システムIDと要求内容)
+     * @return 出力ファイルを識別するキー(再利用しない設定の場合はnull)
+     * @throws RetryableException 処理に失敗した場合
+     */
+    public String createCacheKey(SpatialIdBuffer extrudedSids, OutputTasksDto outputTasksDto) throws RetryableException;
+    
+    /**
+     * 同一の要求内容・ダイジェストで格納済みの出力ファイルのパスの検索を提供するメソッド．
+     * 
+     * @param cacheKey 出力ファイルを識別するキー(nullの場合は検索しない)
+     * @param contentDigest 圧縮前のJSONのダイジェスト
+     * @return 格納済みの出力ファイルのパス(存在しない場合は空)
+     */
+    public Optional<String> findFileUrl(String cacheKey, String contentDigest);
+    
+    /**
+     * 格納した出力ファイルのパスの記録を提供するメソッド．
+     * 
+     * @param cacheKey 出力ファイルを識別するキー(nullの場合は記録しない)
+     * @param contentDigest 圧縮前のJSONのダイジェスト
+     * @param fileUrl 格納した出力ファイルのパス
+     */
+    public void storeFileUrl(String cacheKey, String contentDigest, String fileUrl);
+    
+}
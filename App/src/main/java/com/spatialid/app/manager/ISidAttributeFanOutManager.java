@@ -0,0 +1,37 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.manager;
+
+import java.util.List;
+import java.util.Map;
+
+import com.spatialid.app.common.exception.NoRetryableException;
+import com.spatialid.app.common.exception.RetryableException;
+import com.spatialid.app.common.spatialid.SpatialIdList;
+import com.spatialid.app.dto.sidattribute.PostSidAttributeRequestDto;
+import com.spatialid.app.dto.sidattribute.PostSidAttributeResponseDto;
+import com.spatialid.app.dto.sidattribute.SidAttributeDto;
+
+/**
+ * 空間・属性情報参照APIの分割呼び出しを定義するインターフェース．
+ * 
+ * @author matsumoto kentaro
+ * @version 1.1 2026/10/18
+ */
+public interface ISidAttributeFanOutManager {
+    
+    /**
+     * 空間IDを分割し、空間・属性情報参照APIを並行して呼び出す機能を提供する．
+     * 
+     * @param requestDto 空間ID以外の項目を設定したリクエストDto
+     * @param sids 送信する空間IDのリスト
+     * @param completedChunks 分割の識別子ごとの取得済みの結果(リトライ時に再利用する)
+     * @return 分割ごとの結果を統合したレスポンス
+     * @throws RetryableException
+     * @throws NoRetryableException
+     */
+    public PostSidAttributeResponseDto callSidAttribute(PostSidAttributeRequestDto requestDto,
+            SpatialIdList sids,
+            Map<String, List<SidAttributeDto>> completedChunks) throws RetryableException, NoRetryableException;
+    
+}
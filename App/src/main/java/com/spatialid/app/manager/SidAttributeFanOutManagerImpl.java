@@ -0,0 +1,379 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.manager;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.stereotype.Component;
+
+import com.spatialid.app.common.benchmark.annotation.MeasureLatency;
+import com.spatialid.app.common.exception.NoRetryableException;
+import com.spatialid.app.common.exception.RetryableException;
+import com.spatialid.app.common.exception.RetryableSidAttributeException;
+import com.spatialid.app.common.properties.BatchProperty;
+import com.spatialid.app.common.spatialid.SpatialIdList;
+import com.spatialid.app.dto.sidattribute.PostSidAttributeRequestDto;
+import com.spatialid.app.dto.sidattribute.PostSidAttributeResponseDto;
+import com.spatialid.app.dto.sidattribute.SidAttributeDto;
+
+/**
+ * 空間・属性情報参照APIの分割呼び出しを定義した{@link ISidAttributeFanOutManager}を実装するクラス．
+ * 
+ * @author matsumoto kentaro
+ * @version 1.2 2026/10/18
+ */
+@Component
+public class SidAttributeFanOutManagerImpl implements ISidAttributeFanOutManager {
+    
+    /**
+     * 分割の識別子の生成に使用するダイジェストのアルゴリズム．
+     */
+    private static final String CHUNK_FINGERPRINT_ALGORITHM = "SHA-256";
+    
+    /**
+     * 共通APIの呼び出しを実装したコンポーネント．
+     */
+    private final ICommonApiManager commonApiService;
+    
+    /**
+     * バッチのユーティリティ処理を実装したコンポーネント．
+     */
+    private final IBatchUtilityManager batchUtilityService;
+    
+    /**
+     * バッチのプロパティクラス．
+     */
+    private final BatchProperty batchProperty;
+    
+    public SidAttributeFanOutManagerImpl(ICommonApiManager commonApiService,
+            IBatchUtilityManager batchUtilityService,
+            BatchProperty batchProperty) {
+        
+        this.commonApiService = commonApiService;
+        this.batchUtilityService = batchUtilityService;
+        this.batchProperty = batchProperty;
+        
+    }
+    
+    /**
+     * 空間IDを分割し、空間・属性情報参照APIを並行して呼び出す．
+     * <p>
+     * 分割数はbatch.propertiesの分割件数、同時に呼び出す数は同時実行数の上限に従う．<br>
+     * 分割されない場合は1回で呼び出し、レスポンスをそのまま返却する．<br>
+     * 取得済みの分割は呼び出しを行わず、失敗した分割のみを呼び出し直す．<br>
+     * 取得済みの結果は、リクエストの内容と分割に含まれる空間IDから求めた識別子で保持するため、
+     * リトライ時に要求内容や分割が変わった場合は再利用しない．<br>
+     * 一部の分割が失敗した場合は、成功した分割の結果を保存した上で、失敗した分割の例外を送出する．<br>
+     * 各分割の結果は、(インフラ事業者ID, データ種別, オブジェクトID)が同一の設備を1件に統合し、空間IDのリストは和集合とする．
+     * </p>
+     * 
+     * @param requestDto 空間ID以外の項目を設定したリクエストDto
+     * @param sids 送信する空間IDのリスト
+     * @param completedChunks 分割の識別子ごとの取得済みの結果(リトライ時に再利用する)
+     * @return 分割ごとの結果を統合したレスポンス
+     * @throws RetryableException 呼び出しに失敗した場合
+     * @throws NoRetryableException リトライ不可能な理由で呼び出しに失敗した場合
+     */
+    @Override
+    @MeasureLatency
+    public PostSidAttributeResponseDto callSidAttribute(PostSidAttributeRequestDto requestDto,
+            SpatialIdList sids,
+            Map<String, List<SidAttributeDto>> completedChunks) throws RetryableException, NoRetryableException {
+        
+        final int chunkSize = batchProperty.getSidAttributeChunkSize();
+        
+        // 分割件数が未設定、または分割件数以下の場合は1回で呼び出す
+        if (chunkSize <= 0 || sids.size() <= chunkSize) {
+            
+            return commonApiService.callSidAttribute(requestDto.toBuilder()
+                    .sidList(sids)
+                    .build());
+            
+        }
+        
+        final List<SpatialIdList> chunks = batchUtilityService.chunkSids(sids, chunkSize);
+        
+        final List<String> fingerprints = new ArrayList<String>(chunks.size());
+        
+        for (SpatialIdList chunk : chunks) {
+            
+            fingerprints.add(fingerprint(requestDto, chunk));
+            
+        }
+        
+        // 今回の分割に該当しない取得済みの結果は、以降も再利用されないため破棄する
+        completedChunks.keySet().retainAll(new HashSet<String>(fingerprints));
+        
+        final List<Integer> pendingIndexes = new ArrayList<Integer>();
+        
+        for (int i = 0; i < chunks.size(); i++) {
+            
+            if (!completedChunks.containsKey(fingerprints.get(i))) {
+                
+                pendingIndexes.add(i);
+                
+            }
+            
+        }
+        
+        if (!pendingIndexes.isEmpty()) {
+            
+            callChunks(requestDto, chunks, fingerprints, pendingIndexes, completedChunks);
+            
+        }
+        
+        final PostSidAttributeResponseDto responseDto = new PostSidAttributeResponseDto();
+        
+        responseDto.setSidAttributeList(merge(fingerprints, completedChunks));
+        
+        return responseDto;
+        
+    }
+    
+    /**
+     * リクエストの内容と分割に含まれる空間IDから、分割の識別子を生成する．
+     * <p>
+     * 空間ID以外の項目は文字列表現を、空間IDはパックされた形式のまま分割内の順にダイジェストに含める．
+     * </p>
+     * 
+     * @param requestDto 空間ID以外の項目を設定したリクエストDto
+     * @param chunk 分割した空間IDのリスト
+     * @return 分割の識別子(16進数)
+     * @throws RetryableException 処理に失敗した場合
+     */
+    private String fingerprint(PostSidAttributeRequestDto requestDto, SpatialIdList chunk) throws RetryableException {
+        
+        final MessageDigest digest;
+        
+        try {
+            
+            digest = MessageDigest.getInstance(CHUNK_FINGERPRINT_ALGORITHM);
+            
+        } catch (NoSuchAlgorithmException e) {
+            
+            throw new RetryableSidAttributeException(e.getMessage());
+            
+        }
+        
+        digest.update(requestDto.toBuilder()
+                .sidList(null)
+                .build()
+                .toString()
+                .getBytes(StandardCharsets.UTF_8));
+        
+        final ByteBuffer tile = ByteBuffer.allocate(Long.BYTES);
+        
+        for (int i = 0; i < chunk.size(); i++) {
+            
+            digest.update(tile.clear().putLong(chunk.tileAt(i)).array());
+            
+        }
+        
+        return HexFormat.of().formatHex(digest.digest());
+        
+    }
+    
+    /**
+     * 未取得の分割について、同時実行数の上限内で並行して呼び出す．
+     * <p>
+     * 呼び出しは共通APIの非同期呼び出しで行い、同時実行数は{@link Semaphore}で制限する．<br>
+     * いずれかの分割が失敗した時点で以降の分割は呼び出さず、呼び出し済みの分割の完了を待って例外を送出する．<br>
+     * 割り込まれた場合は以降の分割を呼び出さずに例外を送出する．
+     * 呼び出し済みの分割は共通APIのスレッドで実行中のため中断できず、結果は破棄する．
+     * </p>
+     * 
+     * @param requestDto 空間ID以外の項目を設定したリクエストDto
+     * @param chunks 分割した空間IDのリスト
+     * @param fingerprints 分割の識別子
+     * @param pendingIndexes 未取得の分割の位置
+     * @param completedChunks 分割の識別子ごとの取得済みの結果
+     * @throws RetryableException 呼び出しに失敗した場合
+     * @throws NoRetryableException リトライ不可能な理由で呼び出しに失敗した場合
+     */
+    private void callChunks(PostSidAttributeRequestDto requestDto,
+            List<SpatialIdList> chunks,
+            List<String> fingerprints,
+            List<Integer> pendingIndexes,
+            Map<String, List<SidAttributeDto>> completedChunks) throws RetryableException, NoRetryableException {
+        
+        final Semaphore permits = new Semaphore(Math.max(1, batchProperty.getSidAttributeConcurrency()));
+        
+        final AtomicBoolean failed = new AtomicBoolean();
+        
+        final List<CompletableFuture<PostSidAttributeResponseDto>> futures = new ArrayList<CompletableFuture<PostSidAttributeResponseDto>>();
+        
+        try {
+            
+            for (int index : pendingIndexes) {
+                
+                // 失敗した分割は許可を返却してから通知するため、待機中に失敗した場合も取得後に検知できる
+                if (failed.get()) {
+                    
+                    break;
+                    
+                }
+                
+                permits.acquire();
+                
+                if (failed.get()) {
+                    
+                    permits.release();
+                    
+                    break;
+                    
+                }
+                
+                final PostSidAttributeRequestDto chunkRequestDto = requestDto.toBuilder()
+                        .sidList(chunks.get(index))
+                        .build();
+                
+                futures.add(commonApiService.callSidAttributeAsync(chunkRequestDto)
+                        .whenComplete((responseDto, throwable) -> {
+                            
+                            if (throwable != null) {
+                                
+                                failed.set(true);
+                                
+                            }
+                            
+                            permits.release();
+                            
+                        }));
+                
+            }
+            
+        } catch (InterruptedException e) {
+            
+            Thread.currentThread().interrupt();
+            
+            throw new RetryableSidAttributeException(e.getMessage());
+            
+        }
+        
+        RuntimeException failure = null;
+        
+        // 呼び出した分割はpendingIndexesの先頭から順に対応する
+        for (int i = 0; i < futures.size(); i++) {
+            
+            try {
+                
+                final List<SidAttributeDto> sidAttributeList = futures.get(i).join().getSidAttributeList();
+                
+                completedChunks.put(fingerprints.get(pendingIndexes.get(i)), sidAttributeList == null ? List.of() : sidAttributeList);
+                
+            } catch (CompletionException | CancellationException e) {
+                
+                failure = selectFailure(failure, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                
+            }
+            
+        }
+        
+        if (failure != null) {
+            
+            throw failure;
+            
+        }
+        
+    }
+    
+    /**
+     * 複数の分割が失敗した場合に、送出する例外を選択する．
+     * <p>
+     * リトライしても成功しない例外を優先し、それ以外は最初に失敗した分割の例外とする．
+     * </p>
+     * 
+     * @param current 選択済みの例外
+     * @param cause 分割の呼び出しで発生した例外
+     * @return 送出する例外
+     */
+    private RuntimeException selectFailure(RuntimeException current, Throwable cause) {
+        
+        final RuntimeException failure = cause instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new RetryableSidAttributeException(cause.getMessage());
+        
+        if (current == null || (!(current instanceof NoRetryableException) && failure instanceof NoRetryableException)) {
+            
+            return failure;
+            
+        }
+        
+        return current;
+        
+    }
+    
+    /**
+     * 分割ごとの結果を、分割順に統合する．
+     * 
+     * @param fingerprints 分割の識別子(分割順)
+     * @param completedChunks 分割の識別子ごとの取得済みの結果
+     * @return 統合した空間・属性情報リスト
+     */
+    private List<SidAttributeDto> merge(List<String> fingerprints, Map<String, List<SidAttributeDto>> completedChunks) {
+        
+        final Map<List<String>, SidAttributeDto> mergedMap = new LinkedHashMap<List<String>, SidAttributeDto>();
+        
+        final Map<List<String>, Set<String>> sidSets = new LinkedHashMap<List<String>, Set<String>>();
+        
+        for (String fingerprint : fingerprints) {
+            
+            final List<SidAttributeDto> sidAttributeList = completedChunks.get(fingerprint);
+            
+            if (sidAttributeList == null) {
+                
+                continue;
+                
+            }
+            
+            for (SidAttributeDto sidAttribute : sidAttributeList) {
+                
+                final List<String> key = Arrays.asList(sidAttribute.getInfraCompanyId(),
+                        sidAttribute.getDataType(),
+                        sidAttribute.getObjectId());
+                
+                final Set<String> sidSet = sidSets.computeIfAbsent(key, k -> new LinkedHashSet<String>());
+                
+                if (sidAttribute.getSidList() != null) {
+                    
+                    sidSet.addAll(sidAttribute.getSidList());
+                    
+                }
+                
+                mergedMap.putIfAbsent(key, sidAttribute);
+                
+            }
+            
+        }
+        
+        final List<SidAttributeDto> mergedList = new ArrayList<SidAttributeDto>(mergedMap.size());
+        
+        // 取得済みの結果はリトライ時に再利用するため、統合結果は複製に対して設定する
+        for (Map.Entry<List<String>, SidAttributeDto> entry : mergedMap.entrySet()) {
+            
+            mergedList.add(entry.getValue().withSidList(new ArrayList<String>(sidSets.get(entry.getKey()))));
+            
+        }
+        
+        return mergedList;
+        
+    }
+    
+}
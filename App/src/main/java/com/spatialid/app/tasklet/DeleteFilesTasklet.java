@@ -19,7 +19,7 @@ import com.spatialid.app.manager.IBatchUtilityManager;
  * ファイルの削除を行うクラス．
  * 
  * @author matsumoto kentaro
- * @version 1.1 2024/09/26
+ * @version 1.2 2026/10/18
  */
 @Component
 @StepScope
@@ -62,26 +62,17 @@ public class DeleteFilesTasklet implements Tasklet {
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext context) {
         
-        StringBuilder jsonPathBuilder = new StringBuilder();
-        
-        String jsonPath = jsonPathBuilder.append(batchProperty.getExportPath())
-                .append("/")
-                .append(taskId)
-                .append(BatchCommonConstant.EXPORT_FILE_SURFIX)
-                .append(BatchCommonConstant.EXPORT_FILE_EXTENTION)
-                .toString();
-            
         StringBuilder zipFilePathBuilder = new StringBuilder();
         
         String zipPath = zipFilePathBuilder.append(batchProperty.getExportPath())
             .append("/")
             .append(taskId)
             .append(BatchCommonConstant.EXPORT_FILE_SURFIX)
-            .append(BatchCommonConstant.FILE_COMPRESSION_FORMAT)
+            .append(batchUtilityService.getExportCodec().getExtension())
             .toString();
         
         // ファイル削除を実行
-        batchUtilityService.deleteFiles(jsonPath, zipPath);
+        batchUtilityService.deleteFiles(zipPath);
         
         return RepeatStatus.FINISHED;
         
@@ -6,6 +6,11 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.springframework.batch.core.JobParameter;
@@ -13,7 +18,9 @@ import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.io.Resource;
 import org.springframework.retry.RetryCallback;
 import org.springframework.retry.RetryContext;
 import org.springframework.retry.support.RetryTemplate;
@@ -24,7 +31,12 @@ import org.springframework.util.MultiValueMap;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.spatialid.app.common.constants.BatchCommonConstant;
 import com.spatialid.app.common.exception.RetryableException;
+import com.spatialid.app.common.exception.RetryableOutputTasksException;
+import com.spatialid.app.common.export.ExportFile;
+import com.spatialid.app.common.export.StreamingExport;
 import com.spatialid.app.common.properties.BatchProperty;
+import com.spatialid.app.common.spatialid.SpatialIdBuffer;
+import com.spatialid.app.common.spatialid.SpatialIdList;
 import com.spatialid.app.dto.ParameterDto;
 import com.spatialid.app.dto.outputtasks.GetOutputTasksRequestDto;
 import com.spatialid.app.dto.outputtasks.GetOutputTasksResponseDto;
@@ -34,15 +46,18 @@ import com.spatialid.app.dto.outputtasks.TaskRequestDto;
 import com.spatialid.app.dto.s3.PostS3ResponseDto;
 import com.spatialid.app.dto.sidattribute.PostSidAttributeRequestDto;
 import com.spatialid.app.dto.sidattribute.PostSidAttributeResponseDto;
+import com.spatialid.app.dto.sidattribute.SidAttributeDto;
 import com.spatialid.app.manager.IBatchUtilityManager;
 import com.spatialid.app.manager.ICommonApiManager;
+import com.spatialid.app.manager.IExportCacheManager;
+import com.spatialid.app.manager.ISidAttributeFanOutManager;
 
 /**
  * {@link Tasklet}の実装クラス．<br>
  * 埋設物情報取得処理を定義したクラス．
  * 
  * @author matsumoto kentaro
- * @version 1.1 2024/09/17
+ * @version 1.6 2026/10/18
  */
 @Component
 @StepScope
@@ -53,6 +68,11 @@ public class GetUndergroundFacilityTasklet implements Tasklet {
      */
     private Map<String, Object> paramMap;
     
+    /**
+     * ジョブの{@link ExecutionContext}．
+     */
+    private ExecutionContext jobExecutionContext;
+    
     /**
      * JSONオブジェクトマッパー．
      */
@@ -73,21 +93,41 @@ public class GetUndergroundFacilityTasklet implements Tasklet {
      */
     private final IBatchUtilityManager batchUtilityService;
     
+    /**
+     * 空間・属性情報参照APIの分割呼び出しを実装したコンポーネント．
+     */
+    private final ISidAttributeFanOutManager sidAttributeFanOutService;
+    
+    /**
+     * 格納済みの出力ファイルの再利用を実装したコンポーネント．
+     */
+    private final IExportCacheManager exportCacheService;
+    
     /**
      * リトライ処理のハンドラー．
      */
     private final RetryTemplate retryTemplate;
     
+    /**
+     * 空間・属性情報参照APIの分割ごとの取得済みの結果(キーは分割の識別子)．<br>
+     * リトライ時に、失敗した分割のみを呼び出し直すために保持する．
+     */
+    private final Map<String, List<SidAttributeDto>> completedSidAttributeChunks = new ConcurrentHashMap<String, List<SidAttributeDto>>();
+    
     public GetUndergroundFacilityTasklet(ObjectMapper objectMapper,
             BatchProperty batchProperty,
             ICommonApiManager commonApiService,
             IBatchUtilityManager batchUtilityService,
+            ISidAttributeFanOutManager sidAttributeFanOutService,
+            IExportCacheManager exportCacheService,
             RetryTemplate retryTemplate) {
         
         this.objectMapper = objectMapper;
         this.batchProperty = batchProperty;
         this.commonApiService = commonApiService;
         this.batchUtilityService = batchUtilityService;
+        this.sidAttributeFanOutService = sidAttributeFanOutService;
+        this.exportCacheService = exportCacheService;
         this.retryTemplate = retryTemplate;
         
     }
@@ -115,6 +155,11 @@ public class GetUndergroundFacilityTasklet implements Tasklet {
                 .stream()
                 .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getValue()));
         
+        jobExecutionContext = context.getStepContext()
+                .getStepExecution()
+                .getJobExecution()
+                .getExecutionContext();
+        
         RepeatStatus repeatStatus = RepeatStatus.FINISHED;
         
         // 処理中に例外が発生した場合、ポリシーに則ってリトライが行われる
@@ -175,72 +220,129 @@ public class GetUndergroundFacilityTasklet implements Tasklet {
                     .taskStartDate(now.format(dateTimeFormatter))
                     .build();
             
-            // 設備データ出力タスク更新APIの呼び出し
-            commonApiService.callPutOutputTasks(putTaskProgressDto);
-            
-            //バッチでは1件のみ返却される想定のため、最初のタスクを抽出
-            OutputTasksDto outputTasksDto = getOutputTasksResponseDto.getTaskList().getFirst();
-            
-            // 立体状態の空間IDを抽出
-            final List<String> extrudedSids = outputTasksDto.getRequest().getSidList();
-            
-            // 空間IDの平面化を行う
-            final List<String> flattenedSids = batchUtilityService.flattenSids(extrudedSids);
-            
-            final TaskRequestDto taskRequestDto = outputTasksDto.getRequest();
-            
-            final PostSidAttributeRequestDto postSidAttributeRequestDto = PostSidAttributeRequestDto.builder()
-                    .sidList(flattenedSids)
-                    .isFlatSearch(true)
-                    .servicerId(outputTasksDto.getServicerId())
-                    .infraCompanyIdList(taskRequestDto.getInfraCompanyIdList())
-                    .updateTime(taskRequestDto.getUpdateDate())
-                    .returnZoomLevel(taskRequestDto.getReturnZoomLevel())
-                    .isBatchProcess(true)
-                    .build();
-            
-            // 空間・属性情報参照APIの呼び出し
-            final PostSidAttributeResponseDto postSidAttributeResponseDto = commonApiService.callSidAttribute(postSidAttributeRequestDto);
-            
-            StringBuilder jsonPathBuilder = new StringBuilder();
-            
-            //出力するファイルのパスを設定
-            final String jsonPath = jsonPathBuilder.append(batchProperty.getExportPath())
-                .append("/")
-                .append(parameterDto.getTaskId())
-                .append(BatchCommonConstant.EXPORT_FILE_SURFIX)
-                .append(BatchCommonConstant.EXPORT_FILE_EXTENTION)
-                .toString();
-            
-            StringBuilder zipFilePathBuilder = new StringBuilder();
+            // 設備データ出力タスク更新APIの呼び出し(後続の処理と並行して行い、完了への更新前に待ち合わせる)
+            final CompletableFuture<Void> putTaskProgressFuture = commonApiService.callPutOutputTasksAsync(putTaskProgressDto);
             
-            //出力したファイルの圧縮先を設定
-            final String zipPath = zipFilePathBuilder.append(batchProperty.getExportPath())
-                .append("/")
-                .append(parameterDto.getTaskId())
-                .append(BatchCommonConstant.EXPORT_FILE_SURFIX)
-                .append(BatchCommonConstant.FILE_COMPRESSION_FORMAT)
-                .toString();
+            final String fileUrl;
             
-            // ファイル作成を行う
-            batchUtilityService.createFile(postSidAttributeResponseDto.getSidAttributeList(),
-                    jsonPath,
-                    zipPath);
-            
-            // multipart/form-dataの送信データを作成
-            MultiValueMap<String, Object> postS3RequestMap = new LinkedMultiValueMap<String, Object>();
-            
-            postS3RequestMap.set("uploadFile", batchUtilityService.getFileAsResource(zipPath));
-            postS3RequestMap.set("taskId", parameterDto.getTaskId());
-            postS3RequestMap.set("servicerId", outputTasksDto.getServicerId());
+            try {
+                
+                //バッチでは1件のみ返却される想定のため、最初のタスクを抽出
+                OutputTasksDto outputTasksDto = getOutputTasksResponseDto.getTaskList().getFirst();
+                
+                // 立体状態の空間IDを抽出し、パックされた形式へ変換する
+                final SpatialIdBuffer extrudedSids = batchUtilityService.encodeSids(outputTasksDto.getRequest().getSidList());
+                
+                // 空間IDの平面化を行う
+                final SpatialIdList flattenedSids = batchUtilityService.flattenSids(extrudedSids);
+                
+                final TaskRequestDto taskRequestDto = outputTasksDto.getRequest();
+                
+                // ズームレベルが混在する空間IDを単一のズームレベルへ揃える
+                final SpatialIdList normalizedSids = batchUtilityService.normalizeSids(flattenedSids, taskRequestDto.getReturnZoomLevel());
+                
+                // 子タイルが揃っている空間IDを親タイルへ集約する
+                final SpatialIdList requestSids = batchUtilityService.coalesceSids(normalizedSids);
+                
+                final PostSidAttributeRequestDto postSidAttributeRequestDto = PostSidAttributeRequestDto.builder()
+                        .isFlatSearch(true)
+                        .servicerId(outputTasksDto.getServicerId())
+                        .infraCompanyIdList(taskRequestDto.getInfraCompanyIdList())
+                        .updateTime(taskRequestDto.getUpdateDate())
+                        .returnZoomLevel(batchUtilityService.resolveReturnZoomLevel(taskRequestDto.getReturnZoomLevel(), normalizedSids, requestSids))
+                        .isBatchProcess(true)
+                        .build();
+                
+                // 空間・属性情報参照APIの呼び出し(空間IDを分割して並行に呼び出す)
+                final PostSidAttributeResponseDto postSidAttributeResponseDto = sidAttributeFanOutService.callSidAttribute(postSidAttributeRequestDto,
+                        requestSids,
+                        completedSidAttributeChunks);
+                
+                StringBuilder entryNameBuilder = new StringBuilder();
+                
+                //圧縮ファイル内に出力するファイル名を設定
+                final String entryName = entryNameBuilder.append(parameterDto.getTaskId())
+                    .append(BatchCommonConstant.EXPORT_FILE_SURFIX)
+                    .append(batchUtilityService.getExportFormat().getExtension())
+                    .toString();
+                
+                StringBuilder zipFilePathBuilder = new StringBuilder();
+                
+                //出力する圧縮ファイルのパスを設定
+                final String zipPath = zipFilePathBuilder.append(batchProperty.getExportPath())
+                    .append("/")
+                    .append(parameterDto.getTaskId())
+                    .append(BatchCommonConstant.EXPORT_FILE_SURFIX)
+                    .append(batchUtilityService.getExportCodec().getExtension())
+                    .toString();
+                
+                // 要求された鉛直方向の範囲と重なる空間IDのみに絞り込む
+                final List<SidAttributeDto> sidAttributeList = batchUtilityService.filterSidAttributes(postSidAttributeResponseDto.getSidAttributeList(),
+                        extrudedSids);
+                
+                final String cacheKey = exportCacheService.createCacheKey(extrudedSids, outputTasksDto);
+                
+                final ExportFile exportFile;
+                
+                if (batchProperty.isStreamingUploadEnabled()) {
+                    
+                    // ファイル作成とS3格納APIへの送信を並行して行う(ダイジェストは送信後に判明するため、格納済みのファイルは再利用しない)
+                    try (StreamingExport streamingExport = batchUtilityService.openStreamingFile(sidAttributeList,
+                            entryName,
+                            zipPath)) {
+                        
+                        fileUrl = uploadFile(streamingExport.getResource(), parameterDto, outputTasksDto);
+                        
+                        exportFile = batchUtilityService.finishStreamingFile(streamingExport);
+                        
+                    }
+                    
+                    exportCacheService.storeFileUrl(cacheKey, exportFile.getContentDigest(), fileUrl);
+                    
+                } else {
+                    
+                    // ファイル作成を行う(小さい場合はメモリ上に保持する)
+                    exportFile = batchUtilityService.createFile(sidAttributeList,
+                            entryName,
+                            zipPath);
+                    
+                    // 同一の要求内容・出力内容で格納済みの場合は、S3格納APIを呼び出さずに格納済みのファイルを使用する
+                    final Optional<String> cachedFileUrl = exportCacheService.findFileUrl(cacheKey, exportFile.getContentDigest());
+                    
+                    if (cachedFileUrl.isPresent()) {
+                        
+                        fileUrl = cachedFileUrl.get();
+                        
+                    } else {
+                        
+                        fileUrl = uploadFile(exportFile.getResource(), parameterDto, outputTasksDto);
+                        
+                        exportCacheService.storeFileUrl(cacheKey, exportFile.getContentDigest(), fileUrl);
+                        
+                    }
+                    
+                }
+                
+                // 書き込み時に算出した出力ファイルのダイジェストをcontextに保存
+                jobExecutionContext.putString(BatchCommonConstant.CONTEXT_KEY_CONTENT_DIGEST, exportFile.getContentDigest());
+                jobExecutionContext.putString(BatchCommonConstant.CONTEXT_KEY_ARCHIVE_DIGEST, exportFile.getArchiveDigest());
+                
+            } catch (RuntimeException e) {
+                
+                // 処理中への更新の完了を待ってから送出する
+                awaitTaskProgress(putTaskProgressFuture, e);
+                
+                throw e;
+                
+            }
             
-            // S3格納APIを呼び出し
-            final PostS3ResponseDto postS3ResponseDto = commonApiService.callFileToS3(postS3RequestMap);
+            // 処理中への更新が完了していることを確認する
+            awaitTaskProgress(putTaskProgressFuture, null);
             
             final PutOutputTasksRequestDto putTaskCompleteDto = PutOutputTasksRequestDto.builder()
                     .taskId(parameterDto.getTaskId())
                     .taskStatus(BatchCommonConstant.TASK_STATUS_COMPLETE)
-                    .fileUrl(postS3ResponseDto.getFilePath())
+                    .fileUrl(fileUrl)
                     .build();
             
             // 設備データ出力タスク更新APIの呼び出し(ステータスを完了に更新)
@@ -255,5 +357,69 @@ public class GetUndergroundFacilityTasklet implements Tasklet {
         }
         
     }
+    
+    /**
+     * 出力ファイルをS3格納APIへ送信する．
+     * 
+     * @param uploadFile 送信する出力ファイル
+     * @param parameterDto 実行パラメータのDTO
+     * @param outputTasksDto 設備データ出力タスクのDTO
+     * @return 格納先のパス
+     * @throws RetryableException 送信に失敗した場合
+     */
+    private String uploadFile(Resource uploadFile, ParameterDto parameterDto, OutputTasksDto outputTasksDto) throws RetryableException {
+        
+        // multipart/form-dataの送信データを作成
+        MultiValueMap<String, Object> postS3RequestMap = new LinkedMultiValueMap<String, Object>();
+        
+        postS3RequestMap.set("uploadFile", uploadFile);
+        postS3RequestMap.set("taskId", parameterDto.getTaskId());
+        postS3RequestMap.set("servicerId", outputTasksDto.getServicerId());
+        postS3RequestMap.set("compressionFormat", batchUtilityService.getExportCodec().getName());
+        postS3RequestMap.set("exportFormat", batchUtilityService.getExportFormat().getFormatName());
+        postS3RequestMap.set("exportLayout", batchUtilityService.getExportLayout().getLayoutName());
+        
+        // S3格納APIを呼び出し
+        final PostS3ResponseDto postS3ResponseDto = commonApiService.callFileToS3(postS3RequestMap);
+        
+        return postS3ResponseDto.getFilePath();
+        
+    }
+    
+    /**
+     * 非同期で行った処理中への更新の完了を待ち合わせる．
+     * <p>
+     * 更新が失敗していた場合は、更新時の例外を送出する．<br>
+     * 後続の処理でも例外が発生していた場合は、後続の処理の例外を抑制された例外として付与する．<br>
+     * 更新は後続の処理より先に行われる想定のため、更新の失敗を優先する．
+     * </p>
+     * 
+     * @param putTaskProgressFuture 処理中への更新の完了を表す{@link CompletableFuture}
+     * @param cause 後続の処理で発生した例外(発生していない場合はnull)
+     * @throws RetryableException 処理中への更新に失敗した場合
+     */
+    private void awaitTaskProgress(CompletableFuture<Void> putTaskProgressFuture, RuntimeException cause) throws RetryableException {
+        
+        try {
+            
+            putTaskProgressFuture.join();
+            
+        } catch (CompletionException | CancellationException e) {
+            
+            final RuntimeException failure = e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new RetryableOutputTasksException(e.getMessage());
+            
+            if (cause != null && cause != failure) {
+                
+                failure.addSuppressed(cause);
+                
+            }
+            
+            throw failure;
+            
+        }
+        
+    }
         
 }
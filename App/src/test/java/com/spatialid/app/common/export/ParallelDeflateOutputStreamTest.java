@@ -0,0 +1,256 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * {@link ParallelDeflateOutputStream}のテストクラス．
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+class ParallelDeflateOutputStreamTest {
+
+    /**
+     * 1ブロックあたりのサイズ．
+     */
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * 圧縮を行うスレッド数．
+     */
+    private static final int THREADS = 4;
+
+    /**
+     * 圧縮を行う{@link ExecutorService}．
+     */
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+
+        executor = Executors.newFixedThreadPool(THREADS);
+
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        executor.shutdownNow();
+
+    }
+
+    /**
+     * ブロックの境界を含む各サイズで、展開すると元のデータとなり、CRC-32・サイズが一致すること．
+     *
+     * @param length データのサイズ
+     * @throws Exception 圧縮・展開に失敗した場合
+     */
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, BLOCK_SIZE - 1, BLOCK_SIZE, BLOCK_SIZE + 1, BLOCK_SIZE * 2, BLOCK_SIZE * 9 + 123 })
+    void roundTripsAcrossBlockBoundaries(int length) throws Exception {
+
+        final byte[] data = createData(length);
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        final ParallelDeflateOutputStream deflater = new ParallelDeflateOutputStream(compressed,
+                executor,
+                Deflater.DEFAULT_COMPRESSION,
+                BLOCK_SIZE,
+                THREADS);
+
+        // ブロックの境界をまたぐよう、半端なサイズに分けて書き込む
+        for (int offset = 0; offset < length; offset += 1000) {
+
+            deflater.write(data, offset, Math.min(1000, length - offset));
+
+        }
+
+        deflater.close();
+
+        final CRC32 crc = new CRC32();
+
+        crc.update(data);
+
+        assertArrayEquals(data, inflate(compressed.toByteArray(), length));
+        assertEquals(crc.getValue(), deflater.getCrc());
+        assertEquals(length, deflater.getSize());
+        assertEquals(compressed.size(), deflater.getCompressedSize());
+
+    }
+
+    /**
+     * 1バイトずつ書き込んだ場合も、展開すると元のデータとなること．
+     *
+     * @throws Exception 圧縮・展開に失敗した場合
+     */
+    @Test
+    void roundTripsSingleByteWrites() throws Exception {
+
+        final byte[] data = createData(BLOCK_SIZE + 1);
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        try (ParallelDeflateOutputStream deflater = new ParallelDeflateOutputStream(compressed,
+                executor,
+                Deflater.DEFAULT_COMPRESSION,
+                BLOCK_SIZE,
+                THREADS)) {
+
+            for (byte b : data) {
+
+                deflater.write(b);
+
+            }
+
+        }
+
+        assertArrayEquals(data, inflate(compressed.toByteArray(), data.length));
+
+    }
+
+    /**
+     * 最終ブロックの書き込みに失敗した後に再度完了を要求した場合、{@link IOException}となること．
+     */
+    @Test
+    void finishAfterFailedLastBlockThrowsIOException() throws IOException {
+
+        final ParallelDeflateOutputStream deflater = new ParallelDeflateOutputStream(new FailingOutputStream(),
+                executor,
+                Deflater.DEFAULT_COMPRESSION,
+                BLOCK_SIZE,
+                THREADS);
+
+        // 1ブロックに満たないため、完了の要求時に最終ブロックとして書き込まれる
+        deflater.write(createData(100));
+
+        assertThrows(IOException.class, deflater::finish);
+        assertThrows(IOException.class, deflater::finish);
+        assertThrows(IOException.class, () -> deflater.write(1));
+
+    }
+
+    /**
+     * 途中のブロックの書き込みに失敗した場合、以降の書き込み・完了が{@link IOException}となること．
+     */
+    @Test
+    void writeAfterFailedBlockThrowsIOException() {
+
+        final ParallelDeflateOutputStream deflater = new ParallelDeflateOutputStream(new FailingOutputStream(),
+                executor,
+                Deflater.DEFAULT_COMPRESSION,
+                1024,
+                1);
+
+        assertThrows(IOException.class, () -> deflater.write(createData(1024 * 8)));
+        assertThrows(IOException.class, () -> deflater.write(1));
+        assertThrows(IOException.class, deflater::close);
+
+    }
+
+    /**
+     * 圧縮しやすい部分としにくい部分を含むデータを生成する．
+     *
+     * @param length データのサイズ
+     * @return 生成したデータ
+     */
+    static byte[] createData(int length) {
+
+        final Random random = new Random(length);
+
+        final byte[] data = new byte[length];
+
+        for (int i = 0; i < length; i++) {
+
+            data[i] = (i / 4096) % 2 == 0 ? (byte) ('a' + i % 26) : (byte) random.nextInt();
+
+        }
+
+        return data;
+
+    }
+
+    /**
+     * ヘッダなしのDEFLATEストリームを展開する．
+     *
+     * @param compressed 圧縮したデータ
+     * @param length 展開後のサイズの見込み
+     * @return 展開したデータ
+     * @throws DataFormatException 展開に失敗した場合
+     */
+    private static byte[] inflate(byte[] compressed, int length) throws DataFormatException {
+
+        final Inflater inflater = new Inflater(true);
+
+        try {
+
+            // ヘッダなしの場合、zlibは終端の確認に入力の末尾のダミーの1バイトを必要とする
+            inflater.setInput(Arrays.copyOf(compressed, compressed.length + 1));
+
+            final ByteArrayOutputStream data = new ByteArrayOutputStream(length);
+
+            final byte[] buffer = new byte[8192];
+
+            while (!inflater.finished()) {
+
+                final int inflated = inflater.inflate(buffer);
+
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+
+                    throw new DataFormatException("DEFLATEストリームが終端していません。");
+
+                }
+
+                data.write(buffer, 0, inflated);
+
+            }
+
+            assertEquals(1, inflater.getRemaining());
+
+            return data.toByteArray();
+
+        } finally {
+
+            inflater.end();
+
+        }
+
+    }
+
+    /**
+     * 常に書き込みに失敗する{@link OutputStream}．
+     */
+    private static final class FailingOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+
+            throw new IOException("failed");
+
+        }
+
+    }
+
+}
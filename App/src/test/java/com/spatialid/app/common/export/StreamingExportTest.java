@@ -0,0 +1,208 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * {@link StreamingExport}のテストクラス．
+ * <p>
+ * S3格納APIと同じく、{@link RestClient}のmultipart/form-dataで送信できることを確認する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+class StreamingExportTest {
+
+    /**
+     * 送信するファイル名．
+     */
+    private static final String FILENAME = "task_location.zip";
+
+    /**
+     * 送信先のURL．
+     */
+    private static final String BASE_URL = "http://localhost";
+
+    /**
+     * 書き込みを行う{@link ExecutorService}．
+     */
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().factory());
+
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        executor.close();
+
+    }
+
+    /**
+     * 書き込んだデータが、ファイル名と共にmultipart/form-dataの本体として送信されること．
+     *
+     * @throws IOException 書き込みに失敗した場合
+     */
+    @Test
+    void postsWrittenDataAsMultipartFile() throws IOException {
+
+        final byte[] payload = "0123456789abcdef".repeat(20000).getBytes(StandardCharsets.US_ASCII);
+
+        final RestClient.Builder builder = RestClient.builder().baseUrl(BASE_URL);
+
+        final MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+
+        server.expect(requestTo(BASE_URL + "/s3"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(request -> {
+
+                    final String body = ((MockClientHttpRequest) request).getBodyAsString(StandardCharsets.ISO_8859_1);
+
+                    assertTrue(body.contains("filename=\"" + FILENAME + "\""));
+                    assertTrue(body.contains(new String(payload, StandardCharsets.ISO_8859_1)));
+
+                })
+                .andRespond(withSuccess());
+
+        try (StreamingExport streamingExport = new StreamingExport(FILENAME, 1024, 2)) {
+
+            streamingExport.start(executor, out -> {
+
+                out.write(payload);
+
+                return new ExportFile(streamingExport.getResource(), "content", "archive");
+
+            });
+
+            builder.build()
+                    .post()
+                    .uri("/s3")
+                    .contentType(MediaType.MULTIPART_FORM_DATA)
+                    .body(createRequestMap(streamingExport.getResource()))
+                    .retrieve()
+                    .toBodilessEntity();
+
+            assertEquals("content", streamingExport.finish().getContentDigest());
+
+        }
+
+        server.verify();
+
+    }
+
+    /**
+     * サイズの取得でデータを読み出さないこと．
+     *
+     * @throws IOException 読み出しに失敗した場合
+     */
+    @Test
+    void contentLengthIsUnknownWithoutConsumingData() throws IOException {
+
+        final byte[] payload = "abc".getBytes(StandardCharsets.US_ASCII);
+
+        try (StreamingExport streamingExport = new StreamingExport(FILENAME, 1024, 2)) {
+
+            streamingExport.start(executor, out -> {
+
+                out.write(payload);
+
+                return null;
+
+            });
+
+            final Resource resource = streamingExport.getResource();
+
+            assertEquals(-1, resource.contentLength());
+            assertEquals(FILENAME, resource.getFilename());
+
+            try (var in = resource.getInputStream()) {
+
+                assertEquals("abc", new String(in.readAllBytes(), StandardCharsets.US_ASCII));
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 書き込みに失敗した場合、送信が失敗すること．
+     */
+    @Test
+    void failsPostWhenWritingFails() {
+
+        final RestClient.Builder builder = RestClient.builder().baseUrl(BASE_URL);
+
+        MockRestServiceServer.bindTo(builder).build();
+
+        try (StreamingExport streamingExport = new StreamingExport(FILENAME, 1024, 2)) {
+
+            streamingExport.start(executor, out -> {
+
+                out.write(new byte[4096]);
+
+                throw new IOException("failed");
+
+            });
+
+            assertThrows(RestClientException.class, () -> builder.build()
+                    .post()
+                    .uri("/s3")
+                    .contentType(MediaType.MULTIPART_FORM_DATA)
+                    .body(createRequestMap(streamingExport.getResource()))
+                    .retrieve()
+                    .toBodilessEntity());
+
+            assertThrows(IOException.class, streamingExport::finish);
+
+        }
+
+    }
+
+    /**
+     * S3格納APIの送信データを作成する．
+     *
+     * @param uploadFile 送信するファイル
+     * @return 送信データ
+     */
+    private static MultiValueMap<String, Object> createRequestMap(Resource uploadFile) {
+
+        final MultiValueMap<String, Object> requestMap = new LinkedMultiValueMap<String, Object>();
+
+        requestMap.set("uploadFile", uploadFile);
+        requestMap.set("taskId", "task");
+
+        return requestMap;
+
+    }
+
+}
@@ -0,0 +1,213 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.export;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link ZipArchiveWriter}のテストクラス．
+ * <p>
+ * {@link ParallelDeflateOutputStream}で圧縮したエントリを書き込み、JDKの{@link ZipFile}・{@link ZipInputStream}で読み込めることを確認する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+class ZipArchiveWriterTest {
+
+    /**
+     * 1ブロックあたりのサイズ．
+     */
+    private static final int BLOCK_SIZE = 16 * 1024;
+
+    /**
+     * 圧縮を行うスレッド数．
+     */
+    private static final int THREADS = 4;
+
+    /**
+     * 圧縮を行う{@link ExecutorService}．
+     */
+    private ExecutorService executor;
+
+    /**
+     * 一時ディレクトリ．
+     */
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+
+        executor = Executors.newFixedThreadPool(THREADS);
+
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        executor.shutdownNow();
+
+    }
+
+    /**
+     * 複数のエントリを、{@link ZipFile}・{@link ZipInputStream}で読み込めること．<br>
+     * CRC-32・サイズが、{@link ZipOutputStream}で作成した場合と一致すること．
+     *
+     * @throws IOException 書き込み・読み込みに失敗した場合
+     */
+    @Test
+    void writesEntriesReadableByJdk() throws IOException {
+
+        final Map<String, byte[]> entries = new LinkedHashMap<String, byte[]>();
+
+        entries.put("empty.json", new byte[0]);
+        entries.put("one_block.json", ParallelDeflateOutputStreamTest.createData(BLOCK_SIZE));
+        entries.put("block_minus_one.json", ParallelDeflateOutputStreamTest.createData(BLOCK_SIZE - 1));
+        entries.put("block_plus_one.json", ParallelDeflateOutputStreamTest.createData(BLOCK_SIZE + 1));
+        entries.put("設備_0001.json", ParallelDeflateOutputStreamTest.createData(BLOCK_SIZE * 7 + 5));
+
+        final Path zipFile = tempDir.resolve("archive.zip");
+
+        try (OutputStream out = Files.newOutputStream(zipFile)) {
+
+            out.write(writeArchive(entries));
+
+        }
+
+        final Path expectedFile = tempDir.resolve("expected.zip");
+
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(expectedFile))) {
+
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+
+                out.putNextEntry(new ZipEntry(entry.getKey()));
+                out.write(entry.getValue());
+                out.closeEntry();
+
+            }
+
+        }
+
+        try (ZipFile actual = new ZipFile(zipFile.toFile()); ZipFile expected = new ZipFile(expectedFile.toFile())) {
+
+            assertEquals(entries.size(), actual.size());
+
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+
+                final ZipEntry actualEntry = actual.getEntry(entry.getKey());
+                final ZipEntry expectedEntry = expected.getEntry(entry.getKey());
+
+                assertEquals(expectedEntry.getCrc(), actualEntry.getCrc());
+                assertEquals(expectedEntry.getSize(), actualEntry.getSize());
+                assertEquals(ZipEntry.DEFLATED, actualEntry.getMethod());
+
+                try (InputStream in = actual.getInputStream(actualEntry)) {
+
+                    assertArrayEquals(entry.getValue(), in.readAllBytes());
+
+                }
+
+            }
+
+        }
+
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(zipFile))) {
+
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+
+                final ZipEntry zipEntry = in.getNextEntry();
+
+                assertEquals(entry.getKey(), zipEntry.getName());
+                assertArrayEquals(entry.getValue(), in.readAllBytes());
+
+            }
+
+            assertNull(in.getNextEntry());
+
+        }
+
+    }
+
+    /**
+     * エントリが存在しない場合も、{@link ZipInputStream}で読み込めること．
+     *
+     * @throws IOException 書き込み・読み込みに失敗した場合
+     */
+    @Test
+    void writesEmptyArchive() throws IOException {
+
+        final byte[] archive = writeArchive(Map.of());
+
+        assertEquals(22, archive.length);
+
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(archive))) {
+
+            assertNull(in.getNextEntry());
+
+        }
+
+    }
+
+    /**
+     * エントリを並列に圧縮し、ZIPファイルとして書き込む．
+     *
+     * @param entries エントリ名とデータ
+     * @return ZIPファイル
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private byte[] writeArchive(Map<String, byte[]> entries) throws IOException {
+
+        final ByteArrayOutputStream archiveBytes = new ByteArrayOutputStream();
+
+        try (ZipArchiveWriter archive = new ZipArchiveWriter(archiveBytes)) {
+
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+
+                try (ParallelDeflateOutputStream deflater = new ParallelDeflateOutputStream(archive.beginEntry(entry.getKey(), ZipEntry.DEFLATED),
+                        executor,
+                        Deflater.DEFAULT_COMPRESSION,
+                        BLOCK_SIZE,
+                        THREADS)) {
+
+                    deflater.write(entry.getValue());
+
+                    deflater.finish();
+
+                    archive.endEntry(deflater.getCrc(), deflater.getSize());
+
+                }
+
+            }
+
+        }
+
+        return archiveBytes.toByteArray();
+
+    }
+
+}
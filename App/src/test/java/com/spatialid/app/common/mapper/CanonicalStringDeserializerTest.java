@@ -0,0 +1,105 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.SpringHandlerInstantiator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spatialid.app.common.properties.BatchProperty;
+import com.spatialid.app.dto.sidattribute.PostSidAttributeResponseDto;
+import com.spatialid.app.dto.sidattribute.SidAttributeDto;
+
+/**
+ * {@link CanonicalStringDeserializer}のテストクラス．
+ * <p>
+ * Spring管理の{@link ObjectMapper}ではプールを経由して文字列を共有し、
+ * Spring管理外の{@link ObjectMapper}ではプールを経由せずに読み込めることを確認する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+class CanonicalStringDeserializerTest {
+
+    /**
+     * 2件の設備で、インフラ事業者ID・データ種別・空間IDが重複するレスポンス．
+     */
+    private static final String RESPONSE = """
+            {"sidAttributeList":[
+              {"infraCompanyId":"company","dataType":"type","objectId":"object-1","sidList":["10/0/1/2","10/0/1/3"]},
+              {"infraCompanyId":"company","dataType":"type","objectId":"object-2","sidList":["10/0/1/3","10/0/1/2"]}
+            ]}
+            """;
+
+    /**
+     * Spring管理の{@link ObjectMapper}では、同一内容の文字列が1つのインスタンスを共有し、照合回数・ヒット数が増えること．
+     *
+     * @throws Exception 読み込みに失敗した場合
+     */
+    @Test
+    void sharesDuplicateStringsThroughPool() throws Exception {
+
+        final BatchProperty batchProperty = new BatchProperty();
+        batchProperty.setStringPoolSize(1024);
+
+        final CanonicalStringPool pool = new CanonicalStringPool(batchProperty);
+
+        final List<SidAttributeDto> sidAttributeList;
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+
+            context.registerBean(CanonicalStringPool.class, () -> pool);
+            context.refresh();
+
+            final ObjectMapper objectMapper = new ObjectMapper();
+            objectMapper.setHandlerInstantiator(new SpringHandlerInstantiator(context.getAutowireCapableBeanFactory()));
+
+            sidAttributeList = objectMapper.readValue(RESPONSE, PostSidAttributeResponseDto.class).getSidAttributeList();
+
+        }
+
+        final SidAttributeDto first = sidAttributeList.get(0);
+        final SidAttributeDto second = sidAttributeList.get(1);
+
+        assertSame(first.getInfraCompanyId(), second.getInfraCompanyId());
+        assertSame(first.getDataType(), second.getDataType());
+        assertSame(first.getSidList().get(0), second.getSidList().get(1));
+        assertSame(first.getSidList().get(1), second.getSidList().get(0));
+
+        // 設備ごとにインフラ事業者ID・データ種別・空間ID2件を照合し、2件目の設備は全てプールに存在する
+        assertEquals(8, pool.getLookups());
+        assertEquals(4, pool.getHits());
+        assertEquals(50.0, pool.getHitRate());
+
+    }
+
+    /**
+     * Spring管理外の{@link ObjectMapper}でも、プールを経由せずに読み込めること．
+     *
+     * @throws Exception 読み込みに失敗した場合
+     */
+    @Test
+    void passesThroughWithoutSpring() throws Exception {
+
+        final List<SidAttributeDto> sidAttributeList = new ObjectMapper().readValue(RESPONSE, PostSidAttributeResponseDto.class)
+                .getSidAttributeList();
+
+        final SidAttributeDto first = sidAttributeList.get(0);
+        final SidAttributeDto second = sidAttributeList.get(1);
+
+        assertEquals("company", first.getInfraCompanyId());
+        assertEquals(List.of("10/0/1/2", "10/0/1/3"), first.getSidList());
+        assertEquals(List.of("10/0/1/3", "10/0/1/2"), second.getSidList());
+        assertNotSame(first.getSidList().get(0), second.getSidList().get(1));
+
+    }
+
+}
@@ -0,0 +1,347 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * {@link SpatialIdBitmap}のテストクラス．
+ * <p>
+ * 集合演算と分割の結果を、ズームレベルとモートン番号を連結したキーの{@link TreeSet}と比較する．<br>
+ * コンテナあたりの件数を変えることで、配列形式とビットマップ形式、およびその相互変換を確認する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+class SpatialIdBitmapTest {
+
+    /**
+     * 検証に使用するズームレベル．
+     */
+    private static final int ZOOM = 20;
+
+    /**
+     * 1コンテナが保持するモートン番号の範囲．
+     */
+    private static final int CONTAINER_RANGE = 1 << 16;
+
+    /**
+     * 配列形式からビットマップ形式へ切り替わる件数．
+     */
+    private static final int ARRAY_MAX_SIZE = 4096;
+
+    /**
+     * 和集合・積集合・差集合が、TreeSetでの演算結果と一致すること．
+     *
+     * @param seed 乱数の種
+     */
+    @ParameterizedTest
+    @ValueSource(longs = { 1, 2, 3, 4, 5 })
+    void setOperationsMatchTreeSet(long seed) {
+
+        final Random random = new Random(seed);
+
+        final TreeSet<Long> left = randomKeys(random);
+        final TreeSet<Long> right = randomKeys(random);
+
+        final SpatialIdBitmap leftBitmap = bitmapOf(left);
+        final SpatialIdBitmap rightBitmap = bitmapOf(right);
+
+        final TreeSet<Long> union = new TreeSet<Long>(left);
+        union.addAll(right);
+
+        final TreeSet<Long> intersection = new TreeSet<Long>(left);
+        intersection.retainAll(right);
+
+        final TreeSet<Long> difference = new TreeSet<Long>(left);
+        difference.removeAll(right);
+
+        assertMatches(left, leftBitmap);
+        assertMatches(union, leftBitmap.union(rightBitmap));
+        assertMatches(union, rightBitmap.union(leftBitmap));
+        assertMatches(intersection, leftBitmap.intersect(rightBitmap));
+        assertMatches(intersection, rightBitmap.intersect(leftBitmap));
+        assertMatches(difference, leftBitmap.difference(rightBitmap));
+
+        // 演算によって元のビットマップが変更されないこと
+        assertMatches(left, leftBitmap);
+        assertMatches(right, rightBitmap);
+
+    }
+
+    /**
+     * 配列形式のコンテナが、件数の上限を超えた時点でビットマップ形式へ切り替わっても内容が変わらないこと．
+     */
+    @Test
+    void addConvertsArrayToBitmap() {
+
+        final TreeSet<Long> keys = new TreeSet<Long>();
+
+        final SpatialIdBitmap bitmap = new SpatialIdBitmap();
+
+        // 降順に追加し、末尾以外への挿入も確認する
+        for (int i = ARRAY_MAX_SIZE + 1; 0 <= i; i--) {
+
+            final long key = keyOf(i * 3L);
+
+            assertTrue(bitmap.add(tileOf(key)));
+
+            keys.add(key);
+
+        }
+
+        assertFalse(bitmap.add(tileOf(keyOf(0))));
+        assertFalse(bitmap.add(tileOf(keyOf(3L * ARRAY_MAX_SIZE))));
+        assertFalse(bitmap.contains(tileOf(keyOf(1))));
+
+        assertMatches(keys, bitmap);
+
+    }
+
+    /**
+     * 配列形式同士の和集合が上限を超える場合はビットマップ形式となり、
+     * ビットマップ形式同士の積集合・差集合が上限以下となる場合は配列形式に戻っても内容が変わらないこと．
+     */
+    @Test
+    void setOperationsConvertBetweenArrayAndBitmap() {
+
+        final TreeSet<Long> even = new TreeSet<Long>();
+        final TreeSet<Long> odd = new TreeSet<Long>();
+
+        for (int i = 0; i < ARRAY_MAX_SIZE; i++) {
+
+            even.add(keyOf(i * 2L));
+            odd.add(keyOf(i * 2L + 1));
+
+        }
+
+        final SpatialIdBitmap evenBitmap = bitmapOf(even);
+        final SpatialIdBitmap oddBitmap = bitmapOf(odd);
+
+        final TreeSet<Long> all = new TreeSet<Long>(even);
+        all.addAll(odd);
+
+        final SpatialIdBitmap allBitmap = evenBitmap.union(oddBitmap);
+
+        assertMatches(all, allBitmap);
+
+        final TreeSet<Long> lower = new TreeSet<Long>();
+
+        for (int i = 0; i < ARRAY_MAX_SIZE + 10; i++) {
+
+            lower.add(keyOf(i));
+
+        }
+
+        final SpatialIdBitmap lowerBitmap = bitmapOf(lower);
+
+        final TreeSet<Long> intersection = new TreeSet<Long>(all);
+        intersection.retainAll(lower);
+
+        final TreeSet<Long> difference = new TreeSet<Long>(all);
+        difference.removeAll(lower);
+
+        assertMatches(intersection, allBitmap.intersect(lowerBitmap));
+        assertMatches(difference, allBitmap.difference(lowerBitmap));
+        assertMatches(even, allBitmap.difference(oddBitmap));
+        assertMatches(new TreeSet<Long>(), allBitmap.difference(allBitmap));
+
+    }
+
+    /**
+     * 分割した結果を連結すると全件のリストと一致し、各分割が上限件数ちょうど(末尾のみ上限以下)となること．
+     *
+     * @param maxTiles 1分割あたりの件数の上限
+     */
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 7, 4095, 4096, 4097, 65535, 65536, 65537, 200000 })
+    void splitKeepsMortonOrderAndChunkBoundaries(int maxTiles) {
+
+        final TreeSet<Long> keys = randomKeys(new Random(maxTiles));
+
+        final SpatialIdBitmap bitmap = bitmapOf(keys);
+
+        final List<SpatialIdList> chunks = bitmap.split(maxTiles);
+
+        final List<Long> expected = new ArrayList<Long>(keys);
+
+        int position = 0;
+
+        for (int i = 0; i < chunks.size(); i++) {
+
+            final SpatialIdList chunk = chunks.get(i);
+
+            if (i < chunks.size() - 1) {
+
+                assertEquals(maxTiles, chunk.size());
+
+            } else {
+
+                assertTrue(0 < chunk.size() && chunk.size() <= maxTiles);
+
+            }
+
+            for (int j = 0; j < chunk.size(); j++) {
+
+                assertEquals(tileOf(expected.get(position++)), chunk.tileAt(j));
+
+            }
+
+        }
+
+        assertEquals(expected.size(), position);
+        assertEquals((expected.size() + maxTiles - 1) / maxTiles, chunks.size());
+
+    }
+
+    /**
+     * 空のビットマップを分割すると、空のリストとなること．
+     */
+    @Test
+    void splitEmptyBitmap() {
+
+        assertTrue(new SpatialIdBitmap().split(10).isEmpty());
+
+    }
+
+    /**
+     * 異なるズームレベルの空間IDは、ズームレベル順に並ぶこと．
+     */
+    @Test
+    void ordersByZoomThenMorton() {
+
+        final SpatialIdBitmap bitmap = new SpatialIdBitmap();
+
+        final long fine = SpatialIdCodec.pack(ZOOM, 0, 0);
+        final long coarse = SpatialIdCodec.pack(ZOOM - 1, 1, 1);
+
+        bitmap.add(fine);
+        bitmap.add(coarse);
+
+        final SpatialIdList list = bitmap.toSpatialIdList();
+
+        assertEquals(2, list.size());
+        assertEquals(coarse, list.tileAt(0));
+        assertEquals(fine, list.tileAt(1));
+
+    }
+
+    /**
+     * コンテナごとに密度を変えた、キーの集合を生成する．
+     * <p>
+     * 疎なコンテナは配列形式、密なコンテナはビットマップ形式となる．
+     * </p>
+     *
+     * @param random 乱数
+     * @return キーの集合
+     */
+    private static TreeSet<Long> randomKeys(Random random) {
+
+        final double[] densities = { 0.001, 0.03, 0.0625, 0.3, 0.95 };
+
+        final TreeSet<Long> keys = new TreeSet<Long>();
+
+        for (int container = 0; container < 6; container++) {
+
+            final double density = densities[random.nextInt(densities.length)];
+
+            final long base = (long) container * CONTAINER_RANGE;
+
+            for (int i = 0; i < CONTAINER_RANGE; i++) {
+
+                if (random.nextDouble() < density) {
+
+                    keys.add(keyOf(base + i));
+
+                }
+
+            }
+
+        }
+
+        return keys;
+
+    }
+
+    /**
+     * キーの集合からビットマップを生成する．
+     *
+     * @param keys キーの集合
+     * @return ビットマップ
+     */
+    private static SpatialIdBitmap bitmapOf(TreeSet<Long> keys) {
+
+        final SpatialIdBitmap bitmap = new SpatialIdBitmap();
+
+        for (long key : keys) {
+
+            bitmap.add(tileOf(key));
+
+        }
+
+        return bitmap;
+
+    }
+
+    /**
+     * ビットマップの内容が、キーの集合と一致することを確認する．
+     *
+     * @param expected 期待するキーの集合
+     * @param bitmap ビットマップ
+     */
+    private static void assertMatches(TreeSet<Long> expected, SpatialIdBitmap bitmap) {
+
+        assertEquals(expected.size(), bitmap.cardinality());
+
+        final SpatialIdList list = bitmap.toSpatialIdList();
+
+        assertEquals(expected.size(), list.size());
+
+        int position = 0;
+
+        for (long key : expected) {
+
+            assertTrue(bitmap.contains(tileOf(key)));
+            assertEquals(tileOf(key), list.tileAt(position++));
+
+        }
+
+    }
+
+    /**
+     * 検証用のズームレベルにおけるキーを求める．
+     *
+     * @param morton モートン番号
+     * @return キー
+     */
+    private static long keyOf(long morton) {
+
+        return ((long) ZOOM << (SpatialIdCodec.MAX_ZOOM * 2)) | morton;
+
+    }
+
+    /**
+     * キーから空間IDを求める．
+     *
+     * @param key ズームレベルとモートン番号を連結したキー
+     * @return パックされた水平方向の空間ID
+     */
+    private static long tileOf(long key) {
+
+        return SpatialIdCodec.fromMorton((int) (key >>> (SpatialIdCodec.MAX_ZOOM * 2)), key & ((1L << (SpatialIdCodec.MAX_ZOOM * 2)) - 1));
+
+    }
+
+}
@@ -0,0 +1,139 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SpatialIdBuffer}のテストクラス．
+ * <p>
+ * 平面化の結果を、文字列を分割して鉛直方向のインデックスを置き換える従来の実装と比較する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+class SpatialIdBufferTest {
+
+    /**
+     * 試行回数．
+     */
+    private static final int ITERATIONS = 200;
+
+    /**
+     * 平面化の結果が、重複を除けば従来の実装と一致すること．
+     */
+    @Test
+    void flattenMatchesStringImplementation() {
+
+        final Random random = new Random(1);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+
+            final List<String> extrudedSids = randomExtrudedSids(random, random.nextInt(500));
+
+            final SpatialIdBuffer buffer = new SpatialIdBuffer();
+
+            extrudedSids.forEach(sid -> SpatialIdCodec.parseInto(sid, buffer));
+
+            final SpatialIdList flattenedSids = buffer.flatten();
+
+            final Set<String> expected = new HashSet<String>(flattenSids(extrudedSids));
+
+            assertEquals(expected, new HashSet<String>(flattenedSids));
+            assertEquals(expected.size(), flattenedSids.size());
+
+        }
+
+    }
+
+    /**
+     * 範囲を指定したビットマップが、範囲内の空間IDのみを平面化すること．
+     */
+    @Test
+    void toBitmapFlattensRange() {
+
+        final Random random = new Random(2);
+
+        final List<String> extrudedSids = randomExtrudedSids(random, 300);
+
+        final SpatialIdBuffer buffer = new SpatialIdBuffer();
+
+        extrudedSids.forEach(sid -> SpatialIdCodec.parseInto(sid, buffer));
+
+        final Set<String> expected = new HashSet<String>(flattenSids(extrudedSids.subList(100, 200)));
+
+        assertEquals(expected, new HashSet<String>(buffer.toBitmap(100, 200).toSpatialIdList()));
+
+    }
+
+    /**
+     * 平面化により重複が生じるよう、狭い範囲に偏った空間IDを生成する．
+     *
+     * @param random 乱数
+     * @param count 件数
+     * @return 空間ID(z/f/x/y)のリスト
+     */
+    private static List<String> randomExtrudedSids(Random random, int count) {
+
+        final List<String> extrudedSids = new ArrayList<String>(count);
+
+        for (int i = 0; i < count; i++) {
+
+            if (random.nextInt(4) == 0) {
+
+                extrudedSids.add(SpatialIdCodecTest.randomSid(random));
+
+            } else {
+
+                final int zoom = 20 + random.nextInt(6);
+
+                extrudedSids.add(zoom + "/" + (random.nextInt(8) - 4) + "/" + (1000 + random.nextInt(8)) + "/" + (2000 + random.nextInt(8)));
+
+            }
+
+        }
+
+        return extrudedSids;
+
+    }
+
+    /**
+     * 従来の実装で、空間IDのリストを全て平面化する．
+     *
+     * @param extrudedSids 鉛直方向の情報が存在する空間IDのリスト
+     * @return 平面化された空間IDのリスト
+     */
+    private static List<String> flattenSids(List<String> extrudedSids) {
+
+        return extrudedSids.stream()
+                .map(SpatialIdBufferTest::flattenSid)
+                .toList();
+
+    }
+
+    /**
+     * 従来の実装で、空間IDを平面化する．
+     *
+     * @param extrudedSid 鉛直方向の情報が存在する空間ID
+     * @return 平面化された空間ID
+     */
+    private static String flattenSid(String extrudedSid) {
+
+        String[] splitedSid = extrudedSid.split("/");
+
+        splitedSid[1] = "0";
+
+        return String.join("/", splitedSid);
+
+    }
+
+}
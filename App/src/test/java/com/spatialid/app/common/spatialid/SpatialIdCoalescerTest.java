@@ -0,0 +1,192 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SpatialIdCoalescer}のテストクラス．
+ * <p>
+ * 集約後の空間IDを元のズームレベルまで展開すると、集約前の範囲と一致することを確認する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+class SpatialIdCoalescerTest {
+
+    /**
+     * 試行回数．
+     */
+    private static final int ITERATIONS = 200;
+
+    /**
+     * 生成する空間IDの最大ズームレベル．
+     */
+    private static final int MAX_ZOOM = 10;
+
+    /**
+     * 集約後に展開すると、集約前と同じ範囲となること．
+     */
+    @Test
+    void coalesceThenExpandIsIdentity() {
+
+        final Random random = new Random(1);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+
+            final SpatialIdList sids = randomFlattenedSids(random);
+
+            final int minZoom = random.nextInt(MAX_ZOOM + 1);
+
+            final SpatialIdList coalesced = SpatialIdCoalescer.coalesce(sids, minZoom);
+
+            assertEquals(expand(sids), expand(coalesced));
+
+            assertTrue(coalesced.size() <= sids.size());
+
+            for (int j = 0; j < coalesced.size(); j++) {
+
+                final int zoom = SpatialIdCodec.zoom(coalesced.tileAt(j));
+
+                // 生成する空間IDのズームレベルは MAX_ZOOM - 3 以上のため、下限を下回るのは集約した場合のみ
+                assertTrue(Math.min(minZoom, MAX_ZOOM - 3) <= zoom);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 4つの子が揃っているタイルのみが、親タイルへ集約されること．
+     */
+    @Test
+    void coalescesCompleteSiblingsOnly() {
+
+        final SpatialIdList sids = list(SpatialIdCodec.pack(2, 0, 0),
+                SpatialIdCodec.pack(2, 1, 0),
+                SpatialIdCodec.pack(2, 0, 1),
+                SpatialIdCodec.pack(2, 1, 1),
+                SpatialIdCodec.pack(2, 2, 0),
+                SpatialIdCodec.pack(2, 3, 0),
+                SpatialIdCodec.pack(2, 2, 1));
+
+        final SpatialIdList coalesced = SpatialIdCoalescer.coalesce(sids, 0);
+
+        assertEquals(Set.of("2/0/2/0", "2/0/3/0", "2/0/2/1", "1/0/0/0"), new HashSet<String>(coalesced));
+
+    }
+
+    /**
+     * 集約する組み合わせが存在しない場合、引数のリストをそのまま返却すること．
+     */
+    @Test
+    void keepsSidsWithoutCompleteSiblings() {
+
+        final SpatialIdList sids = list(SpatialIdCodec.pack(3, 0, 0),
+                SpatialIdCodec.pack(3, 5, 5),
+                SpatialIdCodec.pack(1, 1, 1));
+
+        final SpatialIdList coalesced = SpatialIdCoalescer.coalesce(sids, 0);
+
+        assertSame(sids, coalesced);
+
+    }
+
+    /**
+     * 重複を除いた平面化済みの空間IDを乱数で生成する．
+     * <p>
+     * 集約が発生するよう、矩形の範囲をまとめて追加する．
+     * </p>
+     *
+     * @param random 乱数
+     * @return 空間IDのリスト
+     */
+    private static SpatialIdList randomFlattenedSids(Random random) {
+
+        final SpatialIdBuffer buffer = new SpatialIdBuffer();
+
+        final int rectangles = 1 + random.nextInt(4);
+
+        for (int r = 0; r < rectangles; r++) {
+
+            final int zoom = MAX_ZOOM - random.nextInt(4);
+
+            final int x = random.nextInt(1 << zoom);
+            final int y = random.nextInt(1 << zoom);
+            final int width = 1 + random.nextInt(12);
+            final int height = 1 + random.nextInt(12);
+
+            for (int dx = 0; dx < width && x + dx < (1 << zoom); dx++) {
+
+                for (int dy = 0; dy < height && y + dy < (1 << zoom); dy++) {
+
+                    buffer.add(SpatialIdCodec.pack(zoom, x + dx, y + dy), random.nextInt(3));
+
+                }
+
+            }
+
+        }
+
+        return buffer.flatten();
+
+    }
+
+    /**
+     * 空間IDを{@link #MAX_ZOOM}のタイルに展開する．
+     *
+     * @param sids 空間IDのリスト
+     * @return 展開したタイルの集合
+     */
+    private static Set<Long> expand(SpatialIdList sids) {
+
+        final Set<Long> cells = new HashSet<Long>();
+
+        for (int i = 0; i < sids.size(); i++) {
+
+            final long tile = sids.tileAt(i);
+
+            final int shift = MAX_ZOOM - SpatialIdCodec.zoom(tile);
+
+            final long x = SpatialIdCodec.x(tile) << shift;
+            final long y = SpatialIdCodec.y(tile) << shift;
+
+            for (long dx = 0; dx < (1L << shift); dx++) {
+
+                for (long dy = 0; dy < (1L << shift); dy++) {
+
+                    cells.add(SpatialIdCodec.pack(MAX_ZOOM, x + dx, y + dy));
+
+                }
+
+            }
+
+        }
+
+        return cells;
+
+    }
+
+    /**
+     * パックされた空間IDからリストを生成する．
+     *
+     * @param tiles パックされた空間ID
+     * @return 空間IDのリスト
+     */
+    private static SpatialIdList list(long... tiles) {
+
+        return new SpatialIdList(tiles, tiles.length);
+
+    }
+
+}
@@ -0,0 +1,166 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SpatialIdCodec}のテストクラス．
+ * <p>
+ * 乱数で生成した空間IDについて、文字列表現との相互変換で値が変わらないことを確認する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+class SpatialIdCodecTest {
+
+    /**
+     * 試行回数．
+     */
+    private static final int ITERATIONS = 10000;
+
+    /**
+     * 解析した空間IDを文字列に戻すと、元の文字列と一致すること．
+     */
+    @Test
+    void parseAndToSidRoundTrip() {
+
+        final Random random = new Random(1);
+
+        final SpatialIdBuffer buffer = new SpatialIdBuffer();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+
+            final String sid = randomSid(random);
+
+            buffer.clear();
+
+            assertNull(SpatialIdCodec.tryParseInto(sid, buffer), sid);
+            assertEquals(1, buffer.size());
+            assertEquals(sid, SpatialIdCodec.toSid(buffer.tileAt(0), buffer.altitudeAt(0)));
+
+        }
+
+    }
+
+    /**
+     * パックした値から、ズームレベル・x・yを取り出せること．
+     */
+    @Test
+    void packAndUnpackRoundTrip() {
+
+        final Random random = new Random(2);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+
+            final int zoom = random.nextInt(SpatialIdCodec.MAX_ZOOM + 1);
+            final long x = random.nextLong(1L << zoom);
+            final long y = random.nextLong(1L << zoom);
+
+            final long tile = SpatialIdCodec.pack(zoom, x, y);
+
+            assertEquals(zoom, SpatialIdCodec.zoom(tile));
+            assertEquals(x, SpatialIdCodec.x(tile));
+            assertEquals(y, SpatialIdCodec.y(tile));
+
+        }
+
+    }
+
+    /**
+     * モートン番号から、元のパックした値に戻せること．
+     */
+    @Test
+    void mortonRoundTrip() {
+
+        final Random random = new Random(3);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+
+            final int zoom = random.nextInt(SpatialIdCodec.MAX_ZOOM + 1);
+
+            final long tile = SpatialIdCodec.pack(zoom, random.nextLong(1L << zoom), random.nextLong(1L << zoom));
+
+            final long morton = SpatialIdCodec.morton(tile);
+
+            assertEquals(tile, SpatialIdCodec.fromMorton(zoom, morton));
+
+        }
+
+    }
+
+    /**
+     * モートン番号が、x・yの各ビットを交互に配置した値となること．
+     */
+    @Test
+    void mortonInterleavesBits() {
+
+        assertEquals(0b00L, SpatialIdCodec.morton(SpatialIdCodec.pack(1, 0, 0)));
+        assertEquals(0b01L, SpatialIdCodec.morton(SpatialIdCodec.pack(1, 1, 0)));
+        assertEquals(0b10L, SpatialIdCodec.morton(SpatialIdCodec.pack(1, 0, 1)));
+        assertEquals(0b11L, SpatialIdCodec.morton(SpatialIdCodec.pack(1, 1, 1)));
+
+        final long max = (1L << SpatialIdCodec.MAX_ZOOM) - 1;
+
+        assertEquals((1L << (SpatialIdCodec.MAX_ZOOM * 2)) - 1,
+                SpatialIdCodec.morton(SpatialIdCodec.pack(SpatialIdCodec.MAX_ZOOM, max, max)));
+
+    }
+
+    /**
+     * 範囲外・形式不正の空間IDは、バッファに追加せず違反を返却すること．
+     */
+    @Test
+    void rejectsInvalidSids() {
+
+        final SpatialIdBuffer buffer = new SpatialIdBuffer();
+
+        final String[] invalidSids = {
+            "",
+            "29/0/0/0",
+            "1/0/2/0",
+            "1/0/0/2",
+            "1/2/0/0",
+            "1/-3/0/0",
+            "1/0/-1/0",
+            "1/0/0",
+            "1/0/0/0/0",
+            "1//0/0",
+            "a/0/0/0",
+            "1/0/0/0 "
+        };
+
+        for (String sid : invalidSids) {
+
+            assertNotNull(SpatialIdCodec.tryParseInto(sid, buffer), sid);
+
+        }
+
+        assertEquals(0, buffer.size());
+
+    }
+
+    /**
+     * 解析可能な範囲の空間IDを乱数で生成する．
+     *
+     * @param random 乱数
+     * @return 空間ID(z/f/x/y)
+     */
+    static String randomSid(Random random) {
+
+        final int zoom = random.nextInt(SpatialIdCodec.MAX_ZOOM + 1);
+
+        final long limit = 1L << zoom;
+
+        return zoom + "/" + (random.nextLong(limit * 2) - limit) + "/" + random.nextLong(limit) + "/" + random.nextLong(limit);
+
+    }
+
+}
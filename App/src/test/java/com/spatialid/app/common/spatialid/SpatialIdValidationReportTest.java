@@ -0,0 +1,91 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SpatialIdValidationReport}のテストクラス．
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+class SpatialIdValidationReportTest {
+
+    /**
+     * 記録の順序によらず、違反例が空間IDの位置の順に先頭から保持されること．
+     */
+    @Test
+    void keepsFirstSamplesRegardlessOfRecordOrder() {
+
+        final SpatialIdValidationReport ascending = new SpatialIdValidationReport();
+        final SpatialIdValidationReport descending = new SpatialIdValidationReport();
+
+        for (int i = 0; i < 30; i++) {
+
+            ascending.record(i, "sid" + i, SpatialIdViolation.NOT_NUMBER);
+            descending.record(29 - i, "sid" + (29 - i), SpatialIdViolation.NOT_NUMBER);
+
+        }
+
+        assertEquals(30, descending.getViolationCount());
+        assertEquals(ascending.toMessage(), descending.toMessage());
+
+    }
+
+    /**
+     * 並列に解析した場合も、違反例が逐次に解析した場合と同一となること．
+     */
+    @Test
+    void parallelEncodeReportsSameSamplesAsSequential() {
+
+        final List<String> sids = new ArrayList<String>();
+
+        for (int i = 0; i < 100000; i++) {
+
+            sids.add(i % 97 == 0 ? "invalid" + i : "20/0/" + i + "/1");
+
+        }
+
+        final SpatialIdValidationReport sequential = new SpatialIdValidationReport();
+
+        final SpatialIdBuffer buffer = new SpatialIdBuffer();
+
+        for (int i = 0; i < sids.size(); i++) {
+
+            final SpatialIdViolation violation = SpatialIdCodec.tryParseInto(sids.get(i), buffer);
+
+            if (violation != null) {
+
+                sequential.record(i, sids.get(i), violation);
+
+            }
+
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(8);
+
+        try {
+
+            final SpatialIdValidationReport parallel = new SpatialIdValidationReport();
+
+            final SpatialIdBuffer parallelBuffer = ParallelSpatialIdFlattener.encode(sids, pool, parallel);
+
+            assertEquals(buffer.size(), parallelBuffer.size());
+            assertEquals(sequential.toMessage(), parallel.toMessage());
+
+        } finally {
+
+            pool.shutdown();
+
+        }
+
+    }
+
+}
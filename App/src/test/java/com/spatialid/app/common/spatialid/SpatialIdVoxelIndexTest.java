@@ -0,0 +1,245 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SpatialIdVoxelIndex}のテストクラス．
+ * <p>
+ * 重なりの判定結果を、全ての組み合わせで祖先・子孫の関係を確認する素朴な実装と比較する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+class SpatialIdVoxelIndexTest {
+
+    /**
+     * 試行回数．
+     */
+    private static final int ITERATIONS = 200;
+
+    /**
+     * 生成する空間IDの最大ズームレベル．
+     */
+    private static final int MAX_ZOOM = 6;
+
+    /**
+     * 要求されたボクセルが判定対象より粗い場合、判定対象の祖先であれば重なること．
+     * 負の鉛直方向のインデックスは、切り捨て(floor)で持ち上げること．
+     */
+    @Test
+    void overlapsCoarserRequestedVoxel() {
+
+        final SpatialIdVoxelIndex index = indexOf("3/-1/1/1");
+
+        // 5/-4～5/-1 が 3/-1 の子孫となる
+        assertTrue(index.overlaps(SpatialIdCodec.pack(5, 4, 5), -4));
+        assertTrue(index.overlaps(SpatialIdCodec.pack(5, 7, 7), -1));
+        assertFalse(index.overlaps(SpatialIdCodec.pack(5, 4, 5), -5));
+        assertFalse(index.overlaps(SpatialIdCodec.pack(5, 4, 5), 0));
+        assertFalse(index.overlaps(SpatialIdCodec.pack(5, 8, 5), -1));
+
+    }
+
+    /**
+     * 要求されたボクセルが判定対象より細かい場合、判定対象の子孫であれば重なること．
+     */
+    @Test
+    void overlapsFinerRequestedVoxel() {
+
+        final SpatialIdVoxelIndex index = indexOf("6/-7/8/9");
+
+        // 6/-7 の祖先は 4/-2、2/-1、0/-1
+        assertTrue(index.overlaps(SpatialIdCodec.pack(4, 2, 2), -2));
+        assertTrue(index.overlaps(SpatialIdCodec.pack(2, 0, 0), -1));
+        assertTrue(index.overlaps(SpatialIdCodec.pack(0, 0, 0), -1));
+        assertFalse(index.overlaps(SpatialIdCodec.pack(4, 2, 2), -1));
+        assertFalse(index.overlaps(SpatialIdCodec.pack(0, 0, 0), 0));
+        assertFalse(index.overlaps(SpatialIdCodec.pack(4, 2, 3), -2));
+
+    }
+
+    /**
+     * 判定対象と同じズームレベルの場合、同一のボクセルのみ重なること．
+     */
+    @Test
+    void overlapsSameZoom() {
+
+        final SpatialIdVoxelIndex index = indexOf("4/-3/2/5");
+
+        assertTrue(index.overlaps(SpatialIdCodec.pack(4, 2, 5), -3));
+        assertFalse(index.overlaps(SpatialIdCodec.pack(4, 2, 5), -2));
+        assertFalse(index.overlaps(SpatialIdCodec.pack(4, 5, 2), -3));
+
+    }
+
+    /**
+     * 乱数で生成したボクセルについて、判定結果が素朴な実装と一致すること．
+     */
+    @Test
+    void overlapsMatchesPairwiseCheck() {
+
+        final Random random = new Random(1);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+
+            final SpatialIdBuffer requested = new SpatialIdBuffer();
+
+            for (int j = random.nextInt(8) + 1; 0 < j; j--) {
+
+                SpatialIdCodec.parseInto(randomSid(random), requested);
+
+            }
+
+            final SpatialIdVoxelIndex index = SpatialIdVoxelIndex.of(requested);
+
+            for (int j = 0; j < 50; j++) {
+
+                final SpatialIdBuffer candidate = new SpatialIdBuffer(1);
+
+                final String sid = randomSid(random);
+
+                SpatialIdCodec.parseInto(sid, candidate);
+
+                final long tile = candidate.tileAt(0);
+                final int altitude = candidate.altitudeAt(0);
+
+                assertEquals(overlapsAny(requested, tile, altitude), index.overlaps(tile, altitude), sid);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 重ならない空間IDのみ取り除き、解析できない空間IDは残すこと．
+     */
+    @Test
+    void filterKeepsUnparseableSids() {
+
+        final SpatialIdVoxelIndex index = indexOf("3/-1/1/1");
+
+        final List<String> sids = List.of("5/-4/4/5", "5/0/4/5", "invalid", "", "3/99/1/1", "4/-1/2/2");
+
+        assertEquals(List.of("5/-4/4/5", "invalid", "", "3/99/1/1", "4/-1/2/2"), index.filter(sids));
+
+    }
+
+    /**
+     * 取り除く空間IDが無い場合は、引数のリストをそのまま返却すること．
+     */
+    @Test
+    void filterReturnsInputWhenNothingRemoved() {
+
+        final SpatialIdVoxelIndex index = indexOf("3/-1/1/1");
+
+        final List<String> sids = List.of("5/-4/4/5", "2/-1/0/0");
+
+        assertSame(sids, index.filter(sids));
+
+    }
+
+    /**
+     * 空間IDから索引を作成する．
+     *
+     * @param sids 空間ID
+     * @return 索引
+     */
+    private static SpatialIdVoxelIndex indexOf(String... sids) {
+
+        final SpatialIdBuffer buffer = new SpatialIdBuffer();
+
+        for (String sid : sids) {
+
+            SpatialIdCodec.parseInto(sid, buffer);
+
+        }
+
+        return SpatialIdVoxelIndex.of(buffer);
+
+    }
+
+    /**
+     * 要求されたボクセルのいずれかと、祖先・子孫(または同一)の関係にあるかを判定する．
+     *
+     * @param requested 要求されたボクセル
+     * @param tile パックされた水平方向の空間ID
+     * @param altitude 鉛直方向のインデックス
+     * @return 重なる場合はtrue
+     */
+    private static boolean overlapsAny(SpatialIdBuffer requested, long tile, int altitude) {
+
+        for (int i = 0; i < requested.size(); i++) {
+
+            final long requestedTile = requested.tileAt(i);
+            final int requestedAltitude = requested.altitudeAt(i);
+
+            final int shift = SpatialIdCodec.zoom(tile) - SpatialIdCodec.zoom(requestedTile);
+
+            final boolean overlaps = 0 <= shift
+                    ? isAncestor(requestedTile, requestedAltitude, tile, altitude, shift)
+                    : isAncestor(tile, altitude, requestedTile, requestedAltitude, -shift);
+
+            if (overlaps) {
+
+                return true;
+
+            }
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * 粗いボクセルが、細かいボクセルの祖先(または同一)であるかを判定する．
+     *
+     * @param coarseTile 粗いボクセルの水平方向の空間ID
+     * @param coarseAltitude 粗いボクセルの鉛直方向のインデックス
+     * @param fineTile 細かいボクセルの水平方向の空間ID
+     * @param fineAltitude 細かいボクセルの鉛直方向のインデックス
+     * @param shift ズームレベルの差
+     * @return 祖先の場合はtrue
+     */
+    private static boolean isAncestor(long coarseTile, int coarseAltitude, long fineTile, int fineAltitude, int shift) {
+
+        final int divisor = 1 << shift;
+
+        return SpatialIdCodec.x(fineTile) / divisor == SpatialIdCodec.x(coarseTile)
+                && SpatialIdCodec.y(fineTile) / divisor == SpatialIdCodec.y(coarseTile)
+                && Math.floorDiv(fineAltitude, divisor) == coarseAltitude;
+
+    }
+
+    /**
+     * 重なりが生じるよう、狭い範囲の空間IDを生成する．
+     *
+     * @param random 乱数
+     * @return 空間ID(z/f/x/y)
+     */
+    private static String randomSid(Random random) {
+
+        final int zoom = random.nextInt(MAX_ZOOM + 1);
+
+        final int limit = 1 << zoom;
+
+        // 重なりが生じやすいよう、各インデックスを原点付近の範囲に限定する
+        final int range = Math.max(limit >> 2, 1);
+
+        return zoom + "/" + (random.nextInt(range * 2) - range) + "/" + random.nextInt(range) + "/" + random.nextInt(range);
+
+    }
+
+}
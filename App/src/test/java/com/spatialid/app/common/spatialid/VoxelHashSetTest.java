@@ -0,0 +1,105 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link VoxelHashSet}のテストクラス．
+ * <p>
+ * 追加・判定の結果を{@link HashSet}と比較する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+class VoxelHashSetTest {
+
+    /**
+     * 試行回数．
+     */
+    private static final int ITERATIONS = 20000;
+
+    /**
+     * 拡張を繰り返しても、追加・判定の結果がHashSetと一致すること．
+     */
+    @Test
+    void matchesHashSetAcrossRehash() {
+
+        final Random random = new Random(1);
+
+        final VoxelHashSet set = new VoxelHashSet(1);
+
+        final Set<List<Long>> expected = new HashSet<List<Long>>();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+
+            // 重複と負の鉛直方向のインデックスが生じるよう、狭い範囲から生成する
+            final long tile = SpatialIdCodec.pack(4, random.nextInt(16), random.nextInt(16));
+            final int altitude = random.nextInt(64) - 32;
+
+            assertEquals(expected.add(List.of(tile, (long) altitude)), set.add(tile, altitude));
+
+        }
+
+        assertEquals(expected.size(), set.size());
+
+        for (int x = 0; x < 16; x++) {
+
+            for (int altitude = -40; altitude < 40; altitude++) {
+
+                final long tile = SpatialIdCodec.pack(4, x, x);
+
+                assertEquals(expected.contains(List.of(tile, (long) altitude)), set.contains(tile, altitude));
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 水平方向の空間IDが同じでも、鉛直方向のインデックスが異なれば別のボクセルとして扱うこと．
+     */
+    @Test
+    void distinguishesAltitude() {
+
+        final VoxelHashSet set = new VoxelHashSet(4);
+
+        final long tile = SpatialIdCodec.pack(10, 3, 5);
+
+        assertTrue(set.add(tile, -1));
+        assertTrue(set.add(tile, 0));
+        assertFalse(set.add(tile, -1));
+
+        assertTrue(set.contains(tile, -1));
+        assertTrue(set.contains(tile, 0));
+        assertFalse(set.contains(tile, 1));
+        assertEquals(2, set.size());
+
+    }
+
+    /**
+     * 負の値は格納できず、判定では常に含まれないこと．
+     */
+    @Test
+    void rejectsNegativeTile() {
+
+        final VoxelHashSet set = new VoxelHashSet(4);
+
+        assertThrows(IllegalArgumentException.class, () -> set.add(-1L, 0));
+        assertFalse(set.contains(-1L, 0));
+
+    }
+
+}
@@ -0,0 +1,338 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.spatialid.app.common.exception.RetryableSidAttributeException;
+import com.spatialid.app.common.properties.BatchProperty;
+import com.spatialid.app.common.spatialid.SpatialIdBitmap;
+import com.spatialid.app.common.spatialid.SpatialIdCodec;
+import com.spatialid.app.common.spatialid.SpatialIdList;
+import com.spatialid.app.dto.sidattribute.PostSidAttributeRequestDto;
+import com.spatialid.app.dto.sidattribute.PostSidAttributeResponseDto;
+import com.spatialid.app.dto.sidattribute.SidAttributeDto;
+
+/**
+ * {@link SidAttributeFanOutManagerImpl}のテストクラス．
+ * <p>
+ * 共通APIの呼び出しをモックに置き換え、分割の呼び出し回数・取得済みの結果の再利用・結果の統合を確認する．
+ * </p>
+ *
+ * @author matsumoto kentaro
+ * @version 1.0 2026/10/18
+ */
+class SidAttributeFanOutManagerImplTest {
+
+    /**
+     * 1分割あたりの空間IDの件数．
+     */
+    private static final int CHUNK_SIZE = 2;
+
+    /**
+     * 共通APIの呼び出しを実装したコンポーネントのモック．
+     */
+    private ICommonApiManager commonApiService;
+
+    /**
+     * バッチのプロパティクラス．
+     */
+    private BatchProperty batchProperty;
+
+    /**
+     * テスト対象．
+     */
+    private SidAttributeFanOutManagerImpl fanOutManager;
+
+    /**
+     * 分割はビットマップで行い、共通APIのみをモックとする．
+     */
+    @BeforeEach
+    void setUp() {
+
+        commonApiService = mock(ICommonApiManager.class);
+
+        final IBatchUtilityManager batchUtilityService = mock(IBatchUtilityManager.class);
+
+        when(batchUtilityService.chunkSids(any(), anyInt()))
+                .thenAnswer(invocation -> SpatialIdBitmap.of(invocation.getArgument(0)).split(invocation.getArgument(1)));
+
+        batchProperty = new BatchProperty();
+        batchProperty.setSidAttributeChunkSize(CHUNK_SIZE);
+        batchProperty.setSidAttributeConcurrency(4);
+
+        fanOutManager = new SidAttributeFanOutManagerImpl(commonApiService, batchUtilityService, batchProperty);
+
+    }
+
+    /**
+     * 一部の分割が失敗した場合、以降の分割は呼び出さず、リトライ時は取得済みの分割を呼び出し直さないこと．
+     */
+    @Test
+    void retryCallsOnlyChunksNotYetCompleted() {
+
+        final SpatialIdList sids = sidsOf(6);
+
+        final PostSidAttributeRequestDto requestDto = requestOf("servicer");
+
+        final Map<String, List<SidAttributeDto>> completedChunks = new ConcurrentHashMap<String, List<SidAttributeDto>>();
+
+        // 2番目の分割のみ失敗させる
+        when(commonApiService.callSidAttributeAsync(any())).thenAnswer(invocation -> {
+
+            final List<String> chunk = invocation.getArgument(0, PostSidAttributeRequestDto.class).getSidList();
+
+            return chunk.contains(sids.get(2))
+                    ? CompletableFuture.failedFuture(new RetryableSidAttributeException("failed"))
+                    : CompletableFuture.completedFuture(responseOf(facilityOf("object-" + chunk.get(0), chunk)));
+
+        });
+
+        assertThrows(RetryableSidAttributeException.class, () -> fanOutManager.callSidAttribute(requestDto, sids, completedChunks));
+
+        verify(commonApiService, times(2)).callSidAttributeAsync(any());
+        assertEquals(1, completedChunks.size());
+
+        doAnswer(invocation -> {
+
+            final List<String> chunk = invocation.getArgument(0, PostSidAttributeRequestDto.class).getSidList();
+
+            return CompletableFuture.completedFuture(responseOf(facilityOf("object-" + chunk.get(0), chunk)));
+
+        }).when(commonApiService).callSidAttributeAsync(any());
+
+        final PostSidAttributeResponseDto responseDto = fanOutManager.callSidAttribute(requestDto, sids, completedChunks);
+
+        // 1回目の2件に加え、未取得の2分割のみ呼び出す
+        verify(commonApiService, times(4)).callSidAttributeAsync(any());
+        assertEquals(3, completedChunks.size());
+        assertEquals(3, responseDto.getSidAttributeList().size());
+
+        final List<String> mergedSids = new ArrayList<String>();
+
+        responseDto.getSidAttributeList().forEach(sidAttribute -> mergedSids.addAll(sidAttribute.getSidList()));
+
+        assertEquals(new ArrayList<String>(sids), mergedSids);
+
+    }
+
+    /**
+     * 空間ID以外の項目が変わった場合は、取得済みの結果を再利用せず破棄すること．
+     */
+    @Test
+    void changedRequestDoesNotReuseCompletedChunks() {
+
+        final SpatialIdList sids = sidsOf(6);
+
+        final Map<String, List<SidAttributeDto>> completedChunks = new ConcurrentHashMap<String, List<SidAttributeDto>>();
+
+        when(commonApiService.callSidAttributeAsync(any())).thenAnswer(invocation -> {
+
+            final List<String> chunk = invocation.getArgument(0, PostSidAttributeRequestDto.class).getSidList();
+
+            return CompletableFuture.completedFuture(responseOf(facilityOf("object", chunk)));
+
+        });
+
+        fanOutManager.callSidAttribute(requestOf("servicer-a"), sids, completedChunks);
+
+        final Set<String> previousKeys = Set.copyOf(completedChunks.keySet());
+
+        fanOutManager.callSidAttribute(requestOf("servicer-b"), sids, completedChunks);
+
+        verify(commonApiService, times(6)).callSidAttributeAsync(any());
+        assertEquals(3, completedChunks.size());
+        completedChunks.keySet().forEach(key -> assertFalse(previousKeys.contains(key)));
+
+        // 同じ要求であれば、全ての分割を再利用する
+        fanOutManager.callSidAttribute(requestOf("servicer-b"), sids, completedChunks);
+
+        verify(commonApiService, times(6)).callSidAttributeAsync(any());
+
+    }
+
+    /**
+     * 同一の設備は1件に統合して空間IDを和集合とし、取得済みの結果は変更しないこと．
+     */
+    @Test
+    void mergeUnionsSidsOfSameFacility() {
+
+        final SpatialIdList sids = sidsOf(4);
+
+        final Map<String, List<SidAttributeDto>> completedChunks = new HashMap<String, List<SidAttributeDto>>();
+
+        final List<List<String>> returnedSidLists = new ArrayList<List<String>>();
+
+        // 全ての分割で同一の設備を返却し、分割をまたいで空間IDを重複させる
+        when(commonApiService.callSidAttributeAsync(any())).thenAnswer(invocation -> {
+
+            final List<String> chunk = invocation.getArgument(0, PostSidAttributeRequestDto.class).getSidList();
+
+            final List<String> sidList = List.of(chunk.get(0), chunk.get(1), sids.get(0));
+
+            returnedSidLists.add(sidList);
+
+            return CompletableFuture.completedFuture(responseOf(facilityOf("shared", sidList),
+                    facilityOf("object-" + chunk.get(0), List.of(chunk.get(0)))));
+
+        });
+
+        final PostSidAttributeResponseDto responseDto = fanOutManager.callSidAttribute(requestOf("servicer"), sids, completedChunks);
+
+        final List<SidAttributeDto> sidAttributeList = responseDto.getSidAttributeList();
+
+        assertEquals(3, sidAttributeList.size());
+
+        assertEquals("shared", sidAttributeList.get(0).getObjectId());
+        assertEquals(new ArrayList<String>(sids), sidAttributeList.get(0).getSidList());
+
+        assertEquals("object-" + sids.get(0), sidAttributeList.get(1).getObjectId());
+        assertEquals(List.of(sids.get(0)), sidAttributeList.get(1).getSidList());
+
+        assertEquals("object-" + sids.get(2), sidAttributeList.get(2).getObjectId());
+        assertEquals(List.of(sids.get(2)), sidAttributeList.get(2).getSidList());
+
+        // 取得済みの結果の空間IDのリストは、統合前のまま保持されていること
+        final List<List<String>> storedSidLists = new ArrayList<List<String>>();
+
+        completedChunks.values().forEach(list -> storedSidLists.add(list.get(0).getSidList()));
+
+        assertEquals(Set.copyOf(returnedSidLists), Set.copyOf(storedSidLists));
+
+    }
+
+    /**
+     * 同時実行数の上限で待機している間に分割が失敗した場合、以降の分割を呼び出さないこと．
+     */
+    @Test
+    void failureWhileWaitingStopsDispatch() {
+
+        batchProperty.setSidAttributeConcurrency(1);
+
+        final SpatialIdList sids = sidsOf(6);
+
+        when(commonApiService.callSidAttributeAsync(any())).thenReturn(CompletableFuture.supplyAsync(() -> {
+
+            throw new RetryableSidAttributeException("failed");
+
+        }, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS)));
+
+        assertThrows(RetryableSidAttributeException.class,
+                () -> fanOutManager.callSidAttribute(requestOf("servicer"), sids, new HashMap<String, List<SidAttributeDto>>()));
+
+        verify(commonApiService, times(1)).callSidAttributeAsync(any());
+
+    }
+
+    /**
+     * 分割件数以下の場合は、分割せずに1回で呼び出すこと．
+     */
+    @Test
+    void smallRequestIsNotSplit() {
+
+        final SpatialIdList sids = sidsOf(CHUNK_SIZE);
+
+        final PostSidAttributeResponseDto expected = responseOf(facilityOf("object", sids));
+
+        when(commonApiService.callSidAttribute(any())).thenReturn(expected);
+
+        assertEquals(expected, fanOutManager.callSidAttribute(requestOf("servicer"), sids, new HashMap<String, List<SidAttributeDto>>()));
+
+        verify(commonApiService, never()).callSidAttributeAsync(any());
+
+    }
+
+    /**
+     * モートン順に並んだ、指定件数の空間IDのリストを生成する．
+     *
+     * @param count 件数
+     * @return 空間IDのリスト
+     */
+    private static SpatialIdList sidsOf(int count) {
+
+        final long[] tiles = new long[count];
+
+        for (int i = 0; i < count; i++) {
+
+            tiles[i] = SpatialIdCodec.fromMorton(10, i);
+
+        }
+
+        return new SpatialIdList(tiles, count);
+
+    }
+
+    /**
+     * 空間ID以外の項目を設定したリクエストDtoを生成する．
+     *
+     * @param servicerId 利用者システムID
+     * @return リクエストDto
+     */
+    private static PostSidAttributeRequestDto requestOf(String servicerId) {
+
+        return PostSidAttributeRequestDto.builder()
+                .servicerId(servicerId)
+                .isBatchProcess(true)
+                .build();
+
+    }
+
+    /**
+     * 空間・属性情報を生成する．
+     *
+     * @param objectId オブジェクトID
+     * @param sidList 空間IDのリスト
+     * @return 空間・属性情報
+     */
+    private static SidAttributeDto facilityOf(String objectId, List<String> sidList) {
+
+        final SidAttributeDto sidAttribute = new SidAttributeDto();
+
+        sidAttribute.setInfraCompanyId("company");
+        sidAttribute.setDataType("type");
+        sidAttribute.setObjectId(objectId);
+        sidAttribute.setSidList(new ArrayList<String>(sidList));
+
+        return sidAttribute;
+
+    }
+
+    /**
+     * 空間・属性情報参照APIのレスポンスを生成する．
+     *
+     * @param sidAttributes 空間・属性情報
+     * @return レスポンス
+     */
+    private static PostSidAttributeResponseDto responseOf(SidAttributeDto... sidAttributes) {
+
+        final PostSidAttributeResponseDto responseDto = new PostSidAttributeResponseDto();
+
+        responseDto.setSidAttributeList(List.of(sidAttributes));
+
+        return responseDto;
+
+    }
+
+}